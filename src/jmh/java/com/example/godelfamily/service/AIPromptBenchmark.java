@@ -0,0 +1,99 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.repository.InMemoryEmployeeStore;
+import com.example.godelfamily.support.EmployeeDataset;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Prompt construction for one question and for a batch: context selection (whole table, matching
+// rows or summary) plus message assembly, with no upstream call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AIPromptBenchmark {
+
+    @Param({"10", "10000", "100000"})
+    private int employees;
+
+    private AnnotationConfigApplicationContext context;
+    private ExecutorService aiQueryExecutor;
+    private OpenAiService openAiService;
+    private EmployeeContextRetriever contextRetriever;
+    private EmployeeAIService aiService;
+
+    @Setup
+    public void setUp() {
+        InMemoryEmployeeStore employeeStore = new InMemoryEmployeeStore();
+        employeeStore.insertAll(EmployeeDataset.generate(employees, false));
+
+        // Only the views the prompt reads, filled by the same seeded event as in the application
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(InMemoryEmployeeStore.class, () -> employeeStore);
+        context.register(EmployeeContextSnapshot.class, EmployeeFacetIndex.class, EmployeeDataVersion.class);
+        context.refresh();
+        context.publishEvent(new EmployeesSeededEvent(employees));
+        contextRetriever = new EmployeeContextRetriever(context.getBean(EmployeeContextSnapshot.class),
+            context.getBean(EmployeeFacetIndex.class), 3000);
+
+        // Real collaborators with the application defaults, none of them called: the benchmark fails
+        // loudly rather than measuring a shortcut if prompt assembly starts using one
+        aiQueryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        openAiService = new OpenAiService("benchmark-key");
+        AIAnswerCache answerCache = new AIAnswerCache(context.getBean(EmployeeDataVersion.class),
+            1000, Duration.ofMinutes(30), Duration.ZERO);
+        OpenAiGuard openAiGuard = new OpenAiGuard(aiQueryExecutor,
+            new CircuitBreaker(20, 10, 50, Duration.ofSeconds(30), System::nanoTime),
+            new Bulkhead(16, 32, Duration.ofSeconds(2)),
+            new AdaptiveTimeout(200, 20, 0.99, 2.0, Duration.ofSeconds(2), Duration.ofSeconds(60)),
+            Duration.ofSeconds(2));
+        aiService = new EmployeeAIService(contextRetriever, openAiService, answerCache, openAiGuard,
+            new AIMetrics(new SimpleMeterRegistry()), aiQueryExecutor, "benchmark-key");
+    }
+
+    @TearDown
+    public void tearDown() {
+        openAiService.shutdownExecutor();
+        aiQueryExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    public ChatCompletionRequest broadQuestion() {
+        return aiService.chatRequest("How many developers do we have?");
+    }
+
+    @Benchmark
+    public ChatCompletionRequest narrowQuestion() {
+        return aiService.chatRequest("Who are the senior QA engineers in the Go division?");
+    }
+
+    @Benchmark
+    public String batchContext() {
+        return contextRetriever.contextFor(List.of("Who are the leads in Java?", "How many designers are there?",
+            "List the junior DevOps engineers in Mobile"));
+    }
+}
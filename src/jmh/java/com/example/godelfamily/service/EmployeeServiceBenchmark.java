@@ -0,0 +1,116 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.GodelFamilyApplication;
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePage;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeStore;
+import com.example.godelfamily.support.EmployeeDataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// EmployeeService CRUD through the real Spring context at several table sizes, on the embedded H2
+// database and on the in-memory store. The read-through cache is off so reads measure the store;
+// writes include the change events that patch the AI snapshot and facet index.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeServiceBenchmark {
+
+    private static final int SEED_CHUNK = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    private int employees;
+
+    @Param({"jpa", "memory"})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        // Command line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(GodelFamilyApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.datasource.url=jdbc:h2:mem:benchmark" + employees + store,
+                "--employees.store=" + store,
+                "--spring.cache.type=none",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.godelfamily=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+
+        EmployeeStore employeeStore = context.getBean(EmployeeStore.class);
+        List<Employee> dataset = EmployeeDataset.generate(employees, false);
+        for (int from = 0; from < dataset.size(); from += SEED_CHUNK) {
+            employeeStore.insertAll(dataset.subList(from, Math.min(from + SEED_CHUNK, dataset.size())));
+        }
+        ids = employeeStore.findAll().stream().map(Employee::getId).toList();
+        // Seeded behind the service's back, so announce it the way DataInitializer does
+        context.publishEvent(new EmployeesSeededEvent(dataset.size()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee getById() {
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public EmployeePage firstPage() {
+        return employeeService.getEmployeePage(new EmployeeFilter(), null, 50);
+    }
+
+    @Benchmark
+    public EmployeePage filteredPage() {
+        return employeeService.getEmployeePage(new EmployeeFilter(Title.SENIOR, "Java", null), null, 50);
+    }
+
+    @Benchmark
+    public Employee update() {
+        long id = randomId();
+        return employeeService.updateEmployee(id,
+            new Employee(id, "Updated " + id, "Developer", Title.MIDDLE, "Java"), null);
+    }
+
+    // Create and delete together, so the table stays at its configured size
+    @Benchmark
+    public Long createAndDelete() {
+        Employee created = employeeService.createEmployee(
+            new Employee(null, "Benchmark", "QA", Title.JUNIOR, "QA"));
+        employeeService.deleteEmployee(created.getId(), null);
+        return created.getId();
+    }
+
+    private long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
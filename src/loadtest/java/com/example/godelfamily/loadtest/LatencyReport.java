@@ -0,0 +1,106 @@
+package com.example.godelfamily.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histograms (microseconds) and error counts per operation for one measured run
+public class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Histogram total = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder totalErrors = new LongAdder();
+    private Duration elapsed = Duration.ZERO;
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public void record(Operation operation, long micros, boolean ok) {
+        long value = Math.min(Math.max(micros, 1), MAX_LATENCY_MICROS);
+        latencies.get(operation).recordValue(value);
+        total.recordValue(value);
+        if (!ok) {
+            errors.get(operation).increment();
+            totalErrors.increment();
+        }
+    }
+
+    public void setElapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+            "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            if (latencies.get(operation).getTotalCount() > 0) {
+                print(out, operation.name().toLowerCase(), latencies.get(operation), errors.get(operation).sum());
+            }
+        }
+        print(out, "total", total, totalErrors.sum());
+    }
+
+    public void write(Path path, LoadTestOptions options) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options.toString());
+        report.put("elapsedSeconds", seconds());
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            if (latencies.get(operation).getTotalCount() > 0) {
+                operations.put(operation.name().toLowerCase(), summary(latencies.get(operation), errors.get(operation).sum()));
+            }
+        }
+        operations.put("total", summary(total, totalErrors.sum()));
+        report.put("operations", operations);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private void print(PrintStream out, String name, Histogram histogram, long errorCount) {
+        out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+            name, histogram.getTotalCount(), errorCount, histogram.getTotalCount() / seconds(),
+            millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    private Map<String, Object> summary(Histogram histogram, long errorCount) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errorCount);
+        summary.put("throughput", histogram.getTotalCount() / seconds());
+        summary.put("p50Millis", millis(histogram, 50));
+        summary.put("p99Millis", millis(histogram, 99));
+        summary.put("p999Millis", millis(histogram, 99.9));
+        summary.put("maxMillis", histogram.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+    private double seconds() {
+        return Math.max(elapsed.toNanos(), 1) / 1e9;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
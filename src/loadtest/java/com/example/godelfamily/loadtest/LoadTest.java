@@ -0,0 +1,170 @@
+package com.example.godelfamily.loadtest;
+
+import com.example.godelfamily.GodelFamilyApplication;
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.repository.EmployeeStore;
+import com.example.godelfamily.support.EmployeeDataset;
+import com.example.godelfamily.support.OpenAiStubServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+// Boots the application against a local OpenAI stub, seeds employees and drives a closed-loop
+// mixed workload: each of the configured workers sends its next request as soon as the previous
+// one returns. Prints throughput and latency percentiles per operation and writes them as JSON.
+//
+//   mvn -Ploadtest -DskipTests integration-test -Dloadtest.args="--concurrency=64 --duration=60s"
+public class LoadTest {
+
+    private static final int SEED_CHUNK = 1000;
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final List<Long> ids;
+    private final HttpClient client;
+    private final Operation[] weighted;
+
+    LoadTest(LoadTestOptions options, URI baseUri, List<Long> ids) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.ids = ids;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        this.weighted = options.getMix().entrySet().stream()
+            .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+            .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Load test: " + options);
+
+        OpenAiStubServer stub = new OpenAiStubServer().start();
+        stub.setLatency(options.getAiLatency());
+        stub.setErrorRate(options.getAiErrorRate());
+        stub.setAnswer("There are 42 developers in that team.");
+
+        // Command line arguments, so they win over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GodelFamilyApplication.class)
+            .run("--server.port=0",
+                "--employees.store=" + options.getStore(),
+                "--openai.api.key=loadtest",
+                "--openai.api.base-url=" + stub.baseUrl(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.godelfamily=WARN");
+        try {
+            List<Long> ids = seed(context, options.getEmployees());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTest loadTest = new LoadTest(options, URI.create("http://localhost:" + port), ids);
+
+            System.out.println("Warming up for " + options.getWarmup() + " ...");
+            loadTest.run(options.getWarmup());
+            System.out.println("Measuring for " + options.getDuration() + " with " + options.getConcurrency() + " workers ...");
+            LatencyReport report = loadTest.run(options.getDuration());
+
+            report.print(System.out);
+            report.write(Path.of(options.getReport()), options);
+            System.out.println("OpenAI stub requests: " + stub.getRequestCount());
+            System.out.println("Report written to " + options.getReport());
+        } finally {
+            context.close();
+            stub.stop();
+        }
+    }
+
+    // Bulk inserts the dataset directly, then announces it the way DataInitializer does, so every view,
+    // cache and the dataset version catch up once
+    private static List<Long> seed(ConfigurableApplicationContext context, int employees) {
+        long start = System.nanoTime();
+        EmployeeStore employeeStore = context.getBean(EmployeeStore.class);
+        List<Employee> dataset = EmployeeDataset.generate(employees, false);
+        for (int from = 0; from < dataset.size(); from += SEED_CHUNK) {
+            employeeStore.insertAll(dataset.subList(from, Math.min(from + SEED_CHUNK, dataset.size())));
+        }
+        context.publishEvent(new EmployeesSeededEvent(dataset.size()));
+        List<Long> ids = employeeStore.findAll().stream().map(Employee::getId).toList();
+        System.out.printf("Seeded %d employees in %d ms%n", ids.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return ids;
+    }
+
+    LatencyReport run(Duration duration) {
+        LatencyReport report = new LatencyReport();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.getConcurrency(); i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(next(), report);
+                    }
+                });
+            }
+        }
+        report.setElapsed(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    private Operation next() {
+        return weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+    }
+
+    private void execute(Operation operation, LatencyReport report) {
+        HttpRequest request = request(operation);
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            // The AI endpoint answers 200 with an error text when OpenAI fails
+            ok = response.statusCode() < 400
+                && !(operation == Operation.AI && response.body().contains("Error processing your question"));
+        } catch (Exception e) {
+            ok = false;
+        }
+        report.record(operation, (System.nanoTime() - start) / 1000, ok);
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = ids.get(random.nextInt(ids.size()));
+        return switch (operation) {
+            case GET -> get("/api/employees/" + id);
+            case PAGE -> get("/api/employees?size=50&cursor=" + random.nextLong(id));
+            case WRITE -> send("PUT", "/api/employees/" + id, Map.of("name", "Employee " + id,
+                "position", "Developer", "title", "MIDDLE", "division", "Java"));
+            case AI -> send("POST", "/api/ai/query", Map.of("question",
+                "How many developers are in team " + random.nextInt(options.getAiQuestions()) + "?"));
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, Map<String, String> body) {
+        StringBuilder json = new StringBuilder("{");
+        body.forEach((key, value) -> json.append(json.length() > 1 ? "," : "")
+            .append('"').append(key).append("\":\"").append(value).append('"'));
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(json.append('}').toString()))
+            .build();
+    }
+}
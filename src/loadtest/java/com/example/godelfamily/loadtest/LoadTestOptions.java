@@ -0,0 +1,126 @@
+package com.example.godelfamily.loadtest;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command line options as --name=value; anything not given keeps its default
+public class LoadTestOptions {
+
+    private int concurrency = 32;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(30);
+    private int employees = 10_000;
+    private Map<Operation, Integer> mix = parseMix("get:50,page:20,write:20,ai:10");
+    private Duration aiLatency = Duration.ofMillis(500);
+    private double aiErrorRate = 0.0;
+    private int aiQuestions = 200;
+    private String report = "target/loadtest-report.json";
+    private String store = "jpa";
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            String v = value.getValue();
+            switch (value.getKey()) {
+                case "concurrency" -> options.concurrency = Integer.parseInt(v);
+                case "warmup" -> options.warmup = duration(v);
+                case "duration" -> options.duration = duration(v);
+                case "employees" -> options.employees = Integer.parseInt(v);
+                case "mix" -> options.mix = parseMix(v);
+                case "ai-latency" -> options.aiLatency = duration(v);
+                case "ai-error-rate" -> options.aiErrorRate = Double.parseDouble(v);
+                case "ai-questions" -> options.aiQuestions = Integer.parseInt(v);
+                case "report" -> options.report = v;
+                case "store" -> options.store = v;
+                default -> throw new IllegalArgumentException("Unknown option: --" + value.getKey());
+            }
+        }
+        return options;
+    }
+
+    // Relative weights per operation, e.g. get:50,page:20,write:20,ai:10
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix must have a positive total weight: " + value);
+        }
+        return mix;
+    }
+
+    // 500ms, 30s, 2m or an ISO-8601 duration
+    private static Duration duration(String value) {
+        try {
+            return Duration.parse(value);
+        } catch (DateTimeParseException e) {
+            String unit = value.replaceAll("[0-9]", "");
+            long amount = Long.parseLong(value.substring(0, value.length() - unit.length()));
+            return switch (unit) {
+                case "ms" -> Duration.ofMillis(amount);
+                case "s" -> Duration.ofSeconds(amount);
+                case "m" -> Duration.ofMinutes(amount);
+                default -> throw new IllegalArgumentException("Bad duration: " + value);
+            };
+        }
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    public Duration getAiLatency() {
+        return aiLatency;
+    }
+
+    public double getAiErrorRate() {
+        return aiErrorRate;
+    }
+
+    public int getAiQuestions() {
+        return aiQuestions;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public String getStore() {
+        return store;
+    }
+
+    @Override
+    public String toString() {
+        return "concurrency=" + concurrency + ", warmup=" + warmup + ", duration=" + duration
+            + ", employees=" + employees + ", mix=" + mix + ", ai-latency=" + aiLatency
+            + ", ai-error-rate=" + aiErrorRate + ", ai-questions=" + aiQuestions + ", store=" + store;
+    }
+}
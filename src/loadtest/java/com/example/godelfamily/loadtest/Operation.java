@@ -0,0 +1,9 @@
+package com.example.godelfamily.loadtest;
+
+// Kinds of request the load test mixes: single reads, page reads, updates and AI questions
+public enum Operation {
+    GET,
+    PAGE,
+    WRITE,
+    AI
+}
@@ -0,0 +1,10 @@
+package com.example.godelfamily.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache names, size and TTL are configured through spring.cache.* in application.properties
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -1,33 +1,89 @@
 package com.example.godelfamily.config;
 
-import com.example.godelfamily.model.Employee;
-import com.example.godelfamily.model.Title;
-import com.example.godelfamily.repository.EmployeeRepository;
-import jakarta.annotation.PostConstruct;
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.service.EmployeeSeedLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+// Seeds employees from employees.seed.location (classpath: or file:). By default the load finishes
+// before the application reports ready; with employees.seed.async=true it starts after
+// ApplicationReadyEvent on a background thread, so requests are served while the table fills.
 @Component
-public class DataInitializer {
+public class DataInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
 
-    private final EmployeeRepository employeeRepository;
+    private final EmployeeSeedLoader seedLoader;
+    private final ResourceLoader resourceLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String location;
+    private final boolean async;
+    private volatile CompletableFuture<Long> seeding = CompletableFuture.completedFuture(0L);
 
-    public DataInitializer(EmployeeRepository employeeRepository) {
-        this.employeeRepository = employeeRepository;
+    public DataInitializer(EmployeeSeedLoader seedLoader,
+                           ResourceLoader resourceLoader,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${employees.seed.enabled:true}") boolean enabled,
+                           @Value("${employees.seed.location:classpath:seed/employees.csv}") String location,
+                           @Value("${employees.seed.async:false}") boolean async) {
+        this.seedLoader = seedLoader;
+        this.resourceLoader = resourceLoader;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.location = location;
+        this.async = async;
     }
 
-    @PostConstruct
-    public void init() {
-        // Initialize with 10 sample employees
-        employeeRepository.save(new Employee(null, "Emil", "Developer", Title.LEAD, "Java"));
-        employeeRepository.save(new Employee(null, "Pavel", "Developer", Title.SENIOR, "Java"));
-        employeeRepository.save(new Employee(null, "Sergey", "QA", Title.MIDDLE, "QA"));
-        employeeRepository.save(new Employee(null, "Anna", "Developer", Title.JUNIOR, "Python"));
-        employeeRepository.save(new Employee(null, "Maria", "BA", Title.MIDDLE, "BA"));
-        employeeRepository.save(new Employee(null, "Dmitry", "Developer", Title.SENIOR, "JS"));
-        employeeRepository.save(new Employee(null, "Olga", "QA", Title.SENIOR, "QA"));
-        employeeRepository.save(new Employee(null, "Igor", "Developer", Title.MIDDLE, "Java"));
-        employeeRepository.save(new Employee(null, "Svetlana", "BA", Title.SENIOR, "BA"));
-        employeeRepository.save(new Employee(null, "Alexey", "Developer", Title.JUNIOR, "Python"));
+    // Runners complete before ApplicationReadyEvent, when the AI snapshot and facet index are built
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (enabled && !async) {
+            seeding = CompletableFuture.completedFuture(seedLoader.load(resourceLoader.getResource(location)));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled && async) {
+            seeding = CompletableFuture.supplyAsync(this::seedInBackground,
+                            task -> Thread.ofVirtual().name("employee-seed").start(task))
+                    .whenComplete((count, error) -> {
+                        if (error != null) {
+                            log.error("Seeding employees from {} failed", location, error);
+                        }
+                    });
+        }
     }
-}
 
+    // Number of employees seeded, completing when a background load finishes
+    public CompletableFuture<Long> getSeeding() {
+        return seeding;
+    }
+
+    // Published even when the load fails: batches before the failure are already committed, and the
+    // in-memory views, caches and dataset version must not keep describing the table without them
+    private long seedInBackground() {
+        long count = 0;
+        try {
+            count = seedLoader.load(resourceLoader.getResource(location));
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            eventPublisher.publishEvent(new EmployeesSeededEvent(count));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.godelfamily.config;
+
+import com.example.godelfamily.repository.EmployeeRepository;
+import com.example.godelfamily.repository.EmployeeStore;
+import com.example.godelfamily.repository.InMemoryEmployeeStore;
+import com.example.godelfamily.repository.JpaEmployeeStore;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// employees.store=jpa (default) keeps employees in the database; employees.store=memory serves them
+// from a lock-free in-memory store, which is lost on restart and filled again by the seed loader
+@Configuration
+public class EmployeeStoreConfig {
+
+    @Bean
+    public EmployeeStore employeeStore(@Value("${employees.store:jpa}") String engine,
+                                       EmployeeRepository employeeRepository,
+                                       EntityManager entityManager,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager) {
+        return switch (engine) {
+            case "jpa" -> new JpaEmployeeStore(employeeRepository, entityManager, jdbcTemplate, transactionManager);
+            case "memory" -> new InMemoryEmployeeStore();
+            default -> throw new IllegalArgumentException(
+                    "Unknown employees.store '" + engine + "', expected jpa or memory");
+        };
+    }
+}
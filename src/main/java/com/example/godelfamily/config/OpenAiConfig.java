@@ -0,0 +1,69 @@
+package com.example.godelfamily.config;
+
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// One shared OpenAI client for the whole application, so connections, TLS sessions and the
+// Retrofit/Jackson setup are reused across questions instead of rebuilt per call
+@Configuration
+public class OpenAiConfig {
+
+    @Bean(destroyMethod = "evictAll")
+    public ConnectionPool openAiConnectionPool(
+            @Value("${openai.client.max-idle-connections:10}") int maxIdleConnections,
+            @Value("${openai.client.keep-alive:5m}") Duration keepAlive) {
+        return new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Bean
+    public OkHttpClient openAiHttpClient(ConnectionPool openAiConnectionPool,
+                                         @Value("${openai.api.key:}") String apiKey,
+                                         @Value("${openai.client.connect-timeout:5s}") Duration connectTimeout,
+                                         @Value("${openai.client.read-timeout:60s}") Duration readTimeout,
+                                         @Value("${openai.client.max-concurrent-requests:64}") int maxConcurrentRequests) {
+        // Streamed answers run as async OkHttp calls, which the dispatcher caps at 5 per host by default
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrentRequests);
+        dispatcher.setMaxRequestsPerHost(maxConcurrentRequests);
+        return OpenAiService.defaultClient(apiKey, readTimeout)
+                .newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(openAiConnectionPool)
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdownExecutor")
+    public OpenAiService openAiService(OkHttpClient openAiHttpClient,
+                                       @Value("${openai.api.base-url:https://api.openai.com/}") String baseUrl) {
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(openAiHttpClient)
+                .addConverterFactory(JacksonConverterFactory.create(OpenAiService.defaultObjectMapper()))
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+                .build();
+        return new OpenAiService(retrofit.create(OpenAiApi.class), openAiHttpClient.dispatcher().executorService());
+    }
+
+    // AI questions block on the OpenAI call for seconds; run them on virtual threads so they never
+    // hold a request-handling thread
+    @Bean(destroyMethod = "close")
+    public ExecutorService aiQueryExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
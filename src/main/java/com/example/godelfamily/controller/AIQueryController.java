@@ -1,35 +1,125 @@
 package com.example.godelfamily.controller;
 
+import com.example.godelfamily.exception.AIUnavailableException;
 import com.example.godelfamily.model.AIQueryRequest;
 import com.example.godelfamily.model.AIQueryResponse;
+import com.example.godelfamily.model.AIQueryStats;
+import com.example.godelfamily.service.EmployeeAIBatchService;
 import com.example.godelfamily.service.EmployeeAIService;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/ai")
 @CrossOrigin(origins = "*")
 public class AIQueryController {
 
+    private static final String ERROR_ANSWER = "Sorry, I encountered an error processing your question. Please try again.";
+
     private final EmployeeAIService aiService;
+    private final EmployeeAIBatchService batchService;
 
-    public AIQueryController(EmployeeAIService aiService) {
+    public AIQueryController(EmployeeAIService aiService, EmployeeAIBatchService batchService) {
         this.aiService = aiService;
+        this.batchService = batchService;
     }
 
+    // Async: the request thread returns as soon as the question is handed to the AI executor
     @PostMapping("/query")
-    public ResponseEntity<AIQueryResponse> queryEmployees(@RequestBody AIQueryRequest request) {
+    public CompletableFuture<ResponseEntity<AIQueryResponse>> queryEmployees(@RequestBody AIQueryRequest request) {
+        CompletableFuture<String> answer;
         try {
-            String answer = aiService.queryEmployees(request.getQuestion());
-            AIQueryResponse response = new AIQueryResponse(request.getQuestion(), answer);
-            return ResponseEntity.ok(response);
+            answer = aiService.queryEmployeesAsync(request.getQuestion());
         } catch (Exception e) {
-            AIQueryResponse errorResponse = new AIQueryResponse(
-                request.getQuestion(),
-                "Sorry, I encountered an error processing your question. Please try again."
-            );
-            return ResponseEntity.ok(errorResponse);
+            answer = CompletableFuture.failedFuture(e);
         }
+        return answer
+            .thenApply(text -> ResponseEntity.ok(new AIQueryResponse(request.getQuestion(), text)))
+            .exceptionally(e -> {
+                // Circuit open, too busy or timed out: let the exception handler answer 503 right away
+                if (unwrap(e) instanceof AIUnavailableException unavailable) {
+                    throw unavailable;
+                }
+                AIQueryResponse errorResponse = new AIQueryResponse(request.getQuestion(), ERROR_ANSWER);
+                return ResponseEntity.ok(errorResponse);
+            });
+    }
+
+    // Many questions in one request: the context is sent once per chunk of questions and the
+    // answers come back in request order
+    @PostMapping("/query/batch")
+    public CompletableFuture<List<AIQueryResponse>> queryEmployeesBatch(@RequestBody List<AIQueryRequest> requests) {
+        List<String> questions = new ArrayList<>();
+        for (AIQueryRequest request : requests) {
+            questions.add(request.getQuestion());
+        }
+        return batchService.queryEmployeesAsync(questions).thenApply(answers -> {
+            List<AIQueryResponse> responses = new ArrayList<>();
+            for (int i = 0; i < questions.size(); i++) {
+                responses.add(new AIQueryResponse(questions.get(i), answers.get(i)));
+            }
+            return responses;
+        });
+    }
+
+    // Answer cache and request coalescing counters
+    @GetMapping("/stats")
+    public AIQueryStats getStats() {
+        return aiService.getStats();
+    }
+
+    // Server-Sent Events: "token" events carry {"token": ...} deltas as they arrive, then a single
+    // "done" or "error" event closes the stream
+    @GetMapping(value = "/query/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuery(@RequestParam String question) {
+        return stream(question);
+    }
+
+    @PostMapping(value = "/query/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuery(@RequestBody AIQueryRequest request) {
+        return stream(request.getQuestion());
     }
-}
 
+    private SseEmitter stream(String question) {
+        SseEmitter emitter = new SseEmitter();
+        Flowable<String> tokens;
+        try {
+            tokens = aiService.streamEmployees(question);
+        } catch (Exception e) {
+            tokens = Flowable.error(e);
+        }
+        Disposable subscription = tokens.subscribe(
+            token -> emitter.send(SseEmitter.event().name("token").data(Map.of("token", token), MediaType.APPLICATION_JSON)),
+            error -> finish(emitter, "error", Map.of("error",
+                error instanceof AIUnavailableException ? error.getMessage() : ERROR_ANSWER)),
+            () -> finish(emitter, "done", Map.of("question", question)));
+        // Stop pulling from OpenAI when the client goes away or the request times out
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static void finish(SseEmitter emitter, String name, Map<String, String> data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -1,51 +1,267 @@
 package com.example.godelfamily.controller;
 
 import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeBatchOperation;
+import com.example.godelfamily.model.EmployeeBatchResult;
+import com.example.godelfamily.model.EmployeeFacets;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFieldsPage;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePage;
+import com.example.godelfamily.model.EmployeePatch;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.service.EmployeeDataVersion;
+import com.example.godelfamily.service.EmployeeExportService;
+import com.example.godelfamily.service.EmployeeFacetIndex;
 import com.example.godelfamily.service.EmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/employees")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class EmployeeController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final EmployeeFacetIndex employeeFacetIndex;
+    private final EmployeeDataVersion employeeDataVersion;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxBatchSize;
+    private final Duration exportTimeout;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService,
+                              EmployeeExportService employeeExportService,
+                              EmployeeFacetIndex employeeFacetIndex,
+                              EmployeeDataVersion employeeDataVersion,
+                              @Value("${employees.page.default-size:50}") int defaultPageSize,
+                              @Value("${employees.page.max-size:500}") int maxPageSize,
+                              @Value("${employees.batch.max-size:5000}") int maxBatchSize,
+                              @Value("${employees.export.timeout:0}") Duration exportTimeout) {
         this.employeeService = employeeService;
+        this.employeeExportService = employeeExportService;
+        this.employeeFacetIndex = employeeFacetIndex;
+        this.employeeDataVersion = employeeDataVersion;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    public ResponseEntity<EmployeePage> getEmployeePage(@RequestParam(required = false) Long cursor,
+                                                        @RequestParam(required = false) Integer size,
+                                                        @RequestParam(required = false) Title title,
+                                                        @RequestParam(required = false) String division,
+                                                        @RequestParam(required = false) String position,
+                                                        WebRequest request) {
+        int pageSize = pageSize(size);
+        // The dataset version is the ETag, so a client that already has it gets 304 without a query or
+        // serialization. It is read before the data, so a tag never claims newer data than its body.
+        EmployeeDataVersion.Snapshot version = employeeDataVersion.snapshot();
+        if (request.checkNotModified(listETag(version), version.modifiedAt().toEpochMilli())) {
+            return null;
+        }
+        EmployeeFilter filter = new EmployeeFilter(title, division, position);
+        return revalidated(listETag(version), version.modifiedAt())
+                .body(employeeService.getEmployeePage(filter, cursor, pageSize));
+    }
+
+    // Sparse fieldset, e.g. ?fields=id,name: only those columns are selected and serialized. The field
+    // list is part of the URL, so the dataset ETag stays valid for it.
+    @GetMapping(params = "fields")
+    public ResponseEntity<EmployeeFieldsPage> getEmployeeFieldsPage(@RequestParam String fields,
+                                                                    @RequestParam(required = false) Long cursor,
+                                                                    @RequestParam(required = false) Integer size,
+                                                                    @RequestParam(required = false) Title title,
+                                                                    @RequestParam(required = false) String division,
+                                                                    @RequestParam(required = false) String position,
+                                                                    WebRequest request) {
+        int pageSize = pageSize(size);
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        EmployeeDataVersion.Snapshot version = employeeDataVersion.snapshot();
+        if (request.checkNotModified(listETag(version), version.modifiedAt().toEpochMilli())) {
+            return null;
+        }
+        EmployeeFilter filter = new EmployeeFilter(title, division, position);
+        return revalidated(listETag(version), version.modifiedAt())
+                .body(employeeService.getEmployeeFieldsPage(filter, cursor, pageSize, selected));
+    }
+
+    // Unbounded listing, kept for callers that explicitly opt in with ?all=true
+    @GetMapping(params = "all=true")
+    public ResponseEntity<List<Employee>> getAllEmployees(WebRequest request) {
+        EmployeeDataVersion.Snapshot version = employeeDataVersion.snapshot();
+        if (request.checkNotModified(listETag(version), version.modifiedAt().toEpochMilli())) {
+            return null;
+        }
+        return revalidated(listETag(version), version.modifiedAt()).body(employeeService.getAllEmployees());
+    }
+
+    @GetMapping(params = {"all=true", "fields"})
+    public ResponseEntity<List<Map<String, Object>>> getAllEmployeeFields(@RequestParam String fields, WebRequest request) {
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        EmployeeDataVersion.Snapshot version = employeeDataVersion.snapshot();
+        if (request.checkNotModified(listETag(version), version.modifiedAt().toEpochMilli())) {
+            return null;
+        }
+        return revalidated(listETag(version), version.modifiedAt()).body(employeeService.getAllEmployeeFields(selected));
     }
 
+    // A returned StreamingResponseBody would run under spring.mvc.async.request-timeout and be cut off
+    // mid-stream on a large table, so the export writes the response itself under its own timeout
+    @GetMapping("/export")
+    public WebAsyncTask<ResponseEntity<Void>> exportEmployees(@RequestParam(defaultValue = "ndjson") String format,
+                                                             HttpServletResponse response) {
+        StreamingResponseBody body = switch (format) {
+            case "ndjson" -> {
+                response.setContentType(NDJSON.toString());
+                yield employeeExportService::exportNdjson;
+            }
+            case "csv" -> {
+                response.setContentType(CSV.toString());
+                response.setHeader("Content-Disposition", "attachment; filename=\"employees.csv\"");
+                yield employeeExportService::exportCsv;
+            }
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            body.writeTo(response.getOutputStream());
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<EmployeeFacets> getFacets() {
+        return ResponseEntity.ok(employeeFacetIndex.getFacets());
+    }
+
+    // The ETag is the row version. The row is looked up before any validator is compared, so an unknown
+    // or deleted id gets 404 even with a current If-Modified-Since; the lookup normally hits the
+    // employee cache. Spring then answers a matching If-None-Match or If-Modified-Since with 304
+    // before the body is serialized.
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+        Instant modifiedAt = employeeDataVersion.snapshot().modifiedAt();
+        Employee employee = employeeService.getEmployeeById(id);
+        return revalidated(String.valueOf(employee.getVersion()), modifiedAt).body(employee);
+    }
+
+    // Projected rows skip the employee cache. The row version is the ETag only when it was selected.
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getEmployeeFieldsById(@PathVariable Long id, @RequestParam String fields) {
+        Map<String, Object> employee = employeeService.getEmployeeFieldsById(id, EmployeeFields.parse(fields));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (employee.containsKey("version")) {
+            response.eTag(String.valueOf(employee.get("version")));
+        }
+        return response.body(employee);
     }
 
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@Valid @RequestBody Employee employee) {
         Employee created = employeeService.createEmployee(employee);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(String.valueOf(created.getVersion())).body(created);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<EmployeeBatchResult>> processBatch(@RequestBody List<EmployeeBatchOperation> operations) {
+        if (operations.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must not exceed " + maxBatchSize);
+        }
+        return ResponseEntity.ok(employeeService.processBatch(operations));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable Long id,
-                                                   @Valid @RequestBody Employee employee) {
-        Employee updated = employeeService.updateEmployee(id, employee);
-        return ResponseEntity.ok(updated);
+                                                   @Valid @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Employee updated = employeeService.updateEmployee(id, employee, expectedVersions(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(updated.getVersion())).body(updated);
+    }
+
+    // JSON Merge Patch: members left out keep their stored values, so a title change sends only the title
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<Employee> patchEmployee(@PathVariable Long id,
+                                                  @RequestBody EmployeePatch patch,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Employee patched = employeeService.patchEmployee(id, patch, expectedVersions(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(patched.getVersion())).body(patched);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
-        employeeService.deleteEmployee(id);
+    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        employeeService.deleteEmployee(id, expectedVersions(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    private int pageSize(Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(pageSize, maxPageSize);
+    }
+
+    // Validators for the read endpoints; no-cache lets browsers keep the body but revalidate every time.
+    // The body format follows Accept (JSON, CBOR or Smile), so caches must key on it.
+    private static ResponseEntity.BodyBuilder revalidated(String etag, Instant modifiedAt) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(modifiedAt)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    // Weak: the tag names a dataset version, not the bytes, which differ by format and content coding.
+    // Tomcat also only compresses responses without a strong ETag, and lists are the large bodies.
+    private static String listETag(EmployeeDataVersion.Snapshot version) {
+        return "W/\"" + version.tag() + "\"";
+    }
+
+    // Row versions an If-Match header accepts, or null when it is absent or "*" (the row must exist
+    // either way). If-Match uses strong comparison, so weak tags never match.
+    static Set<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (ETag etag : ETag.parse(ifMatch)) {
+            if (etag.isWildcard()) {
+                return null;
+            }
+            if (!etag.weak()) {
+                try {
+                    versions.add(Long.parseLong(etag.tag()));
+                } catch (NumberFormatException e) {
+                    // Not a tag this endpoint issued, so it cannot match
+                }
+            }
+        }
+        return versions;
+    }
 }
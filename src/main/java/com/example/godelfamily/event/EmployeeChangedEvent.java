@@ -0,0 +1,47 @@
+package com.example.godelfamily.event;
+
+import com.example.godelfamily.model.Employee;
+
+// Published by EmployeeService after every create, update and delete; employee is null for deletes
+public class EmployeeChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long id;
+    private final Employee employee;
+
+    public EmployeeChangedEvent(Type type, Long id, Employee employee) {
+        this.type = type;
+        this.id = id;
+        this.employee = employee;
+    }
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChangedEvent updated(Employee employee) {
+        return new EmployeeChangedEvent(Type.UPDATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChangedEvent deleted(Long id) {
+        return new EmployeeChangedEvent(Type.DELETED, id, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+}
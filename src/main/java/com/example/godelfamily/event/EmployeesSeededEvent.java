@@ -0,0 +1,17 @@
+package com.example.godelfamily.event;
+
+// Published after a background seed load, whether it finished or failed partway; the rows were
+// inserted with JDBC, so no EmployeeChangedEvent was published for them and in-memory views must
+// rebuild. The count is 0 when the load failed, since the rows committed before it are not known.
+public class EmployeesSeededEvent {
+
+    private final long count;
+
+    public EmployeesSeededEvent(long count) {
+        this.count = count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
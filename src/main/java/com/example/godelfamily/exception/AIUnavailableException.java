@@ -0,0 +1,36 @@
+package com.example.godelfamily.exception;
+
+import java.time.Duration;
+
+// The AI upstream was not called, or was given up on, to protect the rest of the application
+public class AIUnavailableException extends RuntimeException {
+
+    public enum Reason {
+        CIRCUIT_OPEN("AI service is temporarily unavailable. Please try again later."),
+        BULKHEAD_FULL("Too many AI questions are in progress. Please try again shortly."),
+        TIMEOUT("AI service did not answer in time. Please try again later.");
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+    }
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public AIUnavailableException(Reason reason, Duration retryAfter) {
+        super(reason.message);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.godelfamily.exception;
+
+// An If-Match precondition named versions other than the employee's current one
+public class EmployeeVersionMismatchException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public EmployeeVersionMismatchException(Long id, long currentVersion) {
+        super("Employee " + id + " has been modified; current version is " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
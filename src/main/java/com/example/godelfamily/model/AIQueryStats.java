@@ -0,0 +1,143 @@
+package com.example.godelfamily.model;
+
+public class AIQueryStats {
+    private long cacheSize;
+    private long cacheHits;
+    private long cacheMisses;
+    private long upstreamCalls;
+    private long coalescedCalls;
+    private int inFlight;
+    private String circuitState;
+    private long shortCircuitedCalls;
+    private int activeCalls;
+    private int queuedCalls;
+    private long rejectedCalls;
+    private long timedOutCalls;
+    private long currentTimeoutMillis;
+
+    public AIQueryStats() {
+    }
+
+    public AIQueryStats(long cacheSize, long cacheHits, long cacheMisses, long upstreamCalls,
+                        long coalescedCalls, int inFlight, String circuitState, long shortCircuitedCalls,
+                        int activeCalls, int queuedCalls, long rejectedCalls, long timedOutCalls,
+                        long currentTimeoutMillis) {
+        this.cacheSize = cacheSize;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+        this.upstreamCalls = upstreamCalls;
+        this.coalescedCalls = coalescedCalls;
+        this.inFlight = inFlight;
+        this.circuitState = circuitState;
+        this.shortCircuitedCalls = shortCircuitedCalls;
+        this.activeCalls = activeCalls;
+        this.queuedCalls = queuedCalls;
+        this.rejectedCalls = rejectedCalls;
+        this.timedOutCalls = timedOutCalls;
+        this.currentTimeoutMillis = currentTimeoutMillis;
+    }
+
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public void setCacheHits(long cacheHits) {
+        this.cacheHits = cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public void setCacheMisses(long cacheMisses) {
+        this.cacheMisses = cacheMisses;
+    }
+
+    public long getUpstreamCalls() {
+        return upstreamCalls;
+    }
+
+    public void setUpstreamCalls(long upstreamCalls) {
+        this.upstreamCalls = upstreamCalls;
+    }
+
+    public long getCoalescedCalls() {
+        return coalescedCalls;
+    }
+
+    public void setCoalescedCalls(long coalescedCalls) {
+        this.coalescedCalls = coalescedCalls;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public String getCircuitState() {
+        return circuitState;
+    }
+
+    public void setCircuitState(String circuitState) {
+        this.circuitState = circuitState;
+    }
+
+    public long getShortCircuitedCalls() {
+        return shortCircuitedCalls;
+    }
+
+    public void setShortCircuitedCalls(long shortCircuitedCalls) {
+        this.shortCircuitedCalls = shortCircuitedCalls;
+    }
+
+    public int getActiveCalls() {
+        return activeCalls;
+    }
+
+    public void setActiveCalls(int activeCalls) {
+        this.activeCalls = activeCalls;
+    }
+
+    public int getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    public void setQueuedCalls(int queuedCalls) {
+        this.queuedCalls = queuedCalls;
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls;
+    }
+
+    public void setRejectedCalls(long rejectedCalls) {
+        this.rejectedCalls = rejectedCalls;
+    }
+
+    public long getTimedOutCalls() {
+        return timedOutCalls;
+    }
+
+    public void setTimedOutCalls(long timedOutCalls) {
+        this.timedOutCalls = timedOutCalls;
+    }
+
+    public long getCurrentTimeoutMillis() {
+        return currentTimeoutMillis;
+    }
+
+    public void setCurrentTimeoutMillis(long currentTimeoutMillis) {
+        this.currentTimeoutMillis = currentTimeoutMillis;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.godelfamily.model;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
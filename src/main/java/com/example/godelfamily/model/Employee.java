@@ -1,5 +1,6 @@
 package com.example.godelfamily.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,11 +8,17 @@ import jakarta.validation.constraints.NotNull;
 import java.util.Objects;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_title", columnList = "title"),
+        @Index(name = "idx_employees_division", columnList = "division"),
+        @Index(name = "idx_employees_position", columnList = "position")
+})
 public class Employee {
 
+    // Sequence with a pooled optimizer: ids are handed out in memory, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -31,6 +38,13 @@ public class Employee {
     @Column(nullable = false)
     private String division;
 
+    // Optimistic lock, incremented on every update; clients see it as the row's ETag and send it back
+    // in If-Match, so it is never read from a request body
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     public Employee() {
     }
 
@@ -82,6 +96,14 @@ public class Employee {
         this.division = division;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -103,6 +125,7 @@ public class Employee {
                 ", position='" + position + '\'' +
                 ", title=" + title +
                 ", division='" + division + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
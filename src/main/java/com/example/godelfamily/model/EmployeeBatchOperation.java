@@ -0,0 +1,40 @@
+package com.example.godelfamily.model;
+
+public class EmployeeBatchOperation {
+    private BatchOperationType operation;
+    private Long id;
+    private Employee employee;
+
+    public EmployeeBatchOperation() {
+    }
+
+    public EmployeeBatchOperation(BatchOperationType operation, Long id, Employee employee) {
+        this.operation = operation;
+        this.id = id;
+        this.employee = employee;
+    }
+
+    public BatchOperationType getOperation() {
+        return operation;
+    }
+
+    public void setOperation(BatchOperationType operation) {
+        this.operation = operation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+}
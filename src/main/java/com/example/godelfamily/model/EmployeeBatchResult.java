@@ -0,0 +1,60 @@
+package com.example.godelfamily.model;
+
+public class EmployeeBatchResult {
+    private int index;
+    private BatchOperationType operation;
+    private Long id;
+    private int status;
+    private String error;
+
+    public EmployeeBatchResult() {
+    }
+
+    public EmployeeBatchResult(int index, BatchOperationType operation, Long id, int status, String error) {
+        this.index = index;
+        this.operation = operation;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BatchOperationType getOperation() {
+        return operation;
+    }
+
+    public void setOperation(BatchOperationType operation) {
+        this.operation = operation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.godelfamily.model;
+
+import java.util.Map;
+
+public class EmployeeFacets {
+    private int total;
+    private Map<Title, Integer> titles;
+    private Map<String, Integer> divisions;
+    private Map<String, Map<Title, Integer>> counts;
+
+    public EmployeeFacets() {
+    }
+
+    public EmployeeFacets(int total, Map<Title, Integer> titles, Map<String, Integer> divisions,
+                          Map<String, Map<Title, Integer>> counts) {
+        this.total = total;
+        this.titles = titles;
+        this.divisions = divisions;
+        this.counts = counts;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public Map<Title, Integer> getTitles() {
+        return titles;
+    }
+
+    public void setTitles(Map<Title, Integer> titles) {
+        this.titles = titles;
+    }
+
+    public Map<String, Integer> getDivisions() {
+        return divisions;
+    }
+
+    public void setDivisions(Map<String, Integer> divisions) {
+        this.divisions = divisions;
+    }
+
+    public Map<String, Map<Title, Integer>> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Map<Title, Integer>> counts) {
+        this.counts = counts;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.godelfamily.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Sparse fieldset from ?fields=id,name,title: the employee attributes to select and return. The id is
+// always included, since it names the row and is the cursor of the next page. Fields come out in the
+// order of ALL, not the order they were requested in, so ?fields=title,name and ?fields=name,title
+// return the same shape.
+public final class EmployeeFields {
+
+    public static final List<String> ALL = List.of("id", "name", "position", "title", "division", "version");
+
+    private final List<String> names;
+
+    private EmployeeFields(List<String> names) {
+        this.names = names;
+    }
+
+    // Comma-separated attribute names; a blank list selects only the id
+    public static EmployeeFields parse(String fields) {
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALL.contains(name)) {
+                throw new IllegalArgumentException("Unknown employee field '" + name + "', expected any of "
+                        + String.join(", ", ALL));
+            }
+            requested.add(name);
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : ALL) {
+            if (name.equals("id") || requested.contains(name)) {
+                names.add(name);
+            }
+        }
+        return new EmployeeFields(List.copyOf(names));
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    // The selected attributes of an already loaded employee, in field order
+    public Map<String, Object> project(Employee employee) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String name : names) {
+            row.put(name, switch (name) {
+                case "id" -> employee.getId();
+                case "name" -> employee.getName();
+                case "position" -> employee.getPosition();
+                case "title" -> employee.getTitle();
+                case "division" -> employee.getDivision();
+                default -> employee.getVersion();
+            });
+        }
+        return row;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EmployeeFields other && names.equals(other.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return names.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+}
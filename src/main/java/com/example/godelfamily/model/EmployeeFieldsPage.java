@@ -0,0 +1,44 @@
+package com.example.godelfamily.model;
+
+import java.util.List;
+import java.util.Map;
+
+// EmployeePage for a sparse fieldset: each row holds only the requested attributes
+public class EmployeeFieldsPage {
+    private List<Map<String, Object>> content;
+    private int size;
+    private Long nextCursor;
+
+    public EmployeeFieldsPage() {
+    }
+
+    public EmployeeFieldsPage(List<Map<String, Object>> content, int size, Long nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Map<String, Object>> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Map<String, Object>> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
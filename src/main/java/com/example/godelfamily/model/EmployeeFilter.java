@@ -0,0 +1,44 @@
+package com.example.godelfamily.model;
+
+public class EmployeeFilter {
+    private Title title;
+    private String division;
+    private String position;
+
+    public EmployeeFilter() {
+    }
+
+    public EmployeeFilter(Title title, String division, String position) {
+        this.title = title;
+        this.division = division;
+        this.position = position;
+    }
+
+    public Title getTitle() {
+        return title;
+    }
+
+    public void setTitle(Title title) {
+        this.title = title;
+    }
+
+    public String getDivision() {
+        return division;
+    }
+
+    public void setDivision(String division) {
+        this.division = division;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public void setPosition(String position) {
+        this.position = position;
+    }
+
+    public boolean isEmpty() {
+        return title == null && division == null && position == null;
+    }
+}
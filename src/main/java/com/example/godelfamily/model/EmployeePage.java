@@ -0,0 +1,42 @@
+package com.example.godelfamily.model;
+
+import java.util.List;
+
+public class EmployeePage {
+    private List<Employee> content;
+    private int size;
+    private Long nextCursor;
+
+    public EmployeePage() {
+    }
+
+    public EmployeePage(List<Employee> content, int size, Long nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Employee> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Employee> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.godelfamily.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Body of a JSON Merge Patch (RFC 7396) on an employee. Jackson calls a setter only for members present
+// in the document, so the changes hold exactly the fields the client sent. An explicit null is kept:
+// merge patch would remove the field, and every employee field is required, so validation rejects it.
+public class EmployeePatch {
+
+    // Entity attribute name to new value, in document order
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+
+    public void setName(String name) {
+        changes.put("name", name);
+    }
+
+    public void setPosition(String position) {
+        changes.put("position", position);
+    }
+
+    public void setTitle(Title title) {
+        changes.put("title", title);
+    }
+
+    public void setDivision(String division) {
+        changes.put("division", division);
+    }
+
+    @JsonIgnore
+    public Map<String, Object> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public void applyTo(Employee employee) {
+        changes.forEach((field, value) -> {
+            switch (field) {
+                case "name" -> employee.setName((String) value);
+                case "position" -> employee.setPosition((String) value);
+                case "title" -> employee.setTitle((Title) value);
+                case "division" -> employee.setDivision((String) value);
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.godelfamily.repository;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.Title;
+import org.springframework.data.jpa.domain.Specification;
+
+// Exact-match predicates only, so each filter can be answered from its column index
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeFilter filter) {
+        Specification<Employee> spec = Specification.unrestricted();
+        if (filter.getTitle() != null) {
+            spec = spec.and(hasTitle(filter.getTitle()));
+        }
+        if (filter.getDivision() != null) {
+            spec = spec.and(hasDivision(filter.getDivision()));
+        }
+        if (filter.getPosition() != null) {
+            spec = spec.and(hasPosition(filter.getPosition()));
+        }
+        return spec;
+    }
+
+    public static Specification<Employee> hasTitle(Title title) {
+        return (root, query, cb) -> cb.equal(root.get("title"), title);
+    }
+
+    public static Specification<Employee> hasDivision(String division) {
+        return (root, query, cb) -> cb.equal(root.get("division"), division);
+    }
+
+    public static Specification<Employee> hasPosition(String position) {
+        return (root, query, cb) -> cb.equal(root.get("position"), position);
+    }
+
+    public static Specification<Employee> idGreaterThan(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.godelfamily.repository;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePatch;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Storage beneath EmployeeService, selected with employees.store: "jpa" (default) keeps employees in
+// the database through EmployeeRepository, "memory" keeps them in a lock-free in-memory map.
+// Both must pass EmployeeStoreContractTest.
+public interface EmployeeStore {
+
+    Optional<Employee> findById(long id);
+
+    boolean existsById(long id);
+
+    // Rows that exist, in no particular order
+    List<Employee> findAllById(Collection<Long> ids);
+
+    // All rows ordered by id
+    List<Employee> findAll();
+
+    // Keyset page: up to limit rows with an id greater than afterId matching the filter, ordered by id
+    List<Employee> findPage(EmployeeFilter filter, long afterId, int limit);
+
+    // findPage reduced to the given fields, one attribute-to-value map per row. The database engine
+    // selects just those columns, so no entity is built or enters the persistence context.
+    List<Map<String, Object>> findPageFields(EmployeeFilter filter, long afterId, int limit, EmployeeFields fields);
+
+    Optional<Map<String, Object>> findFieldsById(long id, EmployeeFields fields);
+
+    // All rows ordered by id without holding them in memory; must be closed, and for the database
+    // engine consumed inside a transaction
+    Stream<Employee> streamAll();
+
+    // Assigns an id when it is null; the returned instance carries it. A row that already exists is
+    // only replaced when the version matches the stored one, and its version then increments;
+    // otherwise an OptimisticLockingFailureException is thrown. New rows start at version 0.
+    Employee save(Employee employee);
+
+    List<Employee> saveAll(List<Employee> employees);
+
+    // Bulk insert of new rows for seeding: ids are assigned in place, and no per-row change
+    // tracking happens, so callers rebuild derived views afterwards
+    void insertAll(List<Employee> employees);
+
+    // Overwrites name, position, title and division and bumps the version in one step, if the row
+    // exists and expectedVersions is null or holds its version. Returns the new version, or empty when
+    // no row changed.
+    Optional<Long> updateFields(long id, Employee fields, Set<Long> expectedVersions);
+
+    // Like updateFields, but writes only the fields present in the patch and leaves the others as stored.
+    // Returns the rows changed, 0 or 1.
+    int patchFields(long id, EmployeePatch patch, Set<Long> expectedVersions);
+
+    void deleteById(long id);
+
+    // Deletes in one step under the same condition as updateFields; returns the rows deleted, 0 or 1
+    int deleteById(long id, Set<Long> expectedVersions);
+
+    // Deletes a row previously read from the store, failing like save when it changed since
+    void delete(Employee employee);
+
+    void deleteAll(Collection<Employee> employees);
+
+    // Pushes pending writes to storage; stores that write through do nothing
+    void flush();
+}
@@ -0,0 +1,371 @@
+package com.example.godelfamily.repository;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePatch;
+import com.example.godelfamily.model.Title;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+// In-memory engine (employees.store=memory). Rows are private copies in a ConcurrentHashMap, so callers
+// can never change a stored row in place. The id, title and division indexes are immutable bitmap
+// snapshots: a writer builds a new snapshot and publishes it with compare-and-set, so readers never
+// block. Writes to the same id serialize on its map entry, which keeps index moves in row order and
+// makes the optimistic version check atomic with the write.
+// Readers re-check each row against the filter, so a row that changed after the snapshot is never
+// returned by mistake.
+// Inside a Spring transaction every write is also logged, and a rollback puts the replaced rows back,
+// so a batch that fails half-way leaves nothing behind, as it would on the database engine.
+public class InMemoryEmployeeStore implements EmployeeStore {
+
+    private final ConcurrentHashMap<Long, Employee> rows = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReference<Indexes> indexes = new AtomicReference<>(Indexes.EMPTY);
+
+    @Override
+    public Optional<Employee> findById(long id) {
+        return Optional.ofNullable(rows.get(id)).map(InMemoryEmployeeStore::copy);
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return rows.containsKey(id);
+    }
+
+    @Override
+    public List<Employee> findAllById(Collection<Long> ids) {
+        List<Employee> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Employee row = rows.get(id);
+            if (row != null) {
+                found.add(copy(row));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return streamAll().toList();
+    }
+
+    @Override
+    public List<Employee> findPage(EmployeeFilter filter, long afterId, int limit) {
+        List<Employee> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Employee row : matching(filter, afterId, limit)) {
+            page.add(copy(row));
+        }
+        return page;
+    }
+
+    // Stored rows themselves, not copies; callers copy or project them before they leave the store
+    private List<Employee> matching(EmployeeFilter filter, long afterId, int limit) {
+        List<Employee> page = new ArrayList<>(Math.min(limit, 1024));
+        if (afterId >= Integer.MAX_VALUE) {
+            return page;
+        }
+        Indexes snapshot = indexes.get();
+        RoaringBitmap candidates = snapshot.all;
+        if (filter.getTitle() != null) {
+            candidates = RoaringBitmap.and(candidates, snapshot.byTitle.getOrDefault(filter.getTitle(), Indexes.NONE));
+        }
+        if (filter.getDivision() != null) {
+            candidates = RoaringBitmap.and(candidates, snapshot.byDivision.getOrDefault(filter.getDivision(), Indexes.NONE));
+        }
+        PeekableIntIterator ids = candidates.getIntIterator();
+        ids.advanceIfNeeded((int) Math.max(afterId + 1, 0));
+        while (ids.hasNext() && page.size() < limit) {
+            Employee row = rows.get((long) ids.next());
+            if (row != null && matches(filter, row)) {
+                page.add(row);
+            }
+        }
+        return page;
+    }
+
+    // Rows are read in place rather than copied, since only the projected values leave the store
+    @Override
+    public List<Map<String, Object>> findPageFields(EmployeeFilter filter, long afterId, int limit, EmployeeFields fields) {
+        List<Map<String, Object>> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Employee row : matching(filter, afterId, limit)) {
+            page.add(fields.project(row));
+        }
+        return page;
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(long id, EmployeeFields fields) {
+        return Optional.ofNullable(rows.get(id)).map(fields::project);
+    }
+
+    @Override
+    public Stream<Employee> streamAll() {
+        return indexes.get().all.stream()
+                .mapToObj(id -> rows.get((long) id))
+                .filter(Objects::nonNull)
+                .map(InMemoryEmployeeStore::copy);
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        boolean fresh = employee.getId() == null;
+        if (fresh) {
+            employee.setId(sequence.incrementAndGet());
+        } else {
+            sequence.accumulateAndGet(employee.getId(), Math::max);
+        }
+        Employee row = copy(employee);
+        rows.compute(row.getId(), (id, previous) -> {
+            if (!fresh && !Objects.equals(previous == null ? null : previous.getVersion(), row.getVersion())) {
+                throw conflict(id);
+            }
+            row.setVersion(previous == null ? 0L : previous.getVersion() + 1);
+            reindex(List.of(new Change(id, previous, row)));
+            return row;
+        });
+        employee.setVersion(row.getVersion());
+        return employee;
+    }
+
+    @Override
+    public List<Employee> saveAll(List<Employee> employees) {
+        employees.forEach(this::save);
+        return employees;
+    }
+
+    // Fresh ids cannot race with other writers, so the whole batch moves the indexes in one step.
+    // Indexes go first: a reader may briefly see ids without rows, which it skips.
+    @Override
+    public void insertAll(List<Employee> employees) {
+        List<Change> changes = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            employee.setId(sequence.incrementAndGet());
+            employee.setVersion(0L);
+            changes.add(new Change(employee.getId(), null, copy(employee)));
+        }
+        reindex(changes);
+        for (Change change : changes) {
+            rows.put(change.id(), change.next());
+        }
+    }
+
+    @Override
+    public Optional<Long> updateFields(long id, Employee fields, Set<Long> expectedVersions) {
+        AtomicReference<Long> version = new AtomicReference<>();
+        rows.computeIfPresent(id, (key, previous) -> {
+            if (expectedVersions != null && !expectedVersions.contains(previous.getVersion())) {
+                return previous;
+            }
+            Employee row = new Employee(key, fields.getName(), fields.getPosition(), fields.getTitle(), fields.getDivision());
+            row.setVersion(previous.getVersion() + 1);
+            reindex(List.of(new Change(key, previous, row)));
+            version.set(row.getVersion());
+            return row;
+        });
+        return Optional.ofNullable(version.get());
+    }
+
+    @Override
+    public int patchFields(long id, EmployeePatch patch, Set<Long> expectedVersions) {
+        AtomicInteger updated = new AtomicInteger();
+        rows.computeIfPresent(id, (key, previous) -> {
+            if (expectedVersions != null && !expectedVersions.contains(previous.getVersion())) {
+                return previous;
+            }
+            Employee row = copy(previous);
+            patch.applyTo(row);
+            row.setVersion(previous.getVersion() + 1);
+            reindex(List.of(new Change(key, previous, row)));
+            updated.set(1);
+            return row;
+        });
+        return updated.get();
+    }
+
+    @Override
+    public void deleteById(long id) {
+        rows.computeIfPresent(id, (key, previous) -> {
+            reindex(List.of(new Change(key, previous, null)));
+            return null;
+        });
+    }
+
+    @Override
+    public int deleteById(long id, Set<Long> expectedVersions) {
+        AtomicInteger deleted = new AtomicInteger();
+        rows.computeIfPresent(id, (key, previous) -> {
+            if (expectedVersions != null && !expectedVersions.contains(previous.getVersion())) {
+                return previous;
+            }
+            reindex(List.of(new Change(key, previous, null)));
+            deleted.set(1);
+            return null;
+        });
+        return deleted.get();
+    }
+
+    @Override
+    public void delete(Employee employee) {
+        rows.computeIfPresent(employee.getId(), (id, previous) -> {
+            if (!previous.getVersion().equals(employee.getVersion())) {
+                throw conflict(id);
+            }
+            reindex(List.of(new Change(id, previous, null)));
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(Collection<Employee> employees) {
+        employees.forEach(this::delete);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    private void reindex(List<Change> changes) {
+        indexes.updateAndGet(current -> current.apply(changes));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            UndoLog log = (UndoLog) TransactionSynchronizationManager.getResource(this);
+            if (log == null) {
+                log = new UndoLog();
+                TransactionSynchronizationManager.bindResource(this, log);
+                TransactionSynchronizationManager.registerSynchronization(log);
+            }
+            log.changes.addAll(changes);
+        }
+    }
+
+    // Newest change first. A row another writer has replaced since is left alone: this is the
+    // optimistic store, and that writer has already committed on top of it.
+    private void undo(List<Change> changes) {
+        for (Change change : changes.reversed()) {
+            rows.compute(change.id(), (id, current) -> {
+                if (current != change.next()) {
+                    return current;
+                }
+                indexes.updateAndGet(snapshot -> snapshot.apply(List.of(new Change(id, current, change.previous()))));
+                return change.previous();
+            });
+        }
+    }
+
+    private static OptimisticLockingFailureException conflict(long id) {
+        return new OptimisticLockingFailureException("Employee " + id + " was updated or deleted concurrently");
+    }
+
+    private static boolean matches(EmployeeFilter filter, Employee row) {
+        return (filter.getTitle() == null || filter.getTitle() == row.getTitle())
+                && (filter.getDivision() == null || filter.getDivision().equals(row.getDivision()))
+                && (filter.getPosition() == null || filter.getPosition().equals(row.getPosition()));
+    }
+
+    private static Employee copy(Employee employee) {
+        Employee copy = new Employee(employee.getId(), employee.getName(), employee.getPosition(),
+                employee.getTitle(), employee.getDivision());
+        copy.setVersion(employee.getVersion());
+        return copy;
+    }
+
+    // previous is null for an insert, next is null for a delete
+    record Change(long id, Employee previous, Employee next) {
+    }
+
+    // Writes of the current transaction; bound to the store like a connection, so it follows the
+    // transaction through suspend and resume
+    private class UndoLog implements TransactionSynchronization {
+
+        private final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(InMemoryEmployeeStore.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(InMemoryEmployeeStore.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryEmployeeStore.this);
+            if (status != STATUS_COMMITTED) {
+                undo(changes);
+            }
+        }
+    }
+
+    // Immutable; apply() copies only the bitmaps a change touches and shares the rest
+    record Indexes(RoaringBitmap all, Map<Title, RoaringBitmap> byTitle, Map<String, RoaringBitmap> byDivision) {
+
+        static final RoaringBitmap NONE = new RoaringBitmap();
+        static final Indexes EMPTY = new Indexes(NONE, Map.of(), Map.of());
+
+        Indexes apply(List<Change> changes) {
+            RoaringBitmap nextAll = all.clone();
+            Map<Title, RoaringBitmap> titles = new EnumMap<>(Title.class);
+            Map<String, RoaringBitmap> divisions = new HashMap<>();
+            for (Change change : changes) {
+                int id = Math.toIntExact(change.id());
+                if (change.previous() != null) {
+                    editable(byTitle, titles, change.previous().getTitle()).remove(id);
+                    editable(byDivision, divisions, change.previous().getDivision()).remove(id);
+                }
+                if (change.next() != null) {
+                    editable(byTitle, titles, change.next().getTitle()).add(id);
+                    editable(byDivision, divisions, change.next().getDivision()).add(id);
+                    nextAll.add(id);
+                } else {
+                    nextAll.remove(id);
+                }
+            }
+            if (changes.size() > 1) {
+                nextAll.runOptimize();
+                titles.values().forEach(RoaringBitmap::runOptimize);
+                divisions.values().forEach(RoaringBitmap::runOptimize);
+            }
+            return new Indexes(nextAll, merge(byTitle, titles), merge(byDivision, divisions));
+        }
+
+        private static <K> RoaringBitmap editable(Map<K, RoaringBitmap> index, Map<K, RoaringBitmap> edited, K key) {
+            return edited.computeIfAbsent(key, k -> {
+                RoaringBitmap current = index.get(k);
+                return current == null ? new RoaringBitmap() : current.clone();
+            });
+        }
+
+        private static <K> Map<K, RoaringBitmap> merge(Map<K, RoaringBitmap> index, Map<K, RoaringBitmap> edited) {
+            Map<K, RoaringBitmap> merged = new HashMap<>(index);
+            edited.forEach((key, ids) -> {
+                if (ids.isEmpty()) {
+                    merged.remove(key);
+                } else {
+                    merged.put(key, ids);
+                }
+            });
+            return Collections.unmodifiableMap(merged);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.godelfamily.repository;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Database engine (employees.store=jpa) over EmployeeRepository
+public class JpaEmployeeStore implements EmployeeStore {
+
+    private static final String INSERT_SQL =
+            "insert into employees (id, name, position, title, division, version) values (?, ?, ?, ?, ?, 0)";
+    // H2's data change delta table, its form of UPDATE ... RETURNING: the write and the new version in
+    // one statement, so the caller never reads the row back
+    private static final String UPDATE_SQL = "select version from final table (update employees "
+            + "set name = :name, position = :position, title = :title, division = :division, version = version + 1 "
+            + "where id = :id";
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaEmployeeStore(EmployeeRepository employeeRepository,
+                            EntityManager entityManager,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Optional<Employee> findById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return employeeRepository.existsById(id);
+    }
+
+    @Override
+    public List<Employee> findAllById(Collection<Long> ids) {
+        return employeeRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return employeeRepository.findAll(Sort.by("id"));
+    }
+
+    @Override
+    public List<Employee> findPage(EmployeeFilter filter, long afterId, int limit) {
+        // Seek past the last id on the primary key instead of using OFFSET
+        Specification<Employee> spec = EmployeeSpecifications.matching(filter)
+                .and(EmployeeSpecifications.idGreaterThan(afterId));
+        return employeeRepository.findBy(spec, query -> query.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    @Override
+    public List<Map<String, Object>> findPageFields(EmployeeFilter filter, long afterId, int limit, EmployeeFields fields) {
+        Specification<Employee> spec = EmployeeSpecifications.matching(filter)
+                .and(EmployeeSpecifications.idGreaterThan(afterId));
+        return selectFields(fields, spec, limit);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(long id, EmployeeFields fields) {
+        Specification<Employee> byId = (employee, query, builder) -> builder.equal(employee.get("id"), id);
+        return selectFields(fields, byId, 1).stream().findFirst();
+    }
+
+    // Tuples of just the selected columns: Hibernate neither builds entities nor tracks them
+    private List<Map<String, Object>> selectFields(EmployeeFields fields, Specification<Employee> spec, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        List<Selection<?>> columns = new ArrayList<>();
+        for (String name : fields.getNames()) {
+            columns.add(employee.get(name).alias(name));
+        }
+        query.multiselect(columns)
+                .where(spec.toPredicate(employee, query, builder))
+                .orderBy(builder.asc(employee.get("id")));
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String name : fields.getNames()) {
+                row.put(name, tuple.get(name));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public Stream<Employee> streamAll() {
+        // Detach as rows are consumed, so the persistence context does not grow with the table
+        return employeeRepository.streamAll().map(employee -> {
+            entityManager.detach(employee);
+            return employee;
+        });
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        return employeeRepository.save(employee);
+    }
+
+    @Override
+    public List<Employee> saveAll(List<Employee> employees) {
+        return employeeRepository.saveAll(employees);
+    }
+
+    // One JDBC batch statement in its own transaction, bypassing the persistence context. Ids come
+    // from the entity's own sequence generator, so they never collide with later saves.
+    @Override
+    public void insertAll(List<Employee> employees) {
+        transactionTemplate.executeWithoutResult(status -> {
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+                    .getMappingMetamodel().getEntityDescriptor(Employee.class).getGenerator();
+            for (Employee employee : employees) {
+                employee.setId((Long) generator.generate(session, employee, null, EventType.INSERT));
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, employees, employees.size(), (statement, employee) -> {
+                statement.setLong(1, employee.getId());
+                statement.setString(2, employee.getName());
+                statement.setString(3, employee.getPosition());
+                statement.setString(4, employee.getTitle().name());
+                statement.setString(5, employee.getDivision());
+            });
+            employees.forEach(employee -> employee.setVersion(0L));
+        });
+    }
+
+    // "in ()" is not valid SQL, and an empty set matches no version anyway. Native SQL, so flushed
+    // before and cleared after, as the @Modifying queries are.
+    @Override
+    public Optional<Long> updateFields(long id, Employee fields, Set<Long> expectedVersions) {
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            return Optional.empty();
+        }
+        Query update = entityManager.createNativeQuery(
+                        expectedVersions == null ? UPDATE_SQL + ")" : UPDATE_SQL + " and version in (:versions))", Long.class)
+                .setParameter("name", fields.getName())
+                .setParameter("position", fields.getPosition())
+                .setParameter("title", fields.getTitle().name())
+                .setParameter("division", fields.getDivision())
+                .setParameter("id", id);
+        if (expectedVersions != null) {
+            update.setParameter("versions", expectedVersions);
+        }
+        entityManager.flush();
+        Optional<Long> version = update.getResultList().stream().findFirst().map(Long.class::cast);
+        entityManager.clear();
+        return version;
+    }
+
+    // The SET clause lists only the patched columns, like @DynamicUpdate but without loading the row
+    // first. Flushed before and cleared after, as the @Modifying queries are.
+    @Override
+    public int patchFields(long id, EmployeePatch patch, Set<Long> expectedVersions) {
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            return 0;
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = builder.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+        patch.getChanges().forEach(update::set);
+        update.set(employee.<Long>get("version"), builder.sum(employee.get("version"), 1L));
+        if (expectedVersions == null) {
+            update.where(builder.equal(employee.get("id"), id));
+        } else {
+            update.where(builder.equal(employee.get("id"), id), employee.get("version").in(expectedVersions));
+        }
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    public void deleteById(long id) {
+        employeeRepository.deleteById(id);
+    }
+
+    @Override
+    public int deleteById(long id, Set<Long> expectedVersions) {
+        if (expectedVersions == null) {
+            return employeeRepository.deleteRow(id);
+        }
+        if (expectedVersions.isEmpty()) {
+            return 0;
+        }
+        return employeeRepository.deleteRowIfVersionIn(id, expectedVersions);
+    }
+
+    @Override
+    public void delete(Employee employee) {
+        employeeRepository.delete(employee);
+    }
+
+    @Override
+    public void deleteAll(Collection<Employee> employees) {
+        employeeRepository.deleteAll(employees);
+    }
+
+    @Override
+    public void flush() {
+        employeeRepository.flush();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.godelfamily.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Bounded cache of AI answers keyed by normalized question and dataset version. Any employee
+// change bumps the version, so answers about old data are never served; they just age out.
+// Concurrent misses for the same key share one load.
+@Component
+public class AIAnswerCache implements MeterBinder {
+
+    private final EmployeeDataVersion dataVersion;
+    private final Cache<AIQuestionKey, Entry> cache;
+    private final SingleFlight<AIQuestionKey, String> loads = new SingleFlight<>();
+    private final Ticker ticker;
+    private final long refreshAfterNanos;
+
+    @Autowired
+    public AIAnswerCache(EmployeeDataVersion dataVersion,
+                         @Value("${ai.cache.maximum-size:1000}") long maximumSize,
+                         @Value("${ai.cache.ttl:30m}") Duration ttl,
+                         @Value("${ai.cache.refresh-after:0s}") Duration refreshAfter) {
+        this(dataVersion, maximumSize, ttl, refreshAfter, Ticker.systemTicker());
+    }
+
+    AIAnswerCache(EmployeeDataVersion dataVersion, long maximumSize, Duration ttl, Duration refreshAfter, Ticker ticker) {
+        this.dataVersion = dataVersion;
+        this.ticker = ticker;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    // Returns the cached answer or loads it; failed loads throw and are not cached. With
+    // refresh-after set, an older entry is still served while a fresh answer loads in the background.
+    public String get(String question, Function<String, String> loader) {
+        AIQuestionKey key = AIQuestionKey.of(question, dataVersion.current());
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return loads.execute(key, () -> load(key, question, loader));
+        }
+        if (refreshAfterNanos > 0 && ticker.read() - entry.loadedAt >= refreshAfterNanos
+                && entry.refreshing.compareAndSet(false, true)) {
+            Thread.ofVirtual().start(() -> refresh(key, question, entry, loader));
+        }
+        return entry.answer;
+    }
+
+    // Key for the current dataset version; capture it before a streamed answer starts so the
+    // finished answer is stored against the data it was built from
+    public AIQuestionKey keyFor(String question) {
+        return AIQuestionKey.of(question, dataVersion.current());
+    }
+
+    public String getIfPresent(AIQuestionKey key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.answer;
+    }
+
+    public void put(AIQuestionKey key, String answer) {
+        cache.put(key, new Entry(answer, ticker.read()));
+    }
+
+    public SingleFlight<AIQuestionKey, String> loads() {
+        return loads;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // Standard cache.gets{result=hit|miss} meters for the hit ratio, plus upstream loads and how
+    // many concurrent misses were coalesced into them. Tag keys match the Spring-managed caches,
+    // since Prometheus drops a meter whose tag keys differ from an existing one of the same name.
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "aiAnswers", "cache.manager", "aiAnswerCache", "name", "aiAnswers");
+        FunctionCounter.builder("ai.answers.loads", loads, SingleFlight::getCalls).register(registry);
+        FunctionCounter.builder("ai.answers.coalesced", loads, SingleFlight::getCoalesced).register(registry);
+        Gauge.builder("ai.answers.in.flight", loads, SingleFlight::getInFlight).register(registry);
+    }
+
+    private String load(AIQuestionKey key, String question, Function<String, String> loader) {
+        // A load for this key may have finished between our miss and taking the flight
+        Entry loaded = cache.asMap().get(key);
+        if (loaded != null) {
+            return loaded.answer;
+        }
+        String answer = loader.apply(question);
+        cache.put(key, new Entry(answer, ticker.read()));
+        return answer;
+    }
+
+    private void refresh(AIQuestionKey key, String question, Entry stale, Function<String, String> loader) {
+        try {
+            cache.put(key, new Entry(loader.apply(question), ticker.read()));
+        } catch (RuntimeException e) {
+            // Keep serving the stale answer; the next hit retries the refresh
+            stale.refreshing.set(false);
+        }
+    }
+
+    static final class Entry {
+        private final String answer;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(String answer, long loadedAt) {
+            this.answer = answer;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
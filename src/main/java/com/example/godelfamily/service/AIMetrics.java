@@ -0,0 +1,92 @@
+package com.example.godelfamily.service;
+
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Flowable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Per-call AI metrics, tagged by mode (query, stream or batch): prompt size in characters and
+// estimated tokens, upstream latency by outcome, and the token usage OpenAI reports back
+@Component
+public class AIMetrics {
+
+    private final MeterRegistry registry;
+
+    public AIMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordPrompt(String mode, ChatCompletionRequest request) {
+        long chars = 0;
+        for (ChatMessage message : request.getMessages()) {
+            chars += message.getContent() == null ? 0 : message.getContent().length();
+        }
+        summary("ai.prompt.size", "characters", mode).record(chars);
+        summary("ai.prompt.tokens", "tokens", mode).record((double) chars / EmployeeContextRetriever.CHARS_PER_TOKEN);
+    }
+
+    public void recordUsage(String mode, Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        DistributionSummary.builder("ai.usage.tokens").baseUnit("tokens").tag("mode", mode).tag("type", "prompt")
+            .register(registry).record(usage.getPromptTokens());
+        DistributionSummary.builder("ai.usage.tokens").baseUnit("tokens").tag("mode", mode).tag("type", "completion")
+            .register(registry).record(usage.getCompletionTokens());
+    }
+
+    // Times the upstream call itself, not the wait for a bulkhead permit
+    public <T> T timeUpstream(String mode, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            upstreamTimer(mode, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Times a streamed answer from subscription until it completes, fails or is cancelled
+    public <T> Flowable<T> timeStream(String mode, Flowable<T> source) {
+        return Flowable.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            AtomicBoolean stopped = new AtomicBoolean();
+            return source
+                .doOnComplete(() -> stop(sample, stopped, mode, "success"))
+                .doOnError(e -> stop(sample, stopped, mode, "error"))
+                .doOnCancel(() -> stop(sample, stopped, mode, "cancelled"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, AtomicBoolean stopped, String mode, String outcome) {
+        if (stopped.compareAndSet(false, true)) {
+            sample.stop(upstreamTimer(mode, outcome));
+        }
+    }
+
+    private Timer upstreamTimer(String mode, String outcome) {
+        return Timer.builder("ai.upstream.latency")
+            .tag("mode", mode)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private DistributionSummary summary(String name, String baseUnit, String mode) {
+        return DistributionSummary.builder(name)
+            .baseUnit(baseUnit)
+            .tag("mode", mode)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
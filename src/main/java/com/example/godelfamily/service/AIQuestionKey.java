@@ -0,0 +1,59 @@
+package com.example.godelfamily.service;
+
+import java.util.Locale;
+import java.util.Objects;
+
+// Identifies an AI answer: the question text after normalization plus the dataset version it was asked against
+public final class AIQuestionKey {
+
+    private final String question;
+    private final long dataVersion;
+
+    public AIQuestionKey(String question, long dataVersion) {
+        this.question = question;
+        this.dataVersion = dataVersion;
+    }
+
+    public static AIQuestionKey of(String question, long dataVersion) {
+        return new AIQuestionKey(normalize(question), dataVersion);
+    }
+
+    // Case, surrounding whitespace, repeated spaces and trailing punctuation do not change the answer
+    static String normalize(String question) {
+        String normalized = question.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        int end = normalized.length();
+        while (end > 0 && "?!.".indexOf(normalized.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return normalized.substring(0, end).trim();
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AIQuestionKey that = (AIQuestionKey) o;
+        return dataVersion == that.dataVersion && question.equals(that.question);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(question, dataVersion);
+    }
+
+    @Override
+    public String toString() {
+        return "AIQuestionKey{" +
+                "question='" + question + '\'' +
+                ", dataVersion=" + dataVersion +
+                '}';
+    }
+}
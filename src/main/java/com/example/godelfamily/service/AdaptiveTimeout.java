@@ -0,0 +1,47 @@
+package com.example.godelfamily.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Timeout derived from recent call latencies: the configured percentile times a headroom
+// multiplier, clamped to [min, max]. Uses max until enough samples have been seen.
+public class AdaptiveTimeout {
+
+    private final long[] samples;
+    private final int minimumSamples;
+    private final double percentile;
+    private final double multiplier;
+    private final long minNanos;
+    private final long maxNanos;
+
+    private int next;
+    private int count;
+    private long current;
+
+    public AdaptiveTimeout(int sampleSize, int minimumSamples, double percentile, double multiplier,
+                           Duration min, Duration max) {
+        this.samples = new long[sampleSize];
+        this.minimumSamples = minimumSamples;
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.minNanos = min.toNanos();
+        this.maxNanos = max.toNanos();
+        this.current = maxNanos;
+    }
+
+    public synchronized void record(Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (count >= minimumSamples) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            long observed = sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)];
+            current = Math.min(maxNanos, Math.max(minNanos, (long) (observed * multiplier)));
+        }
+    }
+
+    public synchronized Duration current() {
+        return Duration.ofNanos(current);
+    }
+}
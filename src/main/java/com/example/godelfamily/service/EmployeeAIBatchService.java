@@ -0,0 +1,251 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.exception.AIUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.completion.chat.ChatMessageRole;
+import com.theokanning.openai.service.OpenAiService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+// Answers many questions with as few completions as possible: the employee context is sent once per
+// chunk of questions and the model replies with one JSON object holding every answer
+@Service
+public class EmployeeAIBatchService {
+
+    static final String BATCH_INSTRUCTIONS =
+        "You will receive several numbered questions. Answer each one separately. " +
+        "Reply with only a JSON object of the form {\"answers\":[{\"id\":1,\"answer\":\"...\"}]} " +
+        "containing exactly one entry per question id.";
+
+    private final EmployeeAIService aiService;
+    private final EmployeeContextRetriever contextRetriever;
+    private final OpenAiService openAiService;
+    private final AIAnswerCache answerCache;
+    private final OpenAiGuard openAiGuard;
+    private final AIMetrics aiMetrics;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService aiQueryExecutor;
+    private final int maxSize;
+    private final int tokenBudget;
+    private final int answerTokens;
+
+    public EmployeeAIBatchService(EmployeeAIService aiService,
+                                  EmployeeContextRetriever contextRetriever,
+                                  OpenAiService openAiService,
+                                  AIAnswerCache answerCache,
+                                  OpenAiGuard openAiGuard,
+                                  AIMetrics aiMetrics,
+                                  ObjectMapper objectMapper,
+                                  @Qualifier("aiQueryExecutor") ExecutorService aiQueryExecutor,
+                                  @Value("${ai.batch.max-size:100}") int maxSize,
+                                  @Value("${ai.batch.token-budget:8000}") int tokenBudget,
+                                  @Value("${ai.batch.answer-tokens:150}") int answerTokens) {
+        this.aiService = aiService;
+        this.contextRetriever = contextRetriever;
+        this.openAiService = openAiService;
+        this.answerCache = answerCache;
+        this.openAiGuard = openAiGuard;
+        this.aiMetrics = aiMetrics;
+        this.objectMapper = objectMapper;
+        this.aiQueryExecutor = aiQueryExecutor;
+        this.maxSize = maxSize;
+        this.tokenBudget = tokenBudget;
+        this.answerTokens = answerTokens;
+    }
+
+    // One answer per question, in request order
+    public List<String> queryEmployees(List<String> questions) {
+        validate(questions);
+        if (!aiService.isConfigured()) {
+            return questions.stream().map(question -> EmployeeAIService.NO_API_KEY_MESSAGE).toList();
+        }
+
+        // Cached answers are served as is; repeated questions are asked once
+        List<AIQuestionKey> keys = new ArrayList<>();
+        Map<AIQuestionKey, String> answers = new HashMap<>();
+        Map<AIQuestionKey, String> pending = new LinkedHashMap<>();
+        for (String question : questions) {
+            AIQuestionKey key = answerCache.keyFor(question);
+            keys.add(key);
+            String cached = answerCache.getIfPresent(key);
+            if (cached != null) {
+                answers.put(key, cached);
+            } else {
+                pending.putIfAbsent(key, question);
+            }
+        }
+
+        List<CompletableFuture<Map<AIQuestionKey, String>>> chunks = chunks(pending).stream()
+            .map(chunk -> CompletableFuture.supplyAsync(() -> ask(chunk), aiQueryExecutor))
+            .toList();
+        for (CompletableFuture<Map<AIQuestionKey, String>> chunk : chunks) {
+            answers.putAll(join(chunk));
+        }
+
+        return keys.stream().map(answers::get).toList();
+    }
+
+    // Same as queryEmployees, but runs on the AI executor; validation still fails on the caller's thread
+    public CompletableFuture<List<String>> queryEmployeesAsync(List<String> questions) {
+        validate(questions);
+        return CompletableFuture.supplyAsync(() -> queryEmployees(questions), aiQueryExecutor);
+    }
+
+    // Greedy packing: each chunk gets the context budget plus as many questions (and room for their
+    // answers) as fit in the batch token budget, with at least one question per chunk
+    List<List<Map.Entry<AIQuestionKey, String>>> chunks(Map<AIQuestionKey, String> questions) {
+        List<List<Map.Entry<AIQuestionKey, String>>> chunks = new ArrayList<>();
+        if (questions.isEmpty()) {
+            return chunks;
+        }
+        int questionBudget = tokenBudget - contextRetriever.getTokenBudget();
+        List<Map.Entry<AIQuestionKey, String>> chunk = new ArrayList<>();
+        int used = 0;
+        for (Map.Entry<AIQuestionKey, String> question : questions.entrySet()) {
+            int cost = tokens(question.getValue()) + answerTokens;
+            if (!chunk.isEmpty() && used + cost > questionBudget) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                used = 0;
+            }
+            chunk.add(question);
+            used += cost;
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private Map<AIQuestionKey, String> ask(List<Map.Entry<AIQuestionKey, String>> chunk) {
+        List<String> questions = chunk.stream().map(Map.Entry::getValue).toList();
+        Map<Integer, String> parsed;
+        try {
+            ChatCompletionRequest request = chatRequest(questions);
+            aiMetrics.recordPrompt("batch", request);
+            ChatCompletionResult result = openAiGuard.call(
+                () -> aiMetrics.timeUpstream("batch", () -> openAiService.createChatCompletion(request)));
+            aiMetrics.recordUsage("batch", result.getUsage());
+            String content = result
+                .getChoices()
+                .get(0)
+                .getMessage()
+                .getContent();
+            parsed = parse(content);
+        } catch (AIUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            Map<AIQuestionKey, String> failed = new HashMap<>();
+            chunk.forEach(question -> failed.put(question.getKey(), EmployeeAIService.errorAnswer(e)));
+            return failed;
+        }
+
+        Map<AIQuestionKey, String> answers = new HashMap<>();
+        Map<AIQuestionKey, CompletableFuture<String>> fallbacks = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Map.Entry<AIQuestionKey, String> question = chunk.get(i);
+            String answer = parsed.get(i + 1);
+            if (answer != null) {
+                answerCache.put(question.getKey(), answer);
+                answers.put(question.getKey(), answer);
+            } else {
+                // The model skipped or garbled this one: fall back to single questions, asked in
+                // parallel so a garbled reply costs one more round trip rather than one per question
+                fallbacks.put(question.getKey(), aiService.queryEmployeesAsync(question.getValue()));
+            }
+        }
+        fallbacks.forEach((key, answer) -> answers.put(key, join(answer)));
+        return answers;
+    }
+
+    // Waits for a task on the AI executor and rethrows its own failure, e.g. AIUnavailableException
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private ChatCompletionRequest chatRequest(List<String> questions) {
+        StringBuilder numbered = new StringBuilder();
+        for (int i = 0; i < questions.size(); i++) {
+            numbered.append(i + 1).append(". ").append(questions.get(i)).append('\n');
+        }
+
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(new ChatMessage(ChatMessageRole.SYSTEM.value(),
+            EmployeeAIService.SYSTEM_PROMPT + " " + BATCH_INSTRUCTIONS));
+        messages.add(new ChatMessage(ChatMessageRole.USER.value(),
+            contextRetriever.contextFor(questions) + "\nUser Questions:\n" + numbered));
+
+        return ChatCompletionRequest
+            .builder()
+            .model("gpt-4o-mini")
+            .messages(messages)
+            .temperature(0.3)
+            .maxTokens(answerTokens * questions.size())
+            .build();
+    }
+
+    // Answers by question id; tolerates code fences or chatter around the JSON object and returns
+    // an empty map when there is no usable object at all
+    Map<Integer, String> parse(String content) {
+        Map<Integer, String> answers = new HashMap<>();
+        if (content == null) {
+            return answers;
+        }
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+        if (start < 0 || end < start) {
+            return answers;
+        }
+        try {
+            JsonNode items = objectMapper.readTree(content.substring(start, end + 1)).path("answers");
+            for (JsonNode item : items) {
+                JsonNode answer = item.path("answer");
+                if (item.path("id").canConvertToInt() && answer.isTextual() && !answer.asText().isBlank()) {
+                    answers.put(item.path("id").asInt(), answer.asText());
+                }
+            }
+        } catch (Exception e) {
+            answers.clear();
+        }
+        return answers;
+    }
+
+    private void validate(List<String> questions) {
+        if (questions == null || questions.isEmpty()) {
+            throw new IllegalArgumentException("At least one question is required");
+        }
+        if (questions.size() > maxSize) {
+            throw new IllegalArgumentException("At most " + maxSize + " questions are allowed per batch");
+        }
+        for (String question : questions) {
+            if (question == null || question.isBlank()) {
+                throw new IllegalArgumentException("Questions must not be blank");
+            }
+        }
+    }
+
+    private static int tokens(String text) {
+        return text.length() / EmployeeContextRetriever.CHARS_PER_TOKEN + 1;
+    }
+}
@@ -1,90 +1,165 @@
 package com.example.godelfamily.service;
 
-import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.exception.AIUnavailableException;
+import com.example.godelfamily.model.AIQueryStats;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.completion.chat.ChatMessageRole;
 import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.Flowable;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Service
 public class EmployeeAIService {
 
-    private final EmployeeService employeeService;
+    static final String NO_API_KEY_MESSAGE =
+        "OpenAI API key is not configured. Please set the OPENAI_API_KEY environment variable.";
+    static final String SYSTEM_PROMPT =
+        "You are a concise AI assistant for employee data queries. " +
+        "Answer questions directly and briefly using only the provided employee data. " +
+        "Use short sentences. No explanations unless asked. " +
+        "If data is unavailable, say 'No data available' in one sentence.";
+
+    private final EmployeeContextRetriever contextRetriever;
+    private final OpenAiService openAiService;
+    private final AIAnswerCache answerCache;
+    private final OpenAiGuard openAiGuard;
+    private final AIMetrics aiMetrics;
+    private final ExecutorService aiQueryExecutor;
     private final String openAiApiKey;
 
-    public EmployeeAIService(EmployeeService employeeService,
+    public EmployeeAIService(EmployeeContextRetriever contextRetriever,
+                             OpenAiService openAiService,
+                             AIAnswerCache answerCache,
+                             OpenAiGuard openAiGuard,
+                             AIMetrics aiMetrics,
+                             @Qualifier("aiQueryExecutor") ExecutorService aiQueryExecutor,
                              @Value("${openai.api.key:#{null}}") String openAiApiKey) {
-        this.employeeService = employeeService;
+        this.contextRetriever = contextRetriever;
+        this.openAiService = openAiService;
+        this.answerCache = answerCache;
+        this.openAiGuard = openAiGuard;
+        this.aiMetrics = aiMetrics;
+        this.aiQueryExecutor = aiQueryExecutor;
         this.openAiApiKey = openAiApiKey;
     }
 
     public String queryEmployees(String question) {
-        if (openAiApiKey == null || openAiApiKey.isEmpty()) {
-            return "OpenAI API key is not configured. Please set the OPENAI_API_KEY environment variable.";
+        if (!isConfigured()) {
+            return NO_API_KEY_MESSAGE;
         }
 
         try {
-            // Get all employees to provide context
-            List<Employee> employees = employeeService.getAllEmployees();
-
-            // Build context from employee data
-            StringBuilder employeeContext = new StringBuilder();
-            employeeContext.append("Here is the complete list of employees:\n\n");
-
-            for (Employee emp : employees) {
-                employeeContext.append(String.format(
-                    "- ID: %d, Name: %s, Position: %s, Title: %s, Division: %s\n",
-                    emp.getId(),
-                    emp.getName(),
-                    emp.getPosition(),
-                    emp.getTitle(),
-                    emp.getDivision()
-                ));
-            }
+            return answerCache.get(question, this::askOpenAi);
+        } catch (AIUnavailableException e) {
+            // Fail fast to the caller instead of turning it into an answer
+            throw e;
+        } catch (Exception e) {
+            return errorAnswer(e);
+        }
+    }
 
-            // Create OpenAI service
-            OpenAiService service = new OpenAiService(openAiApiKey, Duration.ofSeconds(60));
+    static String errorAnswer(Exception e) {
+        return "Error processing your question: " + e.getMessage() +
+               ". Please check your OpenAI API key and try again.";
+    }
 
-            // Create messages for chat completion
-            List<ChatMessage> messages = new ArrayList<>();
-            messages.add(new ChatMessage(ChatMessageRole.SYSTEM.value(),
-                "You are a concise AI assistant for employee data queries. " +
-                "Answer questions directly and briefly using only the provided employee data. " +
-                "Use short sentences. No explanations unless asked. " +
-                "If data is unavailable, say 'No data available' in one sentence."));
+    // Same as queryEmployees, but runs on the AI executor so the caller's thread is released at once
+    public CompletableFuture<String> queryEmployeesAsync(String question) {
+        return CompletableFuture.supplyAsync(() -> queryEmployees(question), aiQueryExecutor);
+    }
 
-            messages.add(new ChatMessage(ChatMessageRole.USER.value(),
-                employeeContext.toString() + "\n\nUser Question: " + question));
+    // Answer as a stream of text deltas from the streaming chat API; a cached answer is replayed as
+    // one token and the assembled answer is cached once the stream completes
+    public Flowable<String> streamEmployees(String question) {
+        if (!isConfigured()) {
+            return Flowable.just(NO_API_KEY_MESSAGE);
+        }
 
-            // Create chat completion request
-            ChatCompletionRequest chatCompletionRequest = ChatCompletionRequest
-                .builder()
-                .model("gpt-4o-mini")
-                .messages(messages)
-                .temperature(0.3)
-                .maxTokens(200)
-                .build();
+        return Flowable.defer(() -> {
+            AIQuestionKey key = answerCache.keyFor(question);
+            String cached = answerCache.getIfPresent(key);
+            if (cached != null) {
+                return Flowable.just(cached);
+            }
+            StringBuilder answer = new StringBuilder();
+            ChatCompletionRequest request = chatRequest(question);
+            aiMetrics.recordPrompt("stream", request);
+            return openAiGuard.stream(() -> aiMetrics.timeStream("stream", openAiService.streamChatCompletion(request)))
+                .flatMapIterable(EmployeeAIService::deltas)
+                .doOnNext(answer::append)
+                .doOnComplete(() -> answerCache.put(key, answer.toString()));
+        });
+    }
 
-            // Call OpenAI API and return response
-            String response = service.createChatCompletion(chatCompletionRequest)
-                .getChoices()
-                .get(0)
-                .getMessage()
-                .getContent();
+    public AIQueryStats getStats() {
+        CacheStats cacheStats = answerCache.stats();
+        SingleFlight<AIQuestionKey, String> loads = answerCache.loads();
+        return new AIQueryStats(answerCache.size(), cacheStats.hitCount(), cacheStats.missCount(),
+            loads.getCalls(), loads.getCoalesced(), loads.getInFlight(),
+            openAiGuard.getCircuitState().name(), openAiGuard.getShortCircuited(), openAiGuard.getActive(),
+            openAiGuard.getQueued(), openAiGuard.getRejected(), openAiGuard.getTimeouts(),
+            openAiGuard.getCurrentTimeout().toMillis());
+    }
 
-            service.shutdownExecutor();
+    boolean isConfigured() {
+        return openAiApiKey != null && !openAiApiKey.isEmpty();
+    }
 
-            return response;
+    private String askOpenAi(String question) {
+        // Call OpenAI API through the shared client, behind the breaker, bulkhead and timeout
+        ChatCompletionRequest request = chatRequest(question);
+        aiMetrics.recordPrompt("query", request);
+        ChatCompletionResult result = openAiGuard.call(
+            () -> aiMetrics.timeUpstream("query", () -> openAiService.createChatCompletion(request)));
+        aiMetrics.recordUsage("query", result.getUsage());
+        return result
+            .getChoices()
+            .get(0)
+            .getMessage()
+            .getContent();
+    }
 
-        } catch (Exception e) {
-            return "Error processing your question: " + e.getMessage() +
-                   ". Please check your OpenAI API key and try again.";
+    private static List<String> deltas(ChatCompletionChunk chunk) {
+        List<String> deltas = new ArrayList<>();
+        for (ChatCompletionChoice choice : chunk.getChoices()) {
+            if (choice.getMessage() != null && choice.getMessage().getContent() != null
+                    && !choice.getMessage().getContent().isEmpty()) {
+                deltas.add(choice.getMessage().getContent());
+            }
         }
+        return deltas;
+    }
+
+    ChatCompletionRequest chatRequest(String question) {
+        // Bounded context: the whole table while it fits the token budget, else only relevant employees
+        String employeeContext = contextRetriever.contextFor(question);
+
+        // Create messages for chat completion
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(new ChatMessage(ChatMessageRole.SYSTEM.value(), SYSTEM_PROMPT));
+
+        messages.add(new ChatMessage(ChatMessageRole.USER.value(),
+            employeeContext + "\nUser Question: " + question));
+
+        // Create chat completion request
+        return ChatCompletionRequest
+            .builder()
+            .model("gpt-4o-mini")
+            .messages(messages)
+            .temperature(0.3)
+            .maxTokens(200)
+            .build();
     }
 }
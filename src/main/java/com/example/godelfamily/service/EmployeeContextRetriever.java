@@ -0,0 +1,119 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.model.EmployeeFacets;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Picks the employee context for one AI question within a token budget: the whole table while it
+// fits, otherwise only the employees whose title, division, position or name the question mentions,
+// and aggregate counts when even that subset is too large
+@Component
+public class EmployeeContextRetriever {
+
+    // Rough size of a token for English text and our tabular rows
+    static final int CHARS_PER_TOKEN = 4;
+    private static final int MAX_PHRASE_WORDS = 3;
+
+    private final EmployeeContextSnapshot contextSnapshot;
+    private final EmployeeFacetIndex facetIndex;
+    private final int tokenBudget;
+
+    public EmployeeContextRetriever(EmployeeContextSnapshot contextSnapshot,
+                                    EmployeeFacetIndex facetIndex,
+                                    @Value("${ai.context.token-budget:3000}") int tokenBudget) {
+        this.contextSnapshot = contextSnapshot;
+        this.facetIndex = facetIndex;
+        this.tokenBudget = tokenBudget;
+    }
+
+    public String contextFor(String question) {
+        return contextFor(List.of(question));
+    }
+
+    // Shared context for several questions answered in one completion: the union of the employees
+    // each question mentions, plus the overall summary if some question mentions nobody
+    public String contextFor(List<String> questions) {
+        int budget = tokenBudget * CHARS_PER_TOKEN;
+        if (contextSnapshot.length() <= budget) {
+            return contextSnapshot.render();
+        }
+
+        RoaringBitmap matched = new RoaringBitmap();
+        boolean unmatched = false;
+        for (String question : questions) {
+            RoaringBitmap ids = facetIndex.match(phrases(question));
+            unmatched |= ids.isEmpty();
+            matched.or(ids);
+        }
+        String overall = summary("Employee summary:\n", facetIndex.getFacets());
+        if (matched.isEmpty()) {
+            return overall;
+        }
+
+        String subject = questions.size() == 1 ? "the question" : "the questions";
+        String tail = "Showing the " + matched.getCardinality() + " employees relevant to " + subject + " out of "
+                + contextSnapshot.size() + ".\n" + (unmatched ? overall : "");
+        StringBuilder context = new StringBuilder(EmployeeContextSnapshot.HEADER);
+        for (int id : matched) {
+            String row = contextSnapshot.row(id);
+            if (row == null) {
+                continue;
+            }
+            if (context.length() + row.length() + tail.length() > budget) {
+                return summary("Summary of the " + matched.getCardinality() + " employees relevant to " + subject
+                        + ":\n", facetIndex.getFacets(matched)) + (unmatched ? overall : "");
+            }
+            context.append(row);
+        }
+        return context.append(tail).toString();
+    }
+
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+
+    // Every 1-3 word phrase of the question, plus a singular form so "developers" finds "developer"
+    static Set<String> phrases(String question) {
+        String[] words = EmployeeFacetIndex.term(question).split(" ");
+        Set<String> phrases = new HashSet<>();
+        for (int start = 0; start < words.length; start++) {
+            StringBuilder phrase = new StringBuilder();
+            for (int end = start; end < words.length && end < start + MAX_PHRASE_WORDS; end++) {
+                if (end > start) {
+                    phrase.append(' ');
+                }
+                phrase.append(words[end]);
+                phrases.add(phrase.toString());
+                if (phrase.length() > 3 && phrase.charAt(phrase.length() - 1) == 's') {
+                    phrases.add(phrase.substring(0, phrase.length() - 1));
+                }
+            }
+        }
+        phrases.remove("");
+        return phrases;
+    }
+
+    private static String summary(String heading, EmployeeFacets facets) {
+        StringBuilder summary = new StringBuilder(heading);
+        summary.append("Total: ").append(facets.getTotal()).append('\n');
+        summary.append("By title: ").append(counts(facets.getTitles())).append('\n');
+        summary.append("By division: ").append(counts(facets.getDivisions())).append('\n');
+        facets.getCounts().forEach((division, titles) ->
+                summary.append("Titles in ").append(division).append(": ").append(counts(titles)).append('\n'));
+        return summary.toString();
+    }
+
+    private static String counts(Map<?, Integer> counts) {
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.repository.EmployeeStore;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// Precomputed employee context for AI prompts. Each row is encoded once and patched in place when it
+// changes, so a write costs O(log n) however large the table is; the text is rendered again on the first
+// read after a change. A render racing a write may mix rows from before and after it, each one whole.
+@Component
+public class EmployeeContextSnapshot {
+
+    static final String HEADER = "Employees, one per line as id|name|position|title|division:\n";
+
+    private final EmployeeStore employeeStore;
+    private volatile ConcurrentNavigableMap<Long, String> rows = new ConcurrentSkipListMap<>();
+    private volatile int length;
+    // Bumped by every write; rendered text is reused only while it is unchanged
+    private volatile long version;
+    private volatile Rendered rendered = new Rendered(-1, null);
+
+    public EmployeeContextSnapshot(EmployeeStore employeeStore) {
+        this.employeeStore = employeeStore;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, EmployeesSeededEvent.class})
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        ConcurrentNavigableMap<Long, String> rebuilt = new ConcurrentSkipListMap<>();
+        int rebuiltLength = 0;
+        try (Stream<Employee> employees = employeeStore.streamAll()) {
+            for (Iterator<Employee> it = employees.iterator(); it.hasNext(); ) {
+                Employee employee = it.next();
+                String row = encode(employee);
+                rebuilt.put(employee.getId(), row);
+                rebuiltLength += row.length();
+            }
+        }
+        rows = rebuilt;
+        length = rebuiltLength;
+        version++;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEmployeeChanged(EmployeeChangedEvent event) {
+        int changedLength = length;
+        String previous;
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            previous = rows.remove(event.getId());
+        } else {
+            String row = encode(event.getEmployee());
+            previous = rows.put(event.getId(), row);
+            changedLength += row.length();
+        }
+        if (previous != null) {
+            changedLength -= previous.length();
+        }
+        length = changedLength;
+        version++;
+    }
+
+    // The version is read before the rows, so text that raced a write is cached under the older version
+    // and rendered again on the next read
+    public String render() {
+        long current = version;
+        Rendered cached = rendered;
+        if (cached.version() == current) {
+            return cached.text();
+        }
+        StringBuilder builder = new StringBuilder(HEADER.length() + length);
+        builder.append(HEADER);
+        rows.values().forEach(builder::append);
+        String text = builder.toString();
+        rendered = new Rendered(current, text);
+        return text;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    // Length of render() without building it
+    public int length() {
+        return HEADER.length() + length;
+    }
+
+    // Encoded row for one employee, or null if it is not in the current snapshot
+    public String row(long id) {
+        return rows.get(id);
+    }
+
+    static String encode(Employee employee) {
+        return employee.getId() + "|" + cell(employee.getName()) + "|" + cell(employee.getPosition()) + "|"
+                + employee.getTitle() + "|" + cell(employee.getDivision()) + "\n";
+    }
+
+    // Keep every employee on one line with exactly five cells
+    private static String cell(String value) {
+        return value.replace('|', '/').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private record Rendered(long version, String text) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Monotonic version of the employee dataset; bumped after every committed create, update or delete
+// and after a background seed load. It is the table-level ETag and Last-Modified of the list endpoints.
+@Component
+public class EmployeeDataVersion {
+
+    // The counter restarts at zero with the application, so tags carry the start time to stay unique
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicReference<Snapshot> state =
+            new AtomicReference<>(new Snapshot(epoch, 0, Instant.ofEpochMilli(epoch)));
+
+    public long current() {
+        return state.get().version();
+    }
+
+    // Version and modification time read together; take it before reading the data it describes
+    public Snapshot snapshot() {
+        return state.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        bump();
+    }
+
+    @EventListener
+    public void onEmployeesSeeded(EmployeesSeededEvent event) {
+        bump();
+    }
+
+    private void bump() {
+        state.updateAndGet(current -> new Snapshot(epoch, current.version() + 1, Instant.now()));
+    }
+
+    public record Snapshot(long epoch, long version, Instant modifiedAt) {
+
+        public String tag() {
+            return Long.toString(epoch, 36) + "-" + version;
+        }
+    }
+}
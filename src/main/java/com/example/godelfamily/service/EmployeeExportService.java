@@ -0,0 +1,85 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.repository.EmployeeStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class EmployeeExportService {
+
+    // Rows written between flushes, so the client receives data progressively
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final EmployeeStore employeeStore;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeExportService(EmployeeStore employeeStore,
+                                 ObjectMapper objectMapper) {
+        this.employeeStore = employeeStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (Stream<Employee> employees = employeeStore.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            int written = 0;
+            for (Iterator<Employee> it = employees.iterator(); it.hasNext(); ) {
+                Employee employee = it.next();
+                objectMapper.writeValue(generator, employee);
+                generator.writeRaw('\n');
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<Employee> employees = employeeStore.streamAll()) {
+            writer.write("id,name,position,title,division\n");
+            int written = 0;
+            for (Iterator<Employee> it = employees.iterator(); it.hasNext(); ) {
+                Employee employee = it.next();
+                writer.write(String.valueOf(employee.getId()));
+                writer.write(',');
+                writer.write(csvField(employee.getName()));
+                writer.write(',');
+                writer.write(csvField(employee.getPosition()));
+                writer.write(',');
+                writer.write(employee.getTitle().name());
+                writer.write(',');
+                writer.write(csvField(employee.getDivision()));
+                writer.write('\n');
+                if (++written % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
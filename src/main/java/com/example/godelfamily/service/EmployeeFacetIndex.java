@@ -0,0 +1,217 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFacets;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeStore;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory facet index: one compressed bitmap of employee ids per title and per division,
+// so facet counts are bitmap intersections instead of table scans. Lower-cased term bitmaps
+// for every field back the AI retrieval stage.
+@Component
+public class EmployeeFacetIndex {
+
+    private final EmployeeStore employeeStore;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Title, RoaringBitmap> byTitle = new EnumMap<>(Title.class);
+    private final Map<String, RoaringBitmap> byDivision = new HashMap<>();
+    private final Map<String, RoaringBitmap> titleTerms = new HashMap<>();
+    private final Map<String, RoaringBitmap> divisionTerms = new HashMap<>();
+    private final Map<String, RoaringBitmap> positionTerms = new HashMap<>();
+    private final Map<String, RoaringBitmap> nameTerms = new HashMap<>();
+    // What each id was indexed under, so a change clears it from those bitmaps only
+    private final Map<Integer, Indexed> indexed = new HashMap<>();
+
+    public EmployeeFacetIndex(EmployeeStore employeeStore) {
+        this.employeeStore = employeeStore;
+        for (Title title : Title.values()) {
+            RoaringBitmap ids = new RoaringBitmap();
+            byTitle.put(title, ids);
+            titleTerms.put(term(title.name()), ids);
+        }
+    }
+
+    @EventListener({ApplicationReadyEvent.class, EmployeesSeededEvent.class})
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try (Stream<Employee> employees = employeeStore.streamAll()) {
+            all.clear();
+            byTitle.values().forEach(RoaringBitmap::clear);
+            byDivision.clear();
+            divisionTerms.clear();
+            positionTerms.clear();
+            nameTerms.clear();
+            indexed.clear();
+            for (Iterator<Employee> it = employees.iterator(); it.hasNext(); ) {
+                Employee employee = it.next();
+                add(employee);
+            }
+            all.runOptimize();
+            byTitle.values().forEach(RoaringBitmap::runOptimize);
+            byDivision.values().forEach(RoaringBitmap::runOptimize);
+            positionTerms.values().forEach(RoaringBitmap::runOptimize);
+            nameTerms.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getId());
+            if (event.getType() != EmployeeChangedEvent.Type.DELETED) {
+                add(event.getEmployee());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public EmployeeFacets getFacets() {
+        lock.readLock().lock();
+        try {
+            return facetsOf(all);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Facet counts restricted to the given ids
+    public EmployeeFacets getFacets(RoaringBitmap subset) {
+        lock.readLock().lock();
+        try {
+            return facetsOf(RoaringBitmap.and(all, subset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids matching the given lower-cased terms. Terms within one field are ORed and the fields
+    // that matched anything are ANDed; name matches are added on top. Empty if nothing matched.
+    public RoaringBitmap match(Set<String> terms) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            for (Map<String, RoaringBitmap> field : List.of(titleTerms, divisionTerms, positionTerms)) {
+                RoaringBitmap hits = union(field, terms);
+                if (hits != null) {
+                    result = result == null ? hits : RoaringBitmap.and(result, hits);
+                }
+            }
+            RoaringBitmap names = union(nameTerms, terms);
+            if (names != null) {
+                result = result == null ? names : RoaringBitmap.or(result, names);
+            }
+            return result == null ? new RoaringBitmap() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased, punctuation-free form used for both indexed values and question phrases
+    static String term(String value) {
+        return String.join(" ", value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")).trim();
+    }
+
+    private EmployeeFacets facetsOf(RoaringBitmap ids) {
+        Map<Title, Integer> titles = new EnumMap<>(Title.class);
+        byTitle.forEach((title, titleIds) -> titles.put(title, RoaringBitmap.andCardinality(ids, titleIds)));
+        Map<String, Integer> divisions = new TreeMap<>();
+        Map<String, Map<Title, Integer>> counts = new TreeMap<>();
+        byDivision.forEach((division, divisionIds) -> {
+            RoaringBitmap inDivision = RoaringBitmap.and(ids, divisionIds);
+            if (inDivision.isEmpty()) {
+                return;
+            }
+            divisions.put(division, inDivision.getCardinality());
+            Map<Title, Integer> row = new LinkedHashMap<>();
+            byTitle.forEach((title, titleIds) -> row.put(title, RoaringBitmap.andCardinality(inDivision, titleIds)));
+            counts.put(division, row);
+        });
+        return new EmployeeFacets(ids.getCardinality(), titles, divisions, counts);
+    }
+
+    private static RoaringBitmap union(Map<String, RoaringBitmap> field, Set<String> terms) {
+        RoaringBitmap hits = null;
+        for (String term : terms) {
+            RoaringBitmap ids = field.get(term);
+            if (ids != null) {
+                hits = hits == null ? ids.clone() : RoaringBitmap.or(hits, ids);
+            }
+        }
+        return hits;
+    }
+
+    private void add(Employee employee) {
+        int id = Math.toIntExact(employee.getId());
+        Indexed entry = new Indexed(employee.getTitle(), employee.getDivision(), term(employee.getDivision()),
+                term(employee.getPosition()), nameTerms(employee.getName()));
+        all.add(id);
+        byTitle.get(entry.title()).add(id);
+        byDivision.computeIfAbsent(entry.division(), division -> new RoaringBitmap()).add(id);
+        divisionTerms.computeIfAbsent(entry.divisionTerm(), division -> new RoaringBitmap()).add(id);
+        positionTerms.computeIfAbsent(entry.positionTerm(), position -> new RoaringBitmap()).add(id);
+        for (String name : entry.nameTerms()) {
+            nameTerms.computeIfAbsent(name, token -> new RoaringBitmap()).add(id);
+        }
+        indexed.put(id, entry);
+    }
+
+    private void remove(Long employeeId) {
+        int id = Math.toIntExact(employeeId);
+        Indexed entry = indexed.remove(id);
+        if (entry == null) {
+            return;
+        }
+        all.remove(id);
+        byTitle.get(entry.title()).remove(id);
+        remove(byDivision, entry.division(), id);
+        remove(divisionTerms, entry.divisionTerm(), id);
+        remove(positionTerms, entry.positionTerm(), id);
+        for (String name : entry.nameTerms()) {
+            remove(nameTerms, name, id);
+        }
+    }
+
+    // Drops the bitmap once its last id is gone, so stale values stop showing up as facets
+    private static void remove(Map<String, RoaringBitmap> field, String key, int id) {
+        RoaringBitmap ids = field.get(key);
+        if (ids != null && ids.checkedRemove(id) && ids.isEmpty()) {
+            field.remove(key);
+        }
+    }
+
+    private static List<String> nameTerms(String name) {
+        return Arrays.stream(term(name).split(" ")).filter(token -> !token.isEmpty()).distinct().toList();
+    }
+
+    private record Indexed(Title title, String division, String divisionTerm, String positionTerm,
+                           List<String> nameTerms) {
+    }
+}
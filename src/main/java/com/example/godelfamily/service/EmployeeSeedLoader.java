@@ -0,0 +1,234 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bulk loads employees from a CSV file (header row, columns matched by name) or JSON (an array or one
+// object per line, as exported). Ids in the file are ignored; rows are validated and handed to
+// EmployeeStore.insertAll in batches of batch-size, which the database engine sends as JDBC batches.
+@Service
+public class EmployeeSeedLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSeedLoader.class);
+
+    private final EmployeeStore employeeStore;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final Duration progressInterval;
+
+    public EmployeeSeedLoader(EmployeeStore employeeStore,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              @Value("${employees.seed.batch-size:1000}") int batchSize,
+                              @Value("${employees.seed.progress-interval:5s}") Duration progressInterval) {
+        this.employeeStore = employeeStore;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+    }
+
+    // Returns the number of employees inserted; rows are streamed, so the file is never held in memory
+    public long load(Resource resource) throws IOException {
+        String filename = String.valueOf(resource.getFilename()).toLowerCase(Locale.ROOT);
+        try (Reader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            Iterator<Employee> rows;
+            if (filename.endsWith(".csv")) {
+                rows = new CsvRows(reader);
+            } else if (filename.endsWith(".json") || filename.endsWith(".ndjson") || filename.endsWith(".jsonl")) {
+                rows = objectMapper.readerFor(Employee.class).readValues(reader);
+            } else {
+                throw new IllegalArgumentException("Unsupported seed file, expected .csv, .json or .ndjson: "
+                        + resource.getDescription());
+            }
+            return load(rows, resource.getDescription());
+        }
+    }
+
+    private long load(Iterator<Employee> rows, String source) {
+        long start = System.nanoTime();
+        long lastProgress = start;
+        long loaded = 0;
+        List<Employee> batch = new ArrayList<>(batchSize);
+        while (rows.hasNext()) {
+            batch.add(validate(rows.next(), loaded + batch.size() + 1));
+            if (batch.size() == batchSize) {
+                employeeStore.insertAll(batch);
+                loaded += batch.size();
+                batch.clear();
+                long now = System.nanoTime();
+                if (now - lastProgress >= progressInterval.toNanos()) {
+                    log.info("Seeding employees from {}: {} rows, {} rows/s", source, loaded, rate(loaded, now - start));
+                    lastProgress = now;
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            employeeStore.insertAll(batch);
+            loaded += batch.size();
+        }
+        long elapsed = System.nanoTime() - start;
+        log.info("Seeded {} employees from {} in {} ms ({} rows/s)",
+                loaded, source, Duration.ofNanos(elapsed).toMillis(), rate(loaded, elapsed));
+        return loaded;
+    }
+
+    private Employee validate(Employee employee, long row) {
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException("Invalid seed row " + row + ": " + violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return employee;
+    }
+
+    private static long rate(long rows, long nanos) {
+        return rows * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+    // Next CSV record, or null at the end of input. Quoted fields may contain commas, line breaks
+    // and doubled quotes, as written by EmployeeExportService.
+    static List<String> readRecord(Reader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IllegalArgumentException("Unterminated quoted field in seed CSV");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c < 0) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    // Employees from CSV records; an id column is allowed and ignored, blank lines are skipped
+    static class CsvRows implements Iterator<Employee> {
+
+        private final Reader reader;
+        private final int columns;
+        private final int name;
+        private final int position;
+        private final int title;
+        private final int division;
+        private List<String> next;
+        private long row;
+
+        CsvRows(Reader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord(reader);
+            if (header == null) {
+                throw new IllegalArgumentException("Seed CSV is empty, expected a header row");
+            }
+            List<String> names = header.stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toList();
+            this.columns = names.size();
+            this.name = column(names, "name");
+            this.position = column(names, "position");
+            this.title = column(names, "title");
+            this.division = column(names, "division");
+            advance();
+        }
+
+        private static int column(List<String> names, String column) {
+            int index = names.indexOf(column);
+            if (index < 0) {
+                throw new IllegalArgumentException("Seed CSV header is missing column: " + column);
+            }
+            return index;
+        }
+
+        private void advance() throws IOException {
+            do {
+                next = readRecord(reader);
+            } while (next != null && next.size() == 1 && next.get(0).isBlank());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Employee next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            List<String> record = next;
+            row++;
+            if (record.size() != columns) {
+                throw new IllegalArgumentException("Seed CSV row " + row + " has " + record.size()
+                        + " fields, expected " + columns);
+            }
+            Employee employee = new Employee(null, record.get(name), record.get(position),
+                    parseTitle(record.get(title)), record.get(division));
+            try {
+                advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return employee;
+        }
+
+        private Title parseTitle(String value) {
+            if (value.isBlank()) {
+                return null;
+            }
+            try {
+                return Title.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Seed CSV row " + row + " has an unknown title: " + value);
+            }
+        }
+    }
+}
@@ -1,47 +1,289 @@
 package com.example.godelfamily.service;
 
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import com.example.godelfamily.event.EmployeesSeededEvent;
 import com.example.godelfamily.exception.EmployeeNotFoundException;
+import com.example.godelfamily.exception.EmployeeVersionMismatchException;
+import com.example.godelfamily.model.BatchOperationType;
 import com.example.godelfamily.model.Employee;
-import com.example.godelfamily.repository.EmployeeRepository;
+import com.example.godelfamily.model.EmployeeBatchOperation;
+import com.example.godelfamily.model.EmployeeBatchResult;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFieldsPage;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePage;
+import com.example.godelfamily.model.EmployeePatch;
+import com.example.godelfamily.repository.EmployeeStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
 
-    private final EmployeeRepository employeeRepository;
+    private final EmployeeStore employeeStore;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
-        this.employeeRepository = employeeRepository;
+    public EmployeeService(EmployeeStore employeeStore, Validator validator,
+                           ApplicationEventPublisher eventPublisher) {
+        this.employeeStore = employeeStore;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Cacheable("employeeList")
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        return employeeStore.findAll();
     }
 
+    public EmployeePage getEmployeePage(EmployeeFilter filter, Long cursor, int size) {
+        long after = cursor == null ? 0L : cursor;
+        // Keyset pagination: the cursor is the last id of the previous page. Fetch one extra row to
+        // know whether another page exists without a COUNT query
+        List<Employee> rows = employeeStore.findPage(filter, after, size + 1);
+        if (rows.size() <= size) {
+            return new EmployeePage(rows, rows.size(), null);
+        }
+        List<Employee> content = rows.subList(0, size);
+        return new EmployeePage(content, size, content.get(size - 1).getId());
+    }
+
+    // The same keyset page holding only the requested fields, selected without loading entities
+    public EmployeeFieldsPage getEmployeeFieldsPage(EmployeeFilter filter, Long cursor, int size, EmployeeFields fields) {
+        List<Map<String, Object>> rows = employeeStore.findPageFields(filter, cursor == null ? 0L : cursor, size + 1, fields);
+        if (rows.size() <= size) {
+            return new EmployeeFieldsPage(rows, rows.size(), null);
+        }
+        List<Map<String, Object>> content = rows.subList(0, size);
+        return new EmployeeFieldsPage(content, size, (Long) content.get(size - 1).get("id"));
+    }
+
+    public List<Map<String, Object>> getAllEmployeeFields(EmployeeFields fields) {
+        return employeeStore.findPageFields(new EmployeeFilter(), 0L, Integer.MAX_VALUE, fields);
+    }
+
+    public Map<String, Object> getEmployeeFieldsById(Long id, EmployeeFields fields) {
+        return employeeStore.findFieldsById(id, fields)
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
+    }
+
+    @Cacheable(cacheNames = "employee", key = "#id")
     public Employee getEmployeeById(Long id) {
-        return employeeRepository.findById(id)
+        return employeeStore.findById(id)
                 .orElseThrow(() -> new EmployeeNotFoundException(id));
     }
 
     public Employee createEmployee(Employee employee) {
         employee.setId(null); // Ensure new employee gets a new ID
-        return employeeRepository.save(employee);
+        Employee created = employeeStore.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(created));
+        return created;
     }
 
-    public Employee updateEmployee(Long id, Employee employee) {
-        if (!employeeRepository.existsById(id)) {
-            throw new EmployeeNotFoundException(id);
+    // expectedVersions are the row versions an If-Match precondition accepts; null updates unconditionally.
+    // One statement does the existence check, the version check and the write and returns the new
+    // version, so the response is built from the request rather than read back.
+    @Transactional
+    public Employee updateEmployee(Long id, Employee employee, Set<Long> expectedVersions) {
+        Long version = employeeStore.updateFields(id, employee, expectedVersions)
+                .orElseThrow(() -> rejected(id, expectedVersions));
+        Employee updated = new Employee(id, employee.getName(), employee.getPosition(), employee.getTitle(), employee.getDivision());
+        updated.setVersion(version);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(updated));
+        return updated;
+    }
+
+    // Merge patch: only the fields present are validated, against the same constraints as a full
+    // employee, and only their columns are written. The row is read back for the response, since the
+    // patch alone does not hold the other fields.
+    @Transactional
+    public Employee patchEmployee(Long id, EmployeePatch patch, Set<Long> expectedVersions) {
+        Set<ConstraintViolation<Employee>> violations = new LinkedHashSet<>();
+        patch.getChanges().forEach((field, value) ->
+                violations.addAll(validator.validateValue(Employee.class, field, value)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        if (patch.isEmpty()) {
+            // Nothing to write, but the precondition still applies
+            Employee current = employeeStore.findById(id).orElseThrow(() -> new EmployeeNotFoundException(id));
+            if (expectedVersions != null && !expectedVersions.contains(current.getVersion())) {
+                throw new EmployeeVersionMismatchException(id, current.getVersion());
+            }
+            return current;
         }
-        employee.setId(id);
-        return employeeRepository.save(employee);
+        if (employeeStore.patchFields(id, patch, expectedVersions) == 0) {
+            throw rejected(id, expectedVersions);
+        }
+        Employee patched = employeeStore.findById(id).orElseThrow(() -> new EmployeeNotFoundException(id));
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(patched));
+        return patched;
+    }
+
+    // One DELETE does the existence check, the version check and the delete
+    @Transactional
+    public void deleteEmployee(Long id, Set<Long> expectedVersions) {
+        if (employeeStore.deleteById(id, expectedVersions) == 0) {
+            throw rejected(id, expectedVersions);
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+    }
+
+    // Writes evict their row and the lists once committed, and the next read fills the cache again. An
+    // eviction inside the transaction could be undone by a concurrent read of the old row before commit,
+    // and a rolled-back write has nothing to evict.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "employee", key = "#event.id"),
+            @CacheEvict(cacheNames = "employeeList", allEntries = true)})
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+    }
+
+    // Seeded rows bypass this service, so cached lists go stale when a background seed load finishes
+    @EventListener
+    @CacheEvict(cacheNames = "employeeList", allEntries = true)
+    public void onEmployeesSeeded(EmployeesSeededEvent event) {
     }
 
-    public void deleteEmployee(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new EmployeeNotFoundException(id);
+    // Applies mixed operations in one transaction and reports a result per item. Invalid or unknown
+    // items are skipped; the rest are flushed together so Hibernate sends them as JDBC batches.
+    @Transactional
+    public List<EmployeeBatchResult> processBatch(List<EmployeeBatchOperation> operations) {
+        List<EmployeeBatchResult> results = new ArrayList<>(operations.size());
+        Set<Long> existingIds = new HashSet<>();
+        for (EmployeeBatchOperation operation : operations) {
+            if (operation.getId() != null && operation.getOperation() != BatchOperationType.CREATE) {
+                existingIds.add(operation.getId());
+            }
         }
-        employeeRepository.deleteById(id);
+        // One SELECT ... IN for every row the batch updates or deletes
+        Map<Long, Employee> managed = new HashMap<>();
+        for (Employee employee : employeeStore.findAllById(existingIds)) {
+            managed.put(employee.getId(), employee);
+        }
+
+        List<Employee> toCreate = new ArrayList<>();
+        List<EmployeeBatchResult> createResults = new ArrayList<>();
+        List<Employee> toUpdate = new ArrayList<>();
+        List<Employee> toDelete = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            EmployeeBatchOperation operation = operations.get(i);
+            BatchOperationType type = operation.getOperation();
+            String error = validate(operation);
+            if (error != null) {
+                results.add(new EmployeeBatchResult(i, type, operation.getId(), HttpStatus.BAD_REQUEST.value(), error));
+                continue;
+            }
+            switch (type) {
+                case CREATE -> {
+                    Employee employee = operation.getEmployee();
+                    employee.setId(null);
+                    toCreate.add(employee);
+                    EmployeeBatchResult result = new EmployeeBatchResult(i, type, null, HttpStatus.CREATED.value(), null);
+                    createResults.add(result);
+                    results.add(result);
+                }
+                case UPDATE -> {
+                    Employee existing = managed.get(operation.getId());
+                    if (existing == null) {
+                        results.add(notFound(i, operation));
+                    } else {
+                        copyFields(operation.getEmployee(), existing);
+                        toUpdate.add(existing);
+                        results.add(new EmployeeBatchResult(i, type, existing.getId(), HttpStatus.OK.value(), null));
+                    }
+                }
+                case DELETE -> {
+                    Employee existing = managed.remove(operation.getId());
+                    if (existing == null) {
+                        results.add(notFound(i, operation));
+                    } else {
+                        toDelete.add(existing);
+                        results.add(new EmployeeBatchResult(i, type, existing.getId(), HttpStatus.NO_CONTENT.value(), null));
+                    }
+                }
+            }
+        }
+
+        List<Employee> created = employeeStore.saveAll(toCreate);
+        for (int i = 0; i < created.size(); i++) {
+            createResults.get(i).setId(created.get(i).getId());
+        }
+        // Managed rows would be written by dirty checking alone; stores without it need the save
+        employeeStore.saveAll(toUpdate);
+        employeeStore.deleteAll(toDelete);
+        employeeStore.flush();
+
+        // Listeners run after commit, so they never observe a rolled-back batch
+        created.forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.created(employee)));
+        toUpdate.forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.updated(employee)));
+        toDelete.forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.deleted(employee.getId())));
+        return results;
+    }
+
+    private String validate(EmployeeBatchOperation operation) {
+        if (operation.getOperation() == null) {
+            return "Operation is required";
+        }
+        if (operation.getOperation() != BatchOperationType.CREATE && operation.getId() == null) {
+            return "Id is required";
+        }
+        if (operation.getOperation() == BatchOperationType.DELETE) {
+            return null;
+        }
+        if (operation.getEmployee() == null) {
+            return "Employee is required";
+        }
+        Set<ConstraintViolation<Employee>> violations = validator.validate(operation.getEmployee());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // Nothing was written: without a precondition the row must be missing, otherwise a read (only on
+    // this failure path) tells a missing row from a version mismatch
+    private RuntimeException rejected(Long id, Set<Long> expectedVersions) {
+        if (expectedVersions == null) {
+            return new EmployeeNotFoundException(id);
+        }
+        return employeeStore.findById(id)
+                .<RuntimeException>map(existing -> new EmployeeVersionMismatchException(id, existing.getVersion()))
+                .orElseGet(() -> new EmployeeNotFoundException(id));
+    }
+
+    private static EmployeeBatchResult notFound(int index, EmployeeBatchOperation operation) {
+        return new EmployeeBatchResult(index, operation.getOperation(), operation.getId(),
+                HttpStatus.NOT_FOUND.value(), new EmployeeNotFoundException(operation.getId()).getMessage());
+    }
+
+    private static void copyFields(Employee source, Employee target) {
+        target.setName(source.getName());
+        target.setPosition(source.getPosition());
+        target.setTitle(source.getTitle());
+        target.setDivision(source.getDivision());
     }
 }
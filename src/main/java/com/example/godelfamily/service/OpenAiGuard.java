@@ -0,0 +1,225 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.exception.AIUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.reactivex.Flowable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+// Protects the app from a slow or failing OpenAI: a circuit breaker fails fast while upstream is
+// unhealthy, a bulkhead bounds concurrent and queued calls, and each call gets a timeout derived
+// from recent latencies instead of the fixed client read timeout
+@Component
+public class OpenAiGuard implements MeterBinder {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final AdaptiveTimeout timeout;
+    private final ExecutorService executor;
+    private final Duration queueRetryAfter;
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    @Autowired
+    public OpenAiGuard(@Qualifier("aiQueryExecutor") ExecutorService aiQueryExecutor,
+                       @Value("${ai.upstream.max-concurrent:16}") int maxConcurrent,
+                       @Value("${ai.upstream.max-queue:32}") int maxQueue,
+                       @Value("${ai.upstream.queue-timeout:2s}") Duration queueTimeout,
+                       @Value("${ai.upstream.circuit.window-size:20}") int windowSize,
+                       @Value("${ai.upstream.circuit.minimum-calls:10}") int minimumCalls,
+                       @Value("${ai.upstream.circuit.failure-rate-threshold:50}") int failureRatePercent,
+                       @Value("${ai.upstream.circuit.open-duration:30s}") Duration openDuration,
+                       @Value("${ai.upstream.timeout.percentile:0.99}") double percentile,
+                       @Value("${ai.upstream.timeout.multiplier:2.0}") double multiplier,
+                       @Value("${ai.upstream.timeout.min:2s}") Duration minTimeout,
+                       @Value("${ai.upstream.timeout.max:60s}") Duration maxTimeout) {
+        this(aiQueryExecutor,
+            new CircuitBreaker(windowSize, minimumCalls, failureRatePercent, openDuration, System::nanoTime),
+            new Bulkhead(maxConcurrent, maxQueue, queueTimeout),
+            new AdaptiveTimeout(200, 20, percentile, multiplier, minTimeout, maxTimeout),
+            queueTimeout);
+    }
+
+    OpenAiGuard(ExecutorService executor, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                AdaptiveTimeout timeout, Duration queueRetryAfter) {
+        this.executor = executor;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.timeout = timeout;
+        this.queueRetryAfter = queueRetryAfter;
+    }
+
+    // Runs a blocking upstream call. Throws AIUnavailableException when it is short-circuited,
+    // rejected by the bulkhead or times out; other failures are rethrown as they are.
+    public <T> T call(Supplier<T> call) {
+        acquire();
+        Duration limit = timeout.current();
+        long start = System.nanoTime();
+        Future<T> future = null;
+        try {
+            future = executor.submit(call::get);
+            T result = future.get(limit.toNanos(), TimeUnit.NANOSECONDS);
+            timeout.record(Duration.ofNanos(System.nanoTime() - start));
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            onTimeout(limit);
+            throw new AIUnavailableException(AIUnavailableException.Reason.TIMEOUT, limit);
+        } catch (ExecutionException e) {
+            onFailure();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            circuitBreaker.onIgnored();
+            throw new AIUnavailableException(AIUnavailableException.Reason.TIMEOUT, limit);
+        } catch (RuntimeException e) {
+            // Executor rejected the task
+            circuitBreaker.onIgnored();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    // Guards a streamed upstream call: the permit is held until the stream terminates or is
+    // cancelled, and the adaptive timeout applies to the first item
+    public <T> Flowable<T> stream(Supplier<Flowable<T>> source) {
+        return Flowable.defer(() -> {
+            acquire();
+            Duration limit = timeout.current();
+            AtomicBoolean finished = new AtomicBoolean();
+            Flowable<T> upstream;
+            try {
+                upstream = source.get();
+            } catch (RuntimeException e) {
+                // Failed before reaching upstream, e.g. building the request: nothing to learn about
+                // its health, but the permit and a half-open probe slot must be given back
+                finish(finished, circuitBreaker::onIgnored);
+                throw e;
+            }
+            return upstream
+                .timeout(Flowable.timer(limit.toNanos(), TimeUnit.NANOSECONDS), item -> Flowable.never())
+                .onErrorResumeNext((Throwable e) -> {
+                    if (e instanceof TimeoutException) {
+                        finish(finished, () -> onTimeout(limit));
+                        return Flowable.error(new AIUnavailableException(AIUnavailableException.Reason.TIMEOUT, limit));
+                    }
+                    return Flowable.error(e);
+                })
+                .doOnComplete(() -> finish(finished, circuitBreaker::onSuccess))
+                .doOnError(e -> finish(finished, this::onFailure))
+                .doOnCancel(() -> finish(finished, circuitBreaker::onIgnored));
+        });
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getShortCircuited() {
+        return circuitBreaker.getShortCircuited();
+    }
+
+    public int getActive() {
+        return bulkhead.getActive();
+    }
+
+    public int getQueued() {
+        return bulkhead.getQueued();
+    }
+
+    public long getRejected() {
+        return bulkhead.getRejected();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public Duration getCurrentTimeout() {
+        return timeout.current();
+    }
+
+    // Errors by cause, bulkhead usage, circuit state and the current timeout
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        errorCounter(registry, "circuit_open", OpenAiGuard::getShortCircuited);
+        errorCounter(registry, "bulkhead_full", OpenAiGuard::getRejected);
+        errorCounter(registry, "timeout", OpenAiGuard::getTimeouts);
+        errorCounter(registry, "upstream", OpenAiGuard::getFailures);
+        Gauge.builder("ai.upstream.active", this, OpenAiGuard::getActive).register(registry);
+        Gauge.builder("ai.upstream.queued", this, OpenAiGuard::getQueued).register(registry);
+        Gauge.builder("ai.upstream.circuit.open", this, guard -> guard.getCircuitState() == CircuitBreaker.State.OPEN ? 1 : 0)
+            .register(registry);
+        Gauge.builder("ai.upstream.timeout", this, guard -> guard.getCurrentTimeout().toMillis() / 1000.0)
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    private void errorCounter(MeterRegistry registry, String cause, ToDoubleFunction<OpenAiGuard> count) {
+        FunctionCounter.builder("ai.upstream.errors", this, count).tag("cause", cause).register(registry);
+    }
+
+    private void acquire() {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new AIUnavailableException(AIUnavailableException.Reason.CIRCUIT_OPEN, circuitBreaker.getRetryAfter());
+        }
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            circuitBreaker.onIgnored();
+            throw new AIUnavailableException(AIUnavailableException.Reason.BULKHEAD_FULL, queueRetryAfter);
+        }
+    }
+
+    // Records a stream's outcome and frees its permit exactly once, whichever way it ends
+    private void finish(AtomicBoolean finished, Runnable outcome) {
+        if (finished.compareAndSet(false, true)) {
+            outcome.run();
+            bulkhead.release();
+        }
+    }
+
+    private void onFailure() {
+        failures.increment();
+        circuitBreaker.onFailure();
+    }
+
+    // A timed-out call counts as a failure, and its limit as a latency sample so the timeout can
+    // grow when upstream gets slower for good
+    private void onTimeout(Duration limit) {
+        timeouts.increment();
+        timeout.record(limit);
+        circuitBreaker.onFailure();
+    }
+}
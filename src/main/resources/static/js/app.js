@@ -6,6 +6,8 @@ const AI_URL = 'http://localhost:8080/api/ai/query';
 let employeeModal;
 let isEditMode = false;
 let currentEmployeeId = null;
+// ETag of the employee being edited; sent back as If-Match so a concurrent change is not overwritten
+let currentEmployeeEtag = null;
 
 // Initialize app on page load
 document.addEventListener('DOMContentLoaded', function() {
@@ -13,13 +15,22 @@ document.addEventListener('DOMContentLoaded', function() {
     loadEmployees();
 });
 
-// Load all employees
+// Load all employees, following the keyset cursor page by page
 async function loadEmployees() {
     try {
-        const response = await fetch(API_URL);
-        if (!response.ok) throw new Error('Failed to fetch employees');
+        const employees = [];
+        let cursor = null;
+
+        do {
+            const url = cursor === null ? `${API_URL}?size=500` : `${API_URL}?size=500&cursor=${cursor}`;
+            const response = await fetch(url);
+            if (!response.ok) throw new Error('Failed to fetch employees');
+
+            const page = await response.json();
+            employees.push(...page.content);
+            cursor = page.nextCursor;
+        } while (cursor !== null && cursor !== undefined);
 
-        const employees = await response.json();
         displayEmployees(employees);
     } catch (error) {
         handleError('Error loading employees: ' + error.message);
@@ -89,6 +100,7 @@ async function showEditForm(id) {
         const response = await fetch(`${API_URL}/${id}`);
         if (!response.ok) throw new Error('Failed to fetch employee');
 
+        currentEmployeeEtag = response.headers.get('ETag');
         const employee = await response.json();
 
         document.getElementById('modalTitle').textContent = 'Edit Employee';
@@ -124,11 +136,15 @@ async function saveEmployee() {
         let response;
 
         if (isEditMode) {
+            const headers = {
+                'Content-Type': 'application/json'
+            };
+            if (currentEmployeeEtag) {
+                headers['If-Match'] = currentEmployeeEtag;
+            }
             response = await fetch(`${API_URL}/${currentEmployeeId}`, {
                 method: 'PUT',
-                headers: {
-                    'Content-Type': 'application/json'
-                },
+                headers: headers,
                 body: JSON.stringify(employee)
             });
         } else {
@@ -178,7 +194,7 @@ async function deleteEmployee(id) {
 }
 
 // AI Query function
-async function askAI() {
+function askAI() {
     const input = document.getElementById('aiQueryInput');
     const question = input.value.trim();
 
@@ -196,34 +212,33 @@ async function askAI() {
     buttonSpinner.classList.remove('d-none');
     button.disabled = true;
 
-    try {
-        const response = await fetch(AI_URL, {
-            method: 'POST',
-            headers: {
-                'Content-Type': 'application/json'
-            },
-            body: JSON.stringify({ question: question })
-        });
-
-        if (!response.ok) throw new Error('Failed to get AI response');
+    const responseContainer = document.getElementById('aiResponseContainer');
+    const responseDiv = document.getElementById('aiResponse');
+    responseDiv.textContent = '';
+    responseDiv.style.whiteSpace = 'pre-wrap';
 
-        const data = await response.json();
-
-        // Display response
-        const responseContainer = document.getElementById('aiResponseContainer');
-        const responseDiv = document.getElementById('aiResponse');
-
-        responseDiv.innerHTML = data.answer.replace(/\n/g, '<br>');
-        responseContainer.classList.remove('d-none');
-
-    } catch (error) {
-        handleError('Error getting AI response: ' + error.message);
-    } finally {
-        // Reset button state
+    // Stream the answer token by token so the first words show up as soon as they are generated
+    const resetButton = () => {
         buttonText.classList.remove('d-none');
         buttonSpinner.classList.add('d-none');
         button.disabled = false;
-    }
+    };
+    const source = new EventSource(`${AI_URL}/stream?question=${encodeURIComponent(question)}`);
+
+    source.addEventListener('token', event => {
+        responseDiv.textContent += JSON.parse(event.data).token;
+        responseContainer.classList.remove('d-none');
+    });
+    source.addEventListener('done', () => {
+        source.close();
+        resetButton();
+    });
+    source.addEventListener('error', event => {
+        source.close();
+        resetButton();
+        const message = event.data ? JSON.parse(event.data).error : 'connection lost';
+        handleError('Error getting AI response: ' + message);
+    });
 }
 
 // Show success message
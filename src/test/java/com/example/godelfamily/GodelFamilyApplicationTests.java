@@ -1,11 +1,28 @@
 package com.example.godelfamily;
 
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.service.EmployeeContextSnapshot;
+import com.example.godelfamily.service.EmployeeFacetIndex;
+import com.example.godelfamily.service.EmployeeService;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 @SpringBootTest
 class GodelFamilyApplicationTests {
 
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeFacetIndex employeeFacetIndex;
+
+    @Autowired
+    private EmployeeContextSnapshot employeeContextSnapshot;
+
     @Test
     void contextLoads() {
         // This test ensures that the Spring application context loads successfully
@@ -16,5 +33,32 @@ class GodelFamilyApplicationTests {
         // Test the main method
         GodelFamilyApplication.main(new String[] {});
     }
-}
 
+    @Test
+    void facetIndexFollowsEmployeeChanges() {
+        int total = employeeFacetIndex.getFacets().getTotal();
+        assertEquals(employeeService.getAllEmployees().size(), total);
+
+        Employee created = employeeService.createEmployee(new Employee(null, "Facet", "Developer", Title.JUNIOR, "Facets"));
+        assertEquals(total + 1, employeeFacetIndex.getFacets().getTotal());
+        assertEquals(1, employeeFacetIndex.getFacets().getCounts().get("Facets").get(Title.JUNIOR));
+
+        employeeService.deleteEmployee(created.getId(), null);
+        assertEquals(total, employeeFacetIndex.getFacets().getTotal());
+        assertNull(employeeFacetIndex.getFacets().getDivisions().get("Facets"));
+    }
+
+    @Test
+    void contextSnapshotFollowsEmployeeChanges() {
+        int size = employeeContextSnapshot.size();
+        assertEquals(employeeService.getAllEmployees().size(), size);
+
+        Employee created = employeeService.createEmployee(new Employee(null, "Snapshot", "Developer", Title.JUNIOR, "AI"));
+        assertEquals(size + 1, employeeContextSnapshot.size());
+        assertTrue(employeeContextSnapshot.render().contains(created.getId() + "|Snapshot|Developer|JUNIOR|AI\n"));
+
+        employeeService.deleteEmployee(created.getId(), null);
+        assertEquals(size, employeeContextSnapshot.size());
+        assertFalse(employeeContextSnapshot.render().contains("|Snapshot|"));
+    }
+}
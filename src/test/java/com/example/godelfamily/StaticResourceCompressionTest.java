@@ -0,0 +1,77 @@
+package com.example.godelfamily;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Static assets are gzipped at build time by maven-antrun-plugin and served by the resource chain
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:negotiation",
+    "spring.jpa.show-sql=false"
+})
+class StaticResourceCompressionTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    // Fails when an asset is added without a matching <gzip> entry in pom.xml
+    @Test
+    void everyAssetHasGzipCopy() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Resource[] assets = resolver.getResources("classpath:static/**/*.*");
+        assertTrue(assets.length > 0);
+        for (Resource asset : assets) {
+            if (!asset.getFilename().endsWith(".gz")) {
+                Resource gzip = asset.createRelative(asset.getFilename() + ".gz");
+                assertTrue(gzip.exists(), "missing " + gzip);
+                try (GZIPInputStream in = new GZIPInputStream(gzip.getInputStream())) {
+                    assertArrayEquals(asset.getContentAsByteArray(), in.readAllBytes(), asset.getFilename());
+                }
+            }
+        }
+    }
+
+    @Test
+    void precompressedAssetIsServedWhenAccepted() throws IOException {
+        byte[] plain = get("/js/app.js", "identity").body();
+        HttpResponse<byte[]> gzipped = get("/js/app.js", "gzip, deflate");
+
+        assertEquals(200, gzipped.statusCode());
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElseThrow());
+        assertTrue(gzipped.headers().allValues("Vary").stream()
+            .flatMap(vary -> Arrays.stream(vary.split(",")))
+            .anyMatch(name -> name.trim().equalsIgnoreCase("Accept-Encoding")));
+        assertTrue(gzipped.body().length < plain.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", acceptEncoding).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
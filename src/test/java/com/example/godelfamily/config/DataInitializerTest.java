@@ -0,0 +1,129 @@
+package com.example.godelfamily.config;
+
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.repository.EmployeeStore;
+import com.example.godelfamily.service.EmployeeSeedLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataInitializerTest {
+
+    private static final String LOCATION = "classpath:seed/employees.csv";
+
+    @Mock
+    private EmployeeSeedLoader seedLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void testRun_LoadsBeforeReady() throws Exception {
+        when(seedLoader.load(any(Resource.class))).thenReturn(10L);
+        DataInitializer initializer = initializer(true, false);
+
+        initializer.run(null);
+        initializer.onApplicationReady();
+
+        ArgumentCaptor<Resource> resource = ArgumentCaptor.forClass(Resource.class);
+        verify(seedLoader).load(resource.capture());
+        assertEquals("employees.csv", resource.getValue().getFilename());
+        assertEquals(10L, initializer.getSeeding().get());
+        // Ready listeners rebuild the in-memory views themselves
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testAsync_LoadsAfterReadyAndPublishes() throws Exception {
+        when(seedLoader.load(any(Resource.class))).thenReturn(10L);
+        DataInitializer initializer = initializer(true, true);
+
+        initializer.run(null);
+        verifyNoInteractions(seedLoader);
+        initializer.onApplicationReady();
+
+        assertEquals(10L, initializer.getSeeding().get(5, TimeUnit.SECONDS));
+        ArgumentCaptor<EmployeesSeededEvent> event = ArgumentCaptor.forClass(EmployeesSeededEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(10L, event.getValue().getCount());
+    }
+
+    @Test
+    void testAsync_FailureCompletesSeedingExceptionally() throws Exception {
+        when(seedLoader.load(any(Resource.class))).thenThrow(new IOException("missing"));
+        DataInitializer initializer = initializer(true, true);
+
+        initializer.onApplicationReady();
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> initializer.getSeeding().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UncheckedIOException.class, e.getCause());
+        verify(eventPublisher).publishEvent(any(EmployeesSeededEvent.class));
+    }
+
+    @Test
+    void testAsync_FailurePartwayStillPublishes(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("employees.csv");
+        Files.writeString(file, "name,position,title,division\n"
+                + "Emil,Developer,LEAD,Java\n"
+                + "Olga,QA,SENIOR,QA\n"
+                + "Ivan,Developer,ARCHITECT,Java\n");
+        EmployeeStore employeeStore = mock(EmployeeStore.class);
+        EmployeeSeedLoader partialLoader = new EmployeeSeedLoader(employeeStore, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2, Duration.ofSeconds(5));
+        DataInitializer initializer = new DataInitializer(partialLoader, new DefaultResourceLoader(), eventPublisher,
+                true, "file:" + file, true);
+
+        initializer.onApplicationReady();
+
+        assertThrows(ExecutionException.class, () -> initializer.getSeeding().get(5, TimeUnit.SECONDS));
+        // The first batch was inserted before the unknown title, so the views must rebuild
+        verify(employeeStore).insertAll(anyList());
+        verify(eventPublisher).publishEvent(any(EmployeesSeededEvent.class));
+    }
+
+    @Test
+    void testRun_PropagatesLoadFailure() throws Exception {
+        when(seedLoader.load(any(Resource.class))).thenThrow(new IOException("missing"));
+
+        assertThrows(IOException.class, () -> initializer(true, false).run(null));
+    }
+
+    @Test
+    void testDisabled_LoadsNothing() throws Exception {
+        DataInitializer initializer = initializer(false, false);
+
+        initializer.run(null);
+        initializer.onApplicationReady();
+        initializer(false, true).onApplicationReady();
+
+        assertEquals(0L, initializer.getSeeding().get());
+        verifyNoInteractions(seedLoader, eventPublisher);
+    }
+
+    private DataInitializer initializer(boolean enabled, boolean async) {
+        return new DataInitializer(seedLoader, new DefaultResourceLoader(), eventPublisher, enabled, LOCATION, async);
+    }
+}
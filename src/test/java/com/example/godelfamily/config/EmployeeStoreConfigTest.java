@@ -0,0 +1,72 @@
+package com.example.godelfamily.config;
+
+import com.example.godelfamily.exception.EmployeeVersionMismatchException;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeRepository;
+import com.example.godelfamily.repository.EmployeeStore;
+import com.example.godelfamily.repository.InMemoryEmployeeStore;
+import com.example.godelfamily.service.EmployeeContextSnapshot;
+import com.example.godelfamily.service.EmployeeFacetIndex;
+import com.example.godelfamily.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The whole application on the in-memory engine: seeded, indexed and served without touching H2
+@SpringBootTest(properties = {
+        "employees.store=memory",
+        "spring.datasource.url=jdbc:h2:mem:memorystore",
+        "spring.jpa.show-sql=false"
+})
+class EmployeeStoreConfigTest {
+
+    @Autowired
+    private EmployeeStore employeeStore;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeFacetIndex employeeFacetIndex;
+
+    @Autowired
+    private EmployeeContextSnapshot employeeContextSnapshot;
+
+    @Test
+    void testMemoryEngineServesSeededEmployees() {
+        assertInstanceOf(InMemoryEmployeeStore.class, employeeStore);
+        assertEquals(10, employeeService.getAllEmployees().size());
+        assertEquals("Emil", employeeService.getEmployeeById(1L).getName());
+        assertEquals(10, employeeFacetIndex.getFacets().getTotal());
+        assertEquals(10, employeeContextSnapshot.size());
+        assertEquals(0, employeeRepository.count());
+
+        Employee created = employeeService.createEmployee(new Employee(null, "Memory", "Developer", Title.JUNIOR, "Store"));
+        assertEquals(11L, created.getId());
+        assertEquals(1, employeeService.getEmployeePage(new EmployeeFilter(null, "Store", null), null, 10).getSize());
+        Employee updated = employeeService.updateEmployee(created.getId(),
+                new Employee(null, "Memory", "Developer", Title.MIDDLE, "Store"), Set.of(0L));
+        assertEquals(1L, updated.getVersion());
+        assertThrows(EmployeeVersionMismatchException.class, () ->
+                employeeService.deleteEmployee(created.getId(), Set.of(0L)));
+        employeeService.deleteEmployee(created.getId(), null);
+        assertFalse(employeeStore.existsById(created.getId()));
+    }
+
+    @Test
+    void testUnknownEngineIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new EmployeeStoreConfig().employeeStore("mongo", null, null, null, null));
+
+        assertEquals("Unknown employees.store 'mongo', expected jpa or memory", e.getMessage());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.godelfamily.config;
+
+import com.example.godelfamily.support.OpenAiStubServer;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.completion.chat.ChatMessageRole;
+import com.theokanning.openai.service.OpenAiService;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAiConfigTest {
+
+    private final OpenAiConfig config = new OpenAiConfig();
+
+    private OpenAiStubServer stub;
+    private ConnectionPool pool;
+    private OkHttpClient client;
+    private OpenAiService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new OpenAiStubServer().start();
+        pool = config.openAiConnectionPool(4, Duration.ofMinutes(1));
+        client = config.openAiHttpClient(pool, "test-key", Duration.ofSeconds(2), Duration.ofMillis(500), 16);
+        service = config.openAiService(client, stub.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdownExecutor();
+        pool.evictAll();
+        stub.stop();
+    }
+
+    @Test
+    void testClient_UsesConfiguredTimeoutsAndPool() {
+        assertEquals(2000, client.connectTimeoutMillis());
+        assertEquals(500, client.readTimeoutMillis());
+        assertSame(pool, client.connectionPool());
+        assertEquals(16, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(16, client.dispatcher().getMaxRequests());
+    }
+
+    @Test
+    void testService_CallsStubWithApiKey() {
+        stub.setAnswer("There are 5 developers.");
+
+        String answer = ask("How many developers?");
+
+        assertEquals("There are 5 developers.", answer);
+        assertEquals("Bearer test-key", stub.getLastAuthorization());
+        assertTrue(stub.getLastRequestBody().contains("How many developers?"));
+    }
+
+    @Test
+    void testService_ReusesPooledConnection() {
+        ask("first");
+        ask("second");
+        ask("third");
+
+        assertEquals(3, stub.getRequestCount());
+        assertEquals(1, stub.getConnectionCount());
+        assertEquals(1, pool.connectionCount());
+    }
+
+    @Test
+    void testService_ReadTimeoutApplies() {
+        stub.setLatency(Duration.ofSeconds(2));
+
+        assertThrows(RuntimeException.class, () -> ask("slow"));
+    }
+
+    @Test
+    void testService_UpstreamErrorIsPropagated() {
+        stub.setStatus(500);
+
+        assertThrows(RuntimeException.class, () -> ask("broken"));
+    }
+
+    @Test
+    void testService_InjectedErrorsFail() {
+        stub.setErrorRate(1.0);
+
+        assertThrows(RuntimeException.class, () -> ask("unlucky"));
+
+        stub.setErrorRate(0.0);
+        assertEquals("Stub answer", ask("lucky"));
+    }
+
+    @Test
+    void testConnectionPool_EvictAllClosesIdleConnections() {
+        ask("warm up");
+        assertEquals(1, pool.idleConnectionCount());
+
+        pool.evictAll();
+
+        assertEquals(0, pool.connectionCount());
+    }
+
+    @Test
+    void testService_StreamsChunkedAnswer() {
+        stub.setAnswer("There are 5 developers.");
+        stub.setTokenInterval(Duration.ofMillis(20));
+
+        List<String> deltas = service.streamChatCompletion(request("How many developers?"))
+            .filter(chunk -> chunk.getChoices().get(0).getMessage().getContent() != null)
+            .map(chunk -> chunk.getChoices().get(0).getMessage().getContent())
+            .toList()
+            .blockingGet();
+
+        assertEquals(List.of("There", " are", " 5", " developers."), deltas);
+        assertTrue(stub.getLastRequestBody().contains("\"stream\":true"));
+    }
+
+    @Test
+    void testAiQueryExecutor_UsesVirtualThreads() throws Exception {
+        ExecutorService executor = config.aiQueryExecutor();
+        try {
+            assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.close();
+        }
+        assertTrue(executor.isTerminated());
+    }
+
+    private String ask(String question) {
+        return service.createChatCompletion(request(question)).getChoices().get(0).getMessage().getContent();
+    }
+
+    private static ChatCompletionRequest request(String question) {
+        return ChatCompletionRequest.builder()
+            .model("gpt-4o-mini")
+            .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), question)))
+            .build();
+    }
+}
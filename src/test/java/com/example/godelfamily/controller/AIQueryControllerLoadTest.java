@@ -0,0 +1,116 @@
+package com.example.godelfamily.controller;
+
+import com.example.godelfamily.support.OpenAiStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A burst of slow AI questions must not starve CRUD requests. Tomcat runs on a deliberately small
+// platform-thread pool here, so a blocking AI endpoint would queue every CRUD call behind it.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "openai.api.key=test-key",
+    "ai.upstream.max-concurrent=64",
+    "spring.threads.virtual.enabled=false",
+    "server.tomcat.threads.max=4",
+    "spring.jpa.show-sql=false"
+})
+class AIQueryControllerLoadTest {
+
+    private static final int AI_REQUESTS = 32;
+    private static final Duration AI_LATENCY = Duration.ofSeconds(3);
+    private static final OpenAiStubServer stub = startStub();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void openAi(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop();
+    }
+
+    @Test
+    void crudLatencyStaysFlatWhileAiCallsAreInFlight() throws Exception {
+        long baseline = maxCrudLatencyMillis();
+
+        List<CompletableFuture<HttpResponse<String>>> aiResponses = new ArrayList<>();
+        for (int i = 0; i < AI_REQUESTS; i++) {
+            aiResponses.add(client.sendAsync(post("/api/ai/query", "{\"question\":\"Load question " + i + "\"}"),
+                HttpResponse.BodyHandlers.ofString()));
+        }
+        awaitStubRequests();
+
+        long underLoad = maxCrudLatencyMillis();
+
+        assertTrue(aiResponses.stream().noneMatch(CompletableFuture::isDone), "AI calls should still be in flight");
+        assertTrue(underLoad < 1000, "CRUD max latency under AI load was " + underLoad + " ms (baseline " + baseline + " ms)");
+        for (CompletableFuture<HttpResponse<String>> response : aiResponses) {
+            HttpResponse<String> completed = response.get();
+            assertEquals(200, completed.statusCode());
+            assertTrue(completed.body().contains("Stub answer"));
+        }
+    }
+
+    private long maxCrudLatencyMillis() throws Exception {
+        long max = 0;
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(get(i % 2 == 0 ? "/api/employees" : "/api/employees/1"),
+                HttpResponse.BodyHandlers.ofString());
+            max = Math.max(max, (System.nanoTime() - start) / 1_000_000);
+            assertEquals(200, response.statusCode());
+        }
+        return max;
+    }
+
+    private void awaitStubRequests() throws InterruptedException {
+        long deadline = System.nanoTime() + AI_LATENCY.toNanos();
+        while (stub.getRequestCount() < AI_REQUESTS && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(AI_REQUESTS, stub.getRequestCount());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private static OpenAiStubServer startStub() {
+        try {
+            OpenAiStubServer server = new OpenAiStubServer().start();
+            server.setLatency(AI_LATENCY);
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.example.godelfamily.controller;
 
+import com.example.godelfamily.exception.AIUnavailableException;
 import com.example.godelfamily.model.AIQueryRequest;
+import com.example.godelfamily.model.AIQueryStats;
+import com.example.godelfamily.service.EmployeeAIBatchService;
 import com.example.godelfamily.service.EmployeeAIService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.Flowable;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,38 +40,38 @@ class AIQueryControllerTest {
     @MockBean
     private EmployeeAIService aiService;
 
+    @MockBean
+    private EmployeeAIBatchService batchService;
+
     @Test
     void testQueryEmployees_Success() throws Exception {
         AIQueryRequest request = new AIQueryRequest("How many developers?");
         String aiAnswer = "There are 5 developers.";
 
-        when(aiService.queryEmployees("How many developers?")).thenReturn(aiAnswer);
+        when(aiService.queryEmployeesAsync("How many developers?")).thenReturn(CompletableFuture.completedFuture(aiAnswer));
 
-        mockMvc.perform(post("/api/ai/query")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(ask(request)))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON))
             .andExpect(jsonPath("$.question").value("How many developers?"))
             .andExpect(jsonPath("$.answer").value("There are 5 developers."));
 
-        verify(aiService, times(1)).queryEmployees("How many developers?");
+        verify(aiService, times(1)).queryEmployeesAsync("How many developers?");
     }
 
     @Test
     void testQueryEmployees_WithException() throws Exception {
         AIQueryRequest request = new AIQueryRequest("Test question");
 
-        when(aiService.queryEmployees(anyString())).thenThrow(new RuntimeException("AI service error"));
+        when(aiService.queryEmployeesAsync(anyString()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("AI service error")));
 
-        mockMvc.perform(post("/api/ai/query")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(ask(request)))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.question").value("Test question"))
             .andExpect(jsonPath("$.answer").value("Sorry, I encountered an error processing your question. Please try again."));
 
-        verify(aiService, times(1)).queryEmployees("Test question");
+        verify(aiService, times(1)).queryEmployeesAsync("Test question");
     }
 
     @Test
@@ -66,16 +79,181 @@ class AIQueryControllerTest {
         AIQueryRequest request = new AIQueryRequest("Who are the seniors?");
         String aiAnswer = "Pavel and Dmitry are seniors.";
 
-        when(aiService.queryEmployees("Who are the seniors?")).thenReturn(aiAnswer);
+        when(aiService.queryEmployeesAsync("Who are the seniors?")).thenReturn(CompletableFuture.completedFuture(aiAnswer));
 
-        mockMvc.perform(post("/api/ai/query")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(ask(request)))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.question").value("Who are the seniors?"))
             .andExpect(jsonPath("$.answer").value("Pavel and Dmitry are seniors."));
 
-        verify(aiService, times(1)).queryEmployees("Who are the seniors?");
+        verify(aiService, times(1)).queryEmployeesAsync("Who are the seniors?");
     }
-}
 
+    @Test
+    void testQueryEmployees_ServiceThrowsBeforeGoingAsync() throws Exception {
+        AIQueryRequest request = new AIQueryRequest("Test question");
+
+        when(aiService.queryEmployeesAsync(anyString())).thenThrow(new RuntimeException("Executor rejected"));
+
+        mockMvc.perform(asyncDispatch(ask(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.answer").value("Sorry, I encountered an error processing your question. Please try again."));
+    }
+
+    @Test
+    void testStreamQuery_GetRelaysTokensAsEvents() throws Exception {
+        when(aiService.streamEmployees("How many developers?")).thenReturn(Flowable.just("There are", " 5 developers."));
+
+        MvcResult result = mockMvc.perform(get("/api/ai/query/stream").param("question", "How many developers?"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(content().string(
+                "event:token\ndata:{\"token\":\"There are\"}\n\n"
+                + "event:token\ndata:{\"token\":\" 5 developers.\"}\n\n"
+                + "event:done\ndata:{\"question\":\"How many developers?\"}\n\n"));
+    }
+
+    @Test
+    void testStreamQuery_PostRelaysTokensAsEvents() throws Exception {
+        when(aiService.streamEmployees("Who are the seniors?")).thenReturn(Flowable.just("Pavel"));
+
+        MvcResult result = mockMvc.perform(post("/api/ai/query/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AIQueryRequest("Who are the seniors?"))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(content().string(containsString("event:token\ndata:{\"token\":\"Pavel\"}\n\n")))
+            .andExpect(content().string(containsString("event:done\n")));
+    }
+
+    @Test
+    void testStreamQuery_ErrorEndsStreamWithErrorEvent() throws Exception {
+        when(aiService.streamEmployees(anyString()))
+            .thenReturn(Flowable.concat(Flowable.just("There"), Flowable.error(new RuntimeException("Stream reset"))));
+
+        MvcResult result = mockMvc.perform(get("/api/ai/query/stream").param("question", "Test question"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(content().string(
+                "event:token\ndata:{\"token\":\"There\"}\n\n"
+                + "event:error\ndata:{\"error\":\"Sorry, I encountered an error processing your question. Please try again.\"}\n\n"));
+    }
+
+    @Test
+    void testStreamQuery_ServiceThrowsBeforeStreaming() throws Exception {
+        when(aiService.streamEmployees(anyString())).thenThrow(new RuntimeException("boom"));
+
+        MvcResult result = mockMvc.perform(get("/api/ai/query/stream").param("question", "Test question"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(content().string(containsString("event:error\n")));
+    }
+
+    @Test
+    void testQueryEmployees_UnavailableIsFast503() throws Exception {
+        when(aiService.queryEmployeesAsync(anyString())).thenReturn(CompletableFuture.failedFuture(
+            new AIUnavailableException(AIUnavailableException.Reason.CIRCUIT_OPEN, Duration.ofSeconds(12))));
+
+        mockMvc.perform(asyncDispatch(ask(new AIQueryRequest("How many developers?"))))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "12"))
+            .andExpect(jsonPath("$.reason").value("CIRCUIT_OPEN"))
+            .andExpect(jsonPath("$.error").value("AI service is temporarily unavailable. Please try again later."));
+    }
+
+    @Test
+    void testStreamQuery_UnavailableEndsWithItsMessage() throws Exception {
+        when(aiService.streamEmployees(anyString())).thenReturn(Flowable.error(
+            new AIUnavailableException(AIUnavailableException.Reason.BULKHEAD_FULL, Duration.ofSeconds(2))));
+
+        MvcResult result = mockMvc.perform(get("/api/ai/query/stream").param("question", "Test question"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(content().string(
+                "event:error\ndata:{\"error\":\"Too many AI questions are in progress. Please try again shortly.\"}\n\n"));
+    }
+
+    @Test
+    void testQueryEmployeesBatch_ReturnsAnswersInRequestOrder() throws Exception {
+        List<AIQueryRequest> requests = List.of(new AIQueryRequest("How many developers?"),
+            new AIQueryRequest("Who are the seniors?"));
+        when(batchService.queryEmployeesAsync(List.of("How many developers?", "Who are the seniors?")))
+            .thenReturn(CompletableFuture.completedFuture(List.of("There are 5 developers.", "Pavel is senior.")));
+
+        MvcResult result = mockMvc.perform(post("/api/ai/query/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].question").value("How many developers?"))
+            .andExpect(jsonPath("$[0].answer").value("There are 5 developers."))
+            .andExpect(jsonPath("$[1].question").value("Who are the seniors?"))
+            .andExpect(jsonPath("$[1].answer").value("Pavel is senior."));
+    }
+
+    @Test
+    void testQueryEmployeesBatch_InvalidBatchIsBadRequest() throws Exception {
+        when(batchService.queryEmployeesAsync(anyList()))
+            .thenThrow(new IllegalArgumentException("At most 100 questions are allowed per batch"));
+
+        mockMvc.perform(post("/api/ai/query/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(new AIQueryRequest("q")))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("At most 100 questions are allowed per batch"));
+    }
+
+    @Test
+    void testQueryEmployeesBatch_UnavailableIsServiceUnavailable() throws Exception {
+        when(batchService.queryEmployeesAsync(anyList())).thenReturn(CompletableFuture.failedFuture(
+            new AIUnavailableException(AIUnavailableException.Reason.CIRCUIT_OPEN, Duration.ofSeconds(10))));
+
+        MvcResult result = mockMvc.perform(post("/api/ai/query/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(new AIQueryRequest("q")))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "10"));
+    }
+
+    @Test
+    void testGetStats() throws Exception {
+        when(aiService.getStats()).thenReturn(new AIQueryStats(3, 10, 4, 2, 2, 1, "CLOSED", 0, 1, 0, 0, 0, 60000));
+
+        mockMvc.perform(get("/api/ai/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cacheSize").value(3))
+            .andExpect(jsonPath("$.upstreamCalls").value(2))
+            .andExpect(jsonPath("$.coalescedCalls").value(2))
+            .andExpect(jsonPath("$.inFlight").value(1))
+            .andExpect(jsonPath("$.circuitState").value("CLOSED"))
+            .andExpect(jsonPath("$.currentTimeoutMillis").value(60000));
+    }
+
+    private MvcResult ask(AIQueryRequest request) throws Exception {
+        return mockMvc.perform(post("/api/ai/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.godelfamily.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Conditional requests through Tomcat and the database engine: versions assigned and bumped by JPA,
+// 304 for unchanged lists and rows, and 412 for a stale If-Match on PUT, PATCH and DELETE
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:conditional",
+    "spring.jpa.show-sql=false"
+})
+class EmployeeConditionalRequestTest {
+
+    private static final String EMPLOYEE = "{\"name\":\"Etag\",\"position\":\"Developer\",\"title\":\"JUNIOR\",\"division\":\"%s\"}";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void listIsRevalidatedUntilDataChanges() {
+        HttpResponse<String> first = send(HttpRequest.newBuilder(uri("/api/employees")).GET());
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertEquals(200, first.statusCode());
+        assertTrue(etag.startsWith("W/"), "weak ETag, valid for every format and content coding");
+        assertTrue(first.headers().firstValue("Last-Modified").isPresent());
+        assertEquals("no-cache", first.headers().firstValue("Cache-Control").orElseThrow());
+
+        HttpResponse<String> unchanged = send(HttpRequest.newBuilder(uri("/api/employees")).header("If-None-Match", etag).GET());
+        assertEquals(304, unchanged.statusCode());
+        assertEquals("", unchanged.body());
+
+        String id = idOf(send(HttpRequest.newBuilder(uri("/api/employees"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(EMPLOYEE.formatted("Lists")))));
+
+        HttpResponse<String> changed = send(HttpRequest.newBuilder(uri("/api/employees")).header("If-None-Match", etag).GET());
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+
+        assertEquals(204, send(HttpRequest.newBuilder(uri("/api/employees/" + id)).DELETE()).statusCode());
+    }
+
+    @Test
+    void rowVersionGuardsUpdatesAndDeletes() {
+        HttpResponse<String> created = send(HttpRequest.newBuilder(uri("/api/employees"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(EMPLOYEE.formatted("Rows"))));
+        String id = idOf(created);
+        assertEquals("\"0\"", created.headers().firstValue("ETag").orElseThrow());
+
+        HttpResponse<String> read = send(HttpRequest.newBuilder(uri("/api/employees/" + id)).GET());
+        assertEquals("\"0\"", read.headers().firstValue("ETag").orElseThrow());
+        assertEquals(304, send(HttpRequest.newBuilder(uri("/api/employees/" + id)).header("If-None-Match", "\"0\"").GET()).statusCode());
+
+        HttpResponse<String> updated = send(HttpRequest.newBuilder(uri("/api/employees/" + id))
+            .header("Content-Type", "application/json")
+            .header("If-Match", "\"0\"")
+            .PUT(HttpRequest.BodyPublishers.ofString(EMPLOYEE.formatted("Rows2"))));
+        assertEquals(200, updated.statusCode());
+        assertEquals("\"1\"", updated.headers().firstValue("ETag").orElseThrow());
+        assertTrue(updated.body().contains("\"version\":1"));
+
+        HttpResponse<String> stale = send(HttpRequest.newBuilder(uri("/api/employees/" + id))
+            .header("Content-Type", "application/json")
+            .header("If-Match", "\"0\"")
+            .PUT(HttpRequest.BodyPublishers.ofString(EMPLOYEE.formatted("Lost"))));
+        assertEquals(412, stale.statusCode());
+        assertEquals("\"1\"", stale.headers().firstValue("ETag").orElseThrow());
+
+        HttpResponse<String> reread = send(HttpRequest.newBuilder(uri("/api/employees/" + id)).header("If-None-Match", "\"0\"").GET());
+        assertEquals(200, reread.statusCode());
+        assertTrue(reread.body().contains("\"division\":\"Rows2\""));
+
+        assertEquals(412, send(HttpRequest.newBuilder(uri("/api/employees/" + id)).header("If-Match", "\"0\"").DELETE()).statusCode());
+        assertEquals(204, send(HttpRequest.newBuilder(uri("/api/employees/" + id)).header("If-Match", "\"1\"").DELETE()).statusCode());
+        assertEquals(404, send(HttpRequest.newBuilder(uri("/api/employees/" + id)).GET()).statusCode());
+    }
+
+    @Test
+    void mergePatchChangesOnlySentFields() {
+        String id = idOf(send(HttpRequest.newBuilder(uri("/api/employees"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(EMPLOYEE.formatted("Patch")))));
+
+        HttpResponse<String> patched = send(HttpRequest.newBuilder(uri("/api/employees/" + id))
+            .header("Content-Type", "application/merge-patch+json")
+            .header("If-Match", "\"0\"")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"title\":\"SENIOR\"}")));
+        assertEquals(200, patched.statusCode());
+        assertEquals("\"1\"", patched.headers().firstValue("ETag").orElseThrow());
+        assertTrue(patched.body().contains("\"name\":\"Etag\",\"position\":\"Developer\",\"title\":\"SENIOR\",\"division\":\"Patch\""),
+            patched.body());
+
+        HttpResponse<String> invalid = send(HttpRequest.newBuilder(uri("/api/employees/" + id))
+            .header("Content-Type", "application/merge-patch+json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"division\":null}")));
+        assertEquals(400, invalid.statusCode());
+        assertEquals("{\"division\":\"Division is required\"}", invalid.body());
+
+        HttpResponse<String> stale = send(HttpRequest.newBuilder(uri("/api/employees/" + id))
+            .header("Content-Type", "application/merge-patch+json")
+            .header("If-Match", "\"0\"")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"title\":\"LEAD\"}")));
+        assertEquals(412, stale.statusCode());
+
+        assertEquals(204, send(HttpRequest.newBuilder(uri("/api/employees/" + id)).DELETE()).statusCode());
+    }
+
+    private static String idOf(HttpResponse<String> created) {
+        assertEquals(201, created.statusCode());
+        return created.body().replaceFirst("^\\{\"id\":(\\d+),.*$", "$1");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) {
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.godelfamily.controller;
+
+import com.example.godelfamily.model.Employee;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Formats and content codings through Tomcat: the same employees as JSON, CBOR or Smile by Accept, and
+// gzip for bodies over server.compression.min-response-size when the client accepts it
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:negotiation",
+    "spring.jpa.show-sql=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeContentNegotiationTest {
+
+    private static final TypeReference<List<Employee>> EMPLOYEES = new TypeReference<>() {
+    };
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    // Enough rows that the full list is well over the compression threshold
+    @BeforeAll
+    void createEmployees() {
+        StringJoiner batch = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 100; i++) {
+            batch.add("{\"operation\":\"CREATE\",\"employee\":{\"name\":\"Wire " + i
+                + "\",\"position\":\"Developer\",\"title\":\"MIDDLE\",\"division\":\"Formats\"}}");
+        }
+        assertEquals(200, send(HttpRequest.newBuilder(uri("/api/employees/batch"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(batch.toString()))).statusCode());
+    }
+
+    @Test
+    void listIsNegotiatedByAccept() throws IOException {
+        HttpResponse<byte[]> json = send(HttpRequest.newBuilder(uri("/api/employees?all=true")).GET());
+        List<Employee> expected = new ObjectMapper().readValue(json.body(), EMPLOYEES);
+        assertEquals("application/json", json.headers().firstValue("Content-Type").orElseThrow());
+
+        for (String format : List.of("application/cbor", "application/x-jackson-smile")) {
+            HttpResponse<byte[]> binary = send(HttpRequest.newBuilder(uri("/api/employees?all=true")).header("Accept", format).GET());
+            assertEquals(200, binary.statusCode());
+            assertEquals(format, binary.headers().firstValue("Content-Type").orElseThrow());
+            assertTrue(varies(binary, "Accept"), binary.headers().allValues("Vary").toString());
+            assertEquals(json.headers().firstValue("ETag"), binary.headers().firstValue("ETag"));
+            assertTrue(binary.body().length < json.body().length, format + " is smaller than JSON");
+
+            ObjectMapper mapper = format.endsWith("cbor") ? new ObjectMapper(new CBORFactory()) : new ObjectMapper(new SmileFactory());
+            assertEquals(names(expected), names(mapper.readValue(binary.body(), EMPLOYEES)));
+        }
+    }
+
+    @Test
+    void largeBodiesAreGzippedWhenAccepted() throws IOException {
+        HttpResponse<byte[]> plain = send(HttpRequest.newBuilder(uri("/api/employees?all=true")).GET());
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+
+        for (String format : List.of("application/json", "application/cbor")) {
+            HttpResponse<byte[]> gzipped = send(HttpRequest.newBuilder(uri("/api/employees?all=true"))
+                .header("Accept", format)
+                .header("Accept-Encoding", "gzip")
+                .GET());
+            assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElseThrow(), format);
+            assertTrue(gzipped.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+            byte[] body = gunzip(gzipped.body());
+            assertTrue(gzipped.body().length < body.length);
+            if (format.equals("application/json")) {
+                assertArrayEquals(plain.body(), body);
+            }
+        }
+    }
+
+    @Test
+    void smallBodiesAreNotCompressed() {
+        HttpResponse<byte[]> employee = send(HttpRequest.newBuilder(uri("/api/employees/1")).header("Accept-Encoding", "gzip").GET());
+
+        assertEquals(200, employee.statusCode());
+        assertTrue(employee.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    // Header names in Vary are case-insensitive, and Tomcat lower-cases the ones it merges
+    private static boolean varies(HttpResponse<?> response, String header) {
+        return response.headers().allValues("Vary").stream()
+            .flatMap(vary -> Arrays.stream(vary.split(",")))
+            .anyMatch(name -> name.trim().equalsIgnoreCase(header));
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).toList();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) {
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
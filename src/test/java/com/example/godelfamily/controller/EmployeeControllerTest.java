@@ -1,28 +1,65 @@
 package com.example.godelfamily.controller;
 
+import com.example.godelfamily.config.BinaryFormatsConfig;
+import com.example.godelfamily.event.EmployeeChangedEvent;
 import com.example.godelfamily.exception.EmployeeNotFoundException;
+import com.example.godelfamily.exception.EmployeeVersionMismatchException;
+import com.example.godelfamily.model.BatchOperationType;
 import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeBatchOperation;
+import com.example.godelfamily.model.EmployeeBatchResult;
+import com.example.godelfamily.model.EmployeeFacets;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFieldsPage;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePage;
+import com.example.godelfamily.model.EmployeePatch;
 import com.example.godelfamily.model.Title;
+import com.example.godelfamily.service.EmployeeDataVersion;
+import com.example.godelfamily.service.EmployeeExportService;
+import com.example.godelfamily.service.EmployeeFacetIndex;
 import com.example.godelfamily.service.EmployeeService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
+@Import({EmployeeDataVersion.class, BinaryFormatsConfig.class})
 class EmployeeControllerTest {
 
     @Autowired
@@ -34,6 +71,15 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeExportService employeeExportService;
+
+    @MockBean
+    private EmployeeFacetIndex employeeFacetIndex;
+
+    @Autowired
+    private EmployeeDataVersion employeeDataVersion;
+
     private Employee employee1;
     private Employee employee2;
     private List<Employee> employees;
@@ -49,7 +95,7 @@ class EmployeeControllerTest {
     void testGetAllEmployees() throws Exception {
         when(employeeService.getAllEmployees()).thenReturn(employees);
 
-        mockMvc.perform(get("/api/employees"))
+        mockMvc.perform(get("/api/employees").param("all", "true"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON))
             .andExpect(jsonPath("$").isArray())
@@ -62,6 +108,285 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getAllEmployees();
     }
 
+    @Test
+    void testGetAllEmployees_EmitsDatasetValidators() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(employees);
+
+        mockMvc.perform(get("/api/employees").param("all", "true"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + employeeDataVersion.snapshot().tag() + "\""))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModifiedSeconds()))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void testGetAllEmployees_NegotiatesBinaryFormats() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(employees);
+        TypeReference<List<Employee>> list = new TypeReference<>() {
+        };
+
+        for (String format : List.of("application/cbor", "application/x-jackson-smile")) {
+            byte[] body = mockMvc.perform(get("/api/employees").param("all", "true").accept(format))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(format))
+                .andReturn().getResponse().getContentAsByteArray();
+
+            ObjectMapper mapper = format.endsWith("cbor") ? new ObjectMapper(new CBORFactory()) : new ObjectMapper(new SmileFactory());
+            assertEquals(List.of("John", "Jane"), mapper.readValue(body, list).stream().map(Employee::getName).toList());
+        }
+    }
+
+    @Test
+    void testCreateEmployee_AcceptsCborBody() throws Exception {
+        Employee created = new Employee(3L, "Cbor", "Developer", Title.JUNIOR, "Java");
+        created.setVersion(0L);
+        when(employeeService.createEmployee(any(Employee.class))).thenReturn(created);
+
+        mockMvc.perform(post("/api/employees")
+                .contentType("application/cbor")
+                .content(new ObjectMapper(new CBORFactory()).writeValueAsBytes(new Employee(null, "Cbor", "Developer", Title.JUNIOR, "Java"))))
+            .andExpect(status().isCreated())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.name").value("Cbor"));
+    }
+
+    @Test
+    void testGetAllEmployees_IfModifiedSinceIsNotModified() throws Exception {
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfModifiedSince(lastModifiedSeconds());
+
+        mockMvc.perform(get("/api/employees").param("all", "true").headers(conditional))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verifyNoInteractions(employeeService);
+    }
+
+    // If-None-Match compares weakly, so the tag matches with or without its W/ prefix
+    @Test
+    void testGetEmployeePage_IfNoneMatchSkipsServiceUntilDataChanges() throws Exception {
+        String etag = "\"" + employeeDataVersion.snapshot().tag() + "\"";
+
+        mockMvc.perform(get("/api/employees").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/" + etag))
+            .andExpect(content().string(""));
+        verifyNoInteractions(employeeService);
+
+        employeeDataVersion.onEmployeeChanged(EmployeeChangedEvent.deleted(2L));
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), isNull(), eq(1))).thenReturn(new EmployeePage(List.of(employee1), 1, 1L));
+
+        mockMvc.perform(get("/api/employees").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + employeeDataVersion.snapshot().tag() + "\""))
+            .andExpect(jsonPath("$.content[0].name").value("John"));
+    }
+
+    @Test
+    void testGetEmployeePage_DefaultSize() throws Exception {
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), isNull(), eq(50))).thenReturn(new EmployeePage(employees, 2, null));
+
+        mockMvc.perform(get("/api/employees"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].name").value("John"))
+            .andExpect(jsonPath("$.size").value(2))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(employeeService, times(1)).getEmployeePage(any(EmployeeFilter.class), isNull(), eq(50));
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void testGetEmployeePage_WithCursor() throws Exception {
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), eq(1L), eq(1))).thenReturn(new EmployeePage(List.of(employee2), 1, 2L));
+
+        mockMvc.perform(get("/api/employees").param("cursor", "1").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(2))
+            .andExpect(jsonPath("$.nextCursor").value(2));
+
+        verify(employeeService, times(1)).getEmployeePage(any(EmployeeFilter.class), eq(1L), eq(1));
+    }
+
+    @Test
+    void testGetEmployeePage_WithFilters() throws Exception {
+        ArgumentCaptor<EmployeeFilter> filter = ArgumentCaptor.forClass(EmployeeFilter.class);
+        when(employeeService.getEmployeePage(filter.capture(), isNull(), eq(50)))
+            .thenReturn(new EmployeePage(List.of(employee1), 1, null));
+
+        mockMvc.perform(get("/api/employees")
+                .param("title", "SENIOR")
+                .param("division", "Java")
+                .param("position", "Developer"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].name").value("John"));
+
+        assertEquals(Title.SENIOR, filter.getValue().getTitle());
+        assertEquals("Java", filter.getValue().getDivision());
+        assertEquals("Developer", filter.getValue().getPosition());
+    }
+
+    @Test
+    void testGetEmployeePage_InvalidTitle() throws Exception {
+        mockMvc.perform(get("/api/employees").param("title", "INTERN"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.title").value("Invalid value: INTERN"));
+
+        verify(employeeService, never()).getEmployeePage(any(), any(), anyInt());
+    }
+
+    @Test
+    void testGetEmployeePage_SizeCappedAtMaximum() throws Exception {
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), isNull(), eq(500))).thenReturn(new EmployeePage(employees, 2, null));
+
+        mockMvc.perform(get("/api/employees").param("size", "100000"))
+            .andExpect(status().isOk());
+
+        verify(employeeService, times(1)).getEmployeePage(any(EmployeeFilter.class), isNull(), eq(500));
+    }
+
+    @Test
+    void testGetEmployeePage_SparseFields() throws Exception {
+        EmployeeFields fields = EmployeeFields.parse("name");
+        when(employeeService.getEmployeeFieldsPage(any(EmployeeFilter.class), eq(5L), eq(2), eq(fields)))
+            .thenReturn(new EmployeeFieldsPage(List.of(Map.of("id", 6L, "name", "John")), 1, null));
+
+        mockMvc.perform(get("/api/employees").param("fields", "name").param("cursor", "5").param("size", "2").param("title", "SENIOR"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + employeeDataVersion.snapshot().tag() + "\""))
+            .andExpect(jsonPath("$.content[0].id").value(6))
+            .andExpect(jsonPath("$.content[0].name").value("John"))
+            .andExpect(jsonPath("$.content[0].title").doesNotExist())
+            .andExpect(jsonPath("$.size").value(1));
+
+        ArgumentCaptor<EmployeeFilter> filter = ArgumentCaptor.forClass(EmployeeFilter.class);
+        verify(employeeService).getEmployeeFieldsPage(filter.capture(), eq(5L), eq(2), eq(fields));
+        assertEquals(Title.SENIOR, filter.getValue().getTitle());
+        verify(employeeService, never()).getEmployeePage(any(), any(), anyInt());
+    }
+
+    @Test
+    void testGetEmployeePage_SparseFieldsRevalidate() throws Exception {
+        mockMvc.perform(get("/api/employees").param("fields", "name")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"" + employeeDataVersion.snapshot().tag() + "\""))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/employees").param("fields", "name").param("size", "0"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testGetEmployeePage_UnknownFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/employees").param("fields", "id,salary"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Unknown employee field 'salary', expected any of id, name, position, title, division, version"));
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testGetAllEmployees_SparseFields() throws Exception {
+        when(employeeService.getAllEmployeeFields(EmployeeFields.parse("title")))
+            .thenReturn(List.of(Map.of("id", 1L, "title", Title.SENIOR), Map.of("id", 2L, "title", Title.MIDDLE)));
+
+        mockMvc.perform(get("/api/employees").param("all", "true").param("fields", "title"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + employeeDataVersion.snapshot().tag() + "\""))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[1].title").value("MIDDLE"))
+            .andExpect(jsonPath("$[1].name").doesNotExist());
+
+        mockMvc.perform(get("/api/employees").param("all", "true").param("fields", "title")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"" + employeeDataVersion.snapshot().tag() + "\""))
+            .andExpect(status().isNotModified());
+        verify(employeeService, times(1)).getAllEmployeeFields(any());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void testGetEmployeePage_InvalidSize() throws Exception {
+        mockMvc.perform(get("/api/employees").param("size", "0"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Page size must be positive"));
+
+        verify(employeeService, never()).getEmployeePage(any(), any(), anyInt());
+    }
+
+    @Test
+    void testExportEmployees_Ndjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeExportService).exportNdjson(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/employees/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        // Exports have no async timeout, which asyncDispatch would otherwise take as its wait
+        result.getAsyncResult(5_000);
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(employeeExportService, times(1)).exportNdjson(any(OutputStream.class));
+    }
+
+    @Test
+    void testExportEmployees_Csv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("id,name,position,title,division\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeExportService).exportCsv(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/employees/export").param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        // Exports have no async timeout, which asyncDispatch would otherwise take as its wait
+        result.getAsyncResult(5_000);
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+            .andExpect(content().string("id,name,position,title,division\n"));
+
+        verify(employeeExportService, times(1)).exportCsv(any(OutputStream.class));
+    }
+
+    @Test
+    void testExportEmployees_UnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/employees/export").param("format", "xml"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Unsupported export format: xml"));
+
+        verifyNoInteractions(employeeExportService);
+    }
+
+    @Test
+    void testGetFacets() throws Exception {
+        when(employeeFacetIndex.getFacets()).thenReturn(new EmployeeFacets(2,
+            Map.of(Title.SENIOR, 1, Title.MIDDLE, 1),
+            Map.of("Java", 1, "QA", 1),
+            Map.of("Java", Map.of(Title.SENIOR, 1, Title.MIDDLE, 0))));
+
+        mockMvc.perform(get("/api/employees/facets"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.titles.SENIOR").value(1))
+            .andExpect(jsonPath("$.divisions.QA").value(1))
+            .andExpect(jsonPath("$.counts.Java.SENIOR").value(1));
+
+        verify(employeeFacetIndex, times(1)).getFacets();
+    }
+
     @Test
     void testGetEmployeeById_ExistingEmployee() throws Exception {
         when(employeeService.getEmployeeById(1L)).thenReturn(employee1);
@@ -78,6 +403,92 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getEmployeeById(1L);
     }
 
+    @Test
+    void testGetEmployeeById_EmitsValidators() throws Exception {
+        employee1.setVersion(3L);
+        when(employeeService.getEmployeeById(1L)).thenReturn(employee1);
+
+        mockMvc.perform(get("/api/employees/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModifiedSeconds()))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void testGetEmployeeById_SparseFields() throws Exception {
+        when(employeeService.getEmployeeFieldsById(1L, EmployeeFields.parse("name"))).thenReturn(Map.of("id", 1L, "name", "John"));
+        when(employeeService.getEmployeeFieldsById(1L, EmployeeFields.parse("name,version"))).thenReturn(Map.of("id", 1L, "name", "John", "version", 3L));
+
+        mockMvc.perform(get("/api/employees/1").param("fields", "name"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.name").value("John"))
+            .andExpect(jsonPath("$.position").doesNotExist());
+        mockMvc.perform(get("/api/employees/1").param("fields", "version,name"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(employeeService, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void testGetEmployeeById_IfNoneMatchIsNotModified() throws Exception {
+        employee1.setVersion(3L);
+        when(employeeService.getEmployeeById(1L)).thenReturn(employee1);
+
+        mockMvc.perform(get("/api/employees/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(content().string(""));
+
+        employee1.setVersion(4L);
+        mockMvc.perform(get("/api/employees/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void testGetEmployeeById_IfModifiedSinceNotModified() throws Exception {
+        employee1.setVersion(4L);
+        when(employeeService.getEmployeeById(1L)).thenReturn(employee1);
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfModifiedSince(lastModifiedSeconds());
+
+        mockMvc.perform(get("/api/employees/1").headers(conditional))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // If-None-Match takes precedence, so a stale tag is compared with the row even with a current date
+        conditional.setIfNoneMatch("\"3\"");
+        mockMvc.perform(get("/api/employees/1").headers(conditional))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void testGetEmployeeById_StaleIfModifiedSinceReturnsRow() throws Exception {
+        when(employeeService.getEmployeeById(1L)).thenReturn(employee1);
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfModifiedSince(lastModifiedSeconds() - 60_000);
+
+        mockMvc.perform(get("/api/employees/1").headers(conditional))
+            .andExpect(status().isOk())
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModifiedSeconds()))
+            .andExpect(jsonPath("$.name").value("John"));
+    }
+
+    @Test
+    void testGetEmployeeById_UnknownIdWithIfModifiedSinceIsNotFound() throws Exception {
+        when(employeeService.getEmployeeById(999L)).thenThrow(new EmployeeNotFoundException(999L));
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfModifiedSince(lastModifiedSeconds());
+
+        mockMvc.perform(get("/api/employees/999").headers(conditional))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     void testGetEmployeeById_NonExistingEmployee() throws Exception {
         when(employeeService.getEmployeeById(999L)).thenThrow(new EmployeeNotFoundException(999L));
@@ -148,28 +559,124 @@ class EmployeeControllerTest {
         verify(employeeService, never()).createEmployee(any(Employee.class));
     }
 
+    @Test
+    void testProcessBatch() throws Exception {
+        List<EmployeeBatchOperation> operations = List.of(
+            new EmployeeBatchOperation(BatchOperationType.CREATE, null, new Employee(null, "Bob", "BA", Title.JUNIOR, "BA")),
+            new EmployeeBatchOperation(BatchOperationType.DELETE, 999L, null)
+        );
+        when(employeeService.processBatch(anyList())).thenReturn(List.of(
+            new EmployeeBatchResult(0, BatchOperationType.CREATE, 3L, 201, null),
+            new EmployeeBatchResult(1, BatchOperationType.DELETE, 999L, 404, "Employee not found with id: 999")
+        ));
+
+        mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(operations)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].operation").value("CREATE"))
+            .andExpect(jsonPath("$[0].id").value(3))
+            .andExpect(jsonPath("$[0].status").value(201))
+            .andExpect(jsonPath("$[1].status").value(404))
+            .andExpect(jsonPath("$[1].error").value("Employee not found with id: 999"));
+
+        verify(employeeService, times(1)).processBatch(anyList());
+    }
+
+    @Test
+    void testProcessBatch_TooManyOperations() throws Exception {
+        List<EmployeeBatchOperation> operations = Collections.nCopies(5001,
+            new EmployeeBatchOperation(BatchOperationType.DELETE, 1L, null));
+
+        mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(operations)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Batch size must not exceed 5000"));
+
+        verify(employeeService, never()).processBatch(anyList());
+    }
+
     @Test
     void testUpdateEmployee() throws Exception {
         Employee updatedEmployee = new Employee(1L, "John Updated", "Developer", Title.LEAD, "Java");
+        updatedEmployee.setVersion(4L);
 
-        when(employeeService.updateEmployee(eq(1L), any(Employee.class))).thenReturn(updatedEmployee);
+        when(employeeService.updateEmployee(eq(1L), any(Employee.class), isNull())).thenReturn(updatedEmployee);
 
         mockMvc.perform(put("/api/employees/1")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)))
             .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
             .andExpect(jsonPath("$.id").value(1))
             .andExpect(jsonPath("$.name").value("John Updated"))
-            .andExpect(jsonPath("$.title").value("LEAD"));
+            .andExpect(jsonPath("$.title").value("LEAD"))
+            .andExpect(jsonPath("$.version").value(4));
+
+        verify(employeeService, times(1)).updateEmployee(eq(1L), any(Employee.class), isNull());
+    }
+
+    @Test
+    void testUpdateEmployee_IfMatchPassesVersions() throws Exception {
+        Employee updatedEmployee = new Employee(1L, "John Updated", "Developer", Title.LEAD, "Java");
+        updatedEmployee.setVersion(3L);
+        when(employeeService.updateEmployee(eq(1L), any(Employee.class), eq(Set.of(2L)))).thenReturn(updatedEmployee);
+
+        mockMvc.perform(put("/api/employees/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\", W/\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void testUpdateEmployee_VersionBodyFieldIgnored() throws Exception {
+        when(employeeService.updateEmployee(eq(1L), any(Employee.class), isNull())).thenReturn(employee1);
 
-        verify(employeeService, times(1)).updateEmployee(eq(1L), any(Employee.class));
+        mockMvc.perform(put("/api/employees/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"John\",\"position\":\"Developer\",\"title\":\"SENIOR\",\"division\":\"Java\",\"version\":7}"))
+            .andExpect(status().isOk());
+
+        ArgumentCaptor<Employee> body = ArgumentCaptor.forClass(Employee.class);
+        verify(employeeService).updateEmployee(eq(1L), body.capture(), isNull());
+        assertNull(body.getValue().getVersion());
+    }
+
+    @Test
+    void testUpdateEmployee_StaleIfMatchIsPreconditionFailed() throws Exception {
+        when(employeeService.updateEmployee(eq(1L), any(Employee.class), eq(Set.of(2L))))
+            .thenThrow(new EmployeeVersionMismatchException(1L, 5L));
+
+        mockMvc.perform(put("/api/employees/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee1)))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+            .andExpect(jsonPath("$.error").value("Employee 1 has been modified; current version is 5"));
+    }
+
+    @Test
+    void testUpdateEmployee_ConcurrentWriteIsConflict() throws Exception {
+        when(employeeService.updateEmployee(eq(1L), any(Employee.class), isNull()))
+            .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        mockMvc.perform(put("/api/employees/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee1)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.error").value("Employee was modified concurrently, please retry"));
     }
 
     @Test
     void testUpdateEmployee_NonExistingEmployee() throws Exception {
         Employee updatedEmployee = new Employee(999L, "Ghost", "Developer", Title.SENIOR, "Java");
 
-        when(employeeService.updateEmployee(eq(999L), any(Employee.class)))
+        when(employeeService.updateEmployee(eq(999L), any(Employee.class), isNull()))
             .thenThrow(new EmployeeNotFoundException(999L));
 
         mockMvc.perform(put("/api/employees/999")
@@ -178,28 +685,93 @@ class EmployeeControllerTest {
             .andExpect(status().isNotFound())
             .andExpect(jsonPath("$.error").value("Employee not found with id: 999"));
 
-        verify(employeeService, times(1)).updateEmployee(eq(999L), any(Employee.class));
+        verify(employeeService, times(1)).updateEmployee(eq(999L), any(Employee.class), isNull());
+    }
+
+    @Test
+    void testPatchEmployee_PassesOnlyPresentMembers() throws Exception {
+        Employee patched = new Employee(1L, "John", "Developer", Title.LEAD, "Java");
+        patched.setVersion(3L);
+        when(employeeService.patchEmployee(eq(1L), any(EmployeePatch.class), eq(Set.of(2L)))).thenReturn(patched);
+
+        mockMvc.perform(patch("/api/employees/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"title\":\"LEAD\",\"version\":9}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(jsonPath("$.name").value("John"))
+            .andExpect(jsonPath("$.title").value("LEAD"));
+
+        ArgumentCaptor<EmployeePatch> body = ArgumentCaptor.forClass(EmployeePatch.class);
+        verify(employeeService).patchEmployee(eq(1L), body.capture(), eq(Set.of(2L)));
+        assertEquals(Map.of("title", Title.LEAD), body.getValue().getChanges());
+    }
+
+    @Test
+    void testPatchEmployee_InvalidFieldIsBadRequest() throws Exception {
+        when(employeeService.patchEmployee(eq(1L), any(EmployeePatch.class), isNull()))
+            .thenThrow(new ConstraintViolationException(Validation.buildDefaultValidatorFactory().getValidator()
+                .validateValue(Employee.class, "name", null)));
+
+        mockMvc.perform(patch("/api/employees/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"name\":null}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.name").value("Name is required"));
+    }
+
+    @Test
+    void testPatchEmployee_RequiresMergePatchContentType() throws Exception {
+        mockMvc.perform(patch("/api/employees/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"LEAD\"}"))
+            .andExpect(status().isUnsupportedMediaType())
+            .andExpect(header().string("Accept-Patch", "application/merge-patch+json"));
+
+        verify(employeeService, never()).patchEmployee(any(), any(), any());
     }
 
     @Test
     void testDeleteEmployee() throws Exception {
-        doNothing().when(employeeService).deleteEmployee(1L);
+        doNothing().when(employeeService).deleteEmployee(1L, null);
 
         mockMvc.perform(delete("/api/employees/1"))
             .andExpect(status().isNoContent());
 
-        verify(employeeService, times(1)).deleteEmployee(1L);
+        verify(employeeService, times(1)).deleteEmployee(1L, null);
+    }
+
+    @Test
+    void testDeleteEmployee_IfMatch() throws Exception {
+        doThrow(new EmployeeVersionMismatchException(1L, 2L)).when(employeeService).deleteEmployee(1L, Set.of(1L));
+
+        mockMvc.perform(delete("/api/employees/1").header(HttpHeaders.IF_MATCH, "\"1\""))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
     }
 
     @Test
     void testDeleteEmployee_NonExistingEmployee() throws Exception {
-        doThrow(new EmployeeNotFoundException(999L)).when(employeeService).deleteEmployee(999L);
+        doThrow(new EmployeeNotFoundException(999L)).when(employeeService).deleteEmployee(999L, null);
 
         mockMvc.perform(delete("/api/employees/999"))
             .andExpect(status().isNotFound())
             .andExpect(jsonPath("$.error").value("Employee not found with id: 999"));
 
-        verify(employeeService, times(1)).deleteEmployee(999L);
+        verify(employeeService, times(1)).deleteEmployee(999L, null);
+    }
+
+    @Test
+    void testExpectedVersions() {
+        assertNull(EmployeeController.expectedVersions(null));
+        assertNull(EmployeeController.expectedVersions("*"));
+        assertEquals(Set.of(2L, 5L), EmployeeController.expectedVersions("\"2\", W/\"3\", \"5\", \"10-4\""));
+        assertEquals(Set.of(), EmployeeController.expectedVersions("W/\"3\""));
     }
-}
 
+    // HTTP dates have second precision
+    private long lastModifiedSeconds() {
+        return employeeDataVersion.snapshot().modifiedAt().getEpochSecond() * 1000;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.godelfamily.controller;
+
+import com.example.godelfamily.service.EmployeeExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// An export that outlasts spring.mvc.async.request-timeout still streams to the end through Tomcat
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:exporttimeout",
+    "spring.jpa.show-sql=false",
+    "spring.mvc.async.request-timeout=200ms"
+})
+class EmployeeExportTimeoutTest {
+
+    @MockBean
+    private EmployeeExportService employeeExportService;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void exportLongerThanAsyncTimeoutCompletes() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            for (int i = 1; i <= 10; i++) {
+                out.write(("{\"id\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(100);
+            }
+            return null;
+        }).when(employeeExportService).exportNdjson(any(OutputStream.class));
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/export")).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/x-ndjson", response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals(10, response.body().lines().count());
+        assertEquals("{\"id\":10}", response.body().lines().reduce((first, last) -> last).orElseThrow());
+    }
+}
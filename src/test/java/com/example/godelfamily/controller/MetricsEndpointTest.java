@@ -0,0 +1,87 @@
+package com.example.godelfamily.controller;
+
+import com.example.godelfamily.support.OpenAiStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The Prometheus scrape must carry latency histograms for both controllers and the repository,
+// AI prompt/usage/latency meters, AI errors by cause and cache hit/miss counts
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "openai.api.key=test-key",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    private static final OpenAiStubServer stub = startStub();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void openAi(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop();
+    }
+
+    @Test
+    void prometheusScrapeCoversCrudAndAiHotPaths() throws Exception {
+        assertEquals(200, send(HttpRequest.newBuilder(uri("/api/employees/1")).GET()).statusCode());
+        assertEquals(200, send(HttpRequest.newBuilder(uri("/api/employees/1")).GET()).statusCode());
+        assertEquals(200, send(HttpRequest.newBuilder(uri("/api/ai/query"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"question\":\"How many developers?\"}"))).statusCode());
+
+        HttpResponse<String> scrape = send(HttpRequest.newBuilder(uri("/actuator/prometheus")).GET());
+
+        assertEquals(200, scrape.statusCode());
+        String body = scrape.body();
+        assertTrue(body.contains("http_server_requests_seconds_bucket{"), "endpoint latency histogram");
+        assertTrue(body.contains("uri=\"/api/employees/{id}\""));
+        assertTrue(body.contains("uri=\"/api/ai/query\""));
+        assertTrue(body.contains("spring_data_repository_invocations_seconds_bucket{"), "repository latency histogram");
+        assertTrue(body.contains("ai_prompt_size_characters_count{"));
+        assertTrue(body.contains("ai_prompt_tokens_count{"));
+        assertTrue(body.contains("ai_upstream_latency_seconds_bucket{"));
+        assertTrue(body.contains("ai_usage_tokens_sum{application=\"godel-family\",mode=\"query\",type=\"prompt\"} 10.0"));
+        assertTrue(body.contains("ai_upstream_errors_total{application=\"godel-family\",cause=\"timeout\"} 0.0"));
+        assertTrue(body.contains("cache_gets_total{application=\"godel-family\",cache=\"aiAnswers\",cache_manager=\"aiAnswerCache\",name=\"aiAnswers\",result=\"miss\"} 1.0"));
+        assertTrue(body.contains("cache_gets_total{application=\"godel-family\",cache=\"employee\""));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static OpenAiStubServer startStub() {
+        try {
+            return new OpenAiStubServer().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.godelfamily.event;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeChangedEventTest {
+
+    private final Employee employee = new Employee(1L, "John", "Developer", Title.SENIOR, "Java");
+
+    @Test
+    void testCreated() {
+        EmployeeChangedEvent event = EmployeeChangedEvent.created(employee);
+
+        assertEquals(EmployeeChangedEvent.Type.CREATED, event.getType());
+        assertEquals(1L, event.getId());
+        assertSame(employee, event.getEmployee());
+    }
+
+    @Test
+    void testUpdated() {
+        EmployeeChangedEvent event = EmployeeChangedEvent.updated(employee);
+
+        assertEquals(EmployeeChangedEvent.Type.UPDATED, event.getType());
+        assertEquals(1L, event.getId());
+        assertSame(employee, event.getEmployee());
+    }
+
+    @Test
+    void testDeleted() {
+        EmployeeChangedEvent event = EmployeeChangedEvent.deleted(7L);
+
+        assertEquals(EmployeeChangedEvent.Type.DELETED, event.getType());
+        assertEquals(7L, event.getId());
+        assertNull(event.getEmployee());
+    }
+}
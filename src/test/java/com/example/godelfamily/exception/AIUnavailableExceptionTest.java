@@ -0,0 +1,33 @@
+package com.example.godelfamily.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIUnavailableExceptionTest {
+
+    @Test
+    void testReasonAndRetryAfter() {
+        AIUnavailableException exception =
+            new AIUnavailableException(AIUnavailableException.Reason.BULKHEAD_FULL, Duration.ofSeconds(2));
+
+        assertEquals(AIUnavailableException.Reason.BULKHEAD_FULL, exception.getReason());
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        assertEquals("Too many AI questions are in progress. Please try again shortly.", exception.getMessage());
+    }
+
+    @Test
+    void testEveryReasonHasAMessage() {
+        for (AIUnavailableException.Reason reason : AIUnavailableException.Reason.values()) {
+            assertFalse(new AIUnavailableException(reason, Duration.ZERO).getMessage().isBlank());
+        }
+    }
+
+    @Test
+    void testExceptionIsRuntimeException() {
+        assertInstanceOf(RuntimeException.class,
+            new AIUnavailableException(AIUnavailableException.Reason.TIMEOUT, Duration.ZERO));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.godelfamily.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeVersionMismatchExceptionTest {
+
+    @Test
+    void testExceptionMessageAndVersion() {
+        EmployeeVersionMismatchException exception = new EmployeeVersionMismatchException(7L, 3L);
+
+        assertEquals("Employee 7 has been modified; current version is 3", exception.getMessage());
+        assertEquals(3L, exception.getCurrentVersion());
+    }
+}
@@ -1,14 +1,26 @@
 package com.example.godelfamily.exception;
 
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +45,100 @@ class GlobalExceptionHandlerTest {
         assertEquals("Employee not found with id: 123", response.getBody().get("error"));
     }
 
+    @Test
+    void testHandleVersionMismatch() {
+        ResponseEntity<Map<String, String>> response =
+            exceptionHandler.handleVersionMismatch(new EmployeeVersionMismatchException(123L, 4L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        assertEquals("Employee 123 has been modified; current version is 4", response.getBody().get("error"));
+    }
+
+    @Test
+    void testHandleOptimisticLockingFailure() {
+        ResponseEntity<Map<String, String>> response =
+            exceptionHandler.handleOptimisticLockingFailure(new OptimisticLockingFailureException("stale"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Employee was modified concurrently, please retry", response.getBody().get("error"));
+    }
+
+    @Test
+    void testHandleIllegalArgument() {
+        IllegalArgumentException exception = new IllegalArgumentException("Page size must be positive");
+
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handleIllegalArgument(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Page size must be positive", response.getBody().get("error"));
+    }
+
+    @Test
+    void testHandleConstraintViolation() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ConstraintViolationException exception =
+            new ConstraintViolationException(validator.validateValue(Employee.class, "division", ""));
+
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handleConstraintViolation(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(Map.of("division", "Division is required"), response.getBody());
+    }
+
+    @Test
+    void testHandleMediaTypeNotSupported() {
+        List<MediaType> supported = List.of(MediaType.parseMediaType("application/merge-patch+json"));
+
+        ResponseEntity<Map<String, String>> patch = exceptionHandler.handleMediaTypeNotSupported(
+            new HttpMediaTypeNotSupportedException(MediaType.APPLICATION_JSON, supported, HttpMethod.PATCH));
+        ResponseEntity<Map<String, String>> post = exceptionHandler.handleMediaTypeNotSupported(
+            new HttpMediaTypeNotSupportedException(MediaType.TEXT_PLAIN, List.of(MediaType.APPLICATION_JSON), HttpMethod.POST));
+
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, patch.getStatusCode());
+        assertEquals("application/merge-patch+json", patch.getHeaders().getFirst("Accept-Patch"));
+        assertEquals("application/merge-patch+json", patch.getHeaders().getFirst("Accept"));
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, post.getStatusCode());
+        assertNull(post.getHeaders().getFirst("Accept-Patch"));
+        assertEquals("Content-Type 'text/plain' is not supported", post.getBody().get("error"));
+    }
+
+    @Test
+    void testHandleAIUnavailable() {
+        AIUnavailableException exception =
+            new AIUnavailableException(AIUnavailableException.Reason.TIMEOUT, Duration.ofMillis(2500));
+
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handleAIUnavailable(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("TIMEOUT", response.getBody().get("reason"));
+        assertEquals("AI service did not answer in time. Please try again later.", response.getBody().get("error"));
+    }
+
+    @Test
+    void testHandleAIUnavailable_RetryAfterIsAtLeastOneSecond() {
+        AIUnavailableException exception =
+            new AIUnavailableException(AIUnavailableException.Reason.CIRCUIT_OPEN, Duration.ZERO);
+
+        assertEquals("1", exceptionHandler.handleAIUnavailable(exception).getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void testHandleTypeMismatch() throws NoSuchMethodException {
+        MethodParameter parameter = new MethodParameter(
+            this.getClass().getDeclaredMethod("dummyMethod", Object.class), 0);
+        MethodArgumentTypeMismatchException exception = new MethodArgumentTypeMismatchException(
+            "INTERN", Title.class, "title", parameter, new IllegalArgumentException("No enum constant"));
+
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handleTypeMismatch(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Invalid value: INTERN", response.getBody().get("title"));
+    }
+
     @Test
     void testHandleValidationExceptions() throws NoSuchMethodException {
         // Create a mock MethodArgumentNotValidException
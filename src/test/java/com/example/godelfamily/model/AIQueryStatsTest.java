@@ -0,0 +1,78 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIQueryStatsTest {
+
+    @Test
+    void testNoArgsConstructor() {
+        AIQueryStats stats = new AIQueryStats();
+        assertEquals(0, stats.getCacheSize());
+        assertEquals(0, stats.getCacheHits());
+        assertEquals(0, stats.getCacheMisses());
+        assertEquals(0, stats.getUpstreamCalls());
+        assertEquals(0, stats.getCoalescedCalls());
+        assertEquals(0, stats.getInFlight());
+        assertNull(stats.getCircuitState());
+        assertEquals(0, stats.getShortCircuitedCalls());
+        assertEquals(0, stats.getActiveCalls());
+        assertEquals(0, stats.getQueuedCalls());
+        assertEquals(0, stats.getRejectedCalls());
+        assertEquals(0, stats.getTimedOutCalls());
+        assertEquals(0, stats.getCurrentTimeoutMillis());
+    }
+
+    @Test
+    void testAllArgsConstructor() {
+        AIQueryStats stats = new AIQueryStats(3, 10, 4, 2, 2, 1, "OPEN", 5, 6, 7, 8, 9, 2000);
+
+        assertEquals(3, stats.getCacheSize());
+        assertEquals(10, stats.getCacheHits());
+        assertEquals(4, stats.getCacheMisses());
+        assertEquals(2, stats.getUpstreamCalls());
+        assertEquals(2, stats.getCoalescedCalls());
+        assertEquals(1, stats.getInFlight());
+        assertEquals("OPEN", stats.getCircuitState());
+        assertEquals(5, stats.getShortCircuitedCalls());
+        assertEquals(6, stats.getActiveCalls());
+        assertEquals(7, stats.getQueuedCalls());
+        assertEquals(8, stats.getRejectedCalls());
+        assertEquals(9, stats.getTimedOutCalls());
+        assertEquals(2000, stats.getCurrentTimeoutMillis());
+    }
+
+    @Test
+    void testSettersAndGetters() {
+        AIQueryStats stats = new AIQueryStats();
+
+        stats.setCacheSize(5);
+        stats.setCacheHits(6);
+        stats.setCacheMisses(7);
+        stats.setUpstreamCalls(8);
+        stats.setCoalescedCalls(9);
+        stats.setInFlight(2);
+        stats.setCircuitState("HALF_OPEN");
+        stats.setShortCircuitedCalls(1);
+        stats.setActiveCalls(2);
+        stats.setQueuedCalls(3);
+        stats.setRejectedCalls(4);
+        stats.setTimedOutCalls(5);
+        stats.setCurrentTimeoutMillis(6);
+
+        assertEquals(5, stats.getCacheSize());
+        assertEquals(6, stats.getCacheHits());
+        assertEquals(7, stats.getCacheMisses());
+        assertEquals(8, stats.getUpstreamCalls());
+        assertEquals(9, stats.getCoalescedCalls());
+        assertEquals(2, stats.getInFlight());
+        assertEquals("HALF_OPEN", stats.getCircuitState());
+        assertEquals(1, stats.getShortCircuitedCalls());
+        assertEquals(2, stats.getActiveCalls());
+        assertEquals(3, stats.getQueuedCalls());
+        assertEquals(4, stats.getRejectedCalls());
+        assertEquals(5, stats.getTimedOutCalls());
+        assertEquals(6, stats.getCurrentTimeoutMillis());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchOperationTypeTest {
+
+    @Test
+    void testEnumValues() {
+        BatchOperationType[] types = BatchOperationType.values();
+
+        assertEquals(3, types.length);
+        assertEquals(BatchOperationType.CREATE, types[0]);
+        assertEquals(BatchOperationType.UPDATE, types[1]);
+        assertEquals(BatchOperationType.DELETE, types[2]);
+    }
+
+    @Test
+    void testValueOf_InvalidValue() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            BatchOperationType.valueOf("UPSERT");
+        });
+    }
+}
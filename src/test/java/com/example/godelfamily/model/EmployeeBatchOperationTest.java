@@ -0,0 +1,40 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeBatchOperationTest {
+
+    @Test
+    void testNoArgsConstructor() {
+        EmployeeBatchOperation operation = new EmployeeBatchOperation();
+        assertNull(operation.getOperation());
+        assertNull(operation.getId());
+        assertNull(operation.getEmployee());
+    }
+
+    @Test
+    void testAllArgsConstructor() {
+        Employee employee = new Employee(null, "John", "Developer", Title.SENIOR, "Java");
+        EmployeeBatchOperation operation = new EmployeeBatchOperation(BatchOperationType.UPDATE, 1L, employee);
+
+        assertEquals(BatchOperationType.UPDATE, operation.getOperation());
+        assertEquals(1L, operation.getId());
+        assertSame(employee, operation.getEmployee());
+    }
+
+    @Test
+    void testSettersAndGetters() {
+        Employee employee = new Employee(null, "Jane", "QA", Title.MIDDLE, "QA");
+        EmployeeBatchOperation operation = new EmployeeBatchOperation();
+
+        operation.setOperation(BatchOperationType.CREATE);
+        operation.setId(2L);
+        operation.setEmployee(employee);
+
+        assertEquals(BatchOperationType.CREATE, operation.getOperation());
+        assertEquals(2L, operation.getId());
+        assertSame(employee, operation.getEmployee());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeBatchResultTest {
+
+    @Test
+    void testNoArgsConstructor() {
+        EmployeeBatchResult result = new EmployeeBatchResult();
+        assertEquals(0, result.getIndex());
+        assertNull(result.getOperation());
+        assertNull(result.getId());
+        assertEquals(0, result.getStatus());
+        assertNull(result.getError());
+    }
+
+    @Test
+    void testAllArgsConstructor() {
+        EmployeeBatchResult result = new EmployeeBatchResult(3, BatchOperationType.DELETE, 7L, 404, "Employee not found with id: 7");
+
+        assertEquals(3, result.getIndex());
+        assertEquals(BatchOperationType.DELETE, result.getOperation());
+        assertEquals(7L, result.getId());
+        assertEquals(404, result.getStatus());
+        assertEquals("Employee not found with id: 7", result.getError());
+    }
+
+    @Test
+    void testSettersAndGetters() {
+        EmployeeBatchResult result = new EmployeeBatchResult();
+
+        result.setIndex(1);
+        result.setOperation(BatchOperationType.CREATE);
+        result.setId(5L);
+        result.setStatus(201);
+        result.setError("none");
+
+        assertEquals(1, result.getIndex());
+        assertEquals(BatchOperationType.CREATE, result.getOperation());
+        assertEquals(5L, result.getId());
+        assertEquals(201, result.getStatus());
+        assertEquals("none", result.getError());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeFacetsTest {
+
+    @Test
+    void testNoArgsConstructor() {
+        EmployeeFacets facets = new EmployeeFacets();
+        assertEquals(0, facets.getTotal());
+        assertNull(facets.getTitles());
+        assertNull(facets.getDivisions());
+        assertNull(facets.getCounts());
+    }
+
+    @Test
+    void testAllArgsConstructor() {
+        EmployeeFacets facets = new EmployeeFacets(1, Map.of(Title.SENIOR, 1), Map.of("Java", 1),
+            Map.of("Java", Map.of(Title.SENIOR, 1)));
+
+        assertEquals(1, facets.getTotal());
+        assertEquals(1, facets.getTitles().get(Title.SENIOR));
+        assertEquals(1, facets.getDivisions().get("Java"));
+        assertEquals(1, facets.getCounts().get("Java").get(Title.SENIOR));
+    }
+
+    @Test
+    void testSettersAndGetters() {
+        EmployeeFacets facets = new EmployeeFacets();
+
+        facets.setTotal(2);
+        facets.setTitles(Map.of(Title.JUNIOR, 2));
+        facets.setDivisions(Map.of("QA", 2));
+        facets.setCounts(Map.of("QA", Map.of(Title.JUNIOR, 2)));
+
+        assertEquals(2, facets.getTotal());
+        assertEquals(2, facets.getTitles().get(Title.JUNIOR));
+        assertEquals(2, facets.getDivisions().get("QA"));
+        assertEquals(2, facets.getCounts().get("QA").get(Title.JUNIOR));
+    }
+}
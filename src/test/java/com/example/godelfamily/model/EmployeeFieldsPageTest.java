@@ -0,0 +1,41 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeFieldsPageTest {
+
+    @Test
+    void testNoArgsConstructor() {
+        EmployeeFieldsPage page = new EmployeeFieldsPage();
+        assertNull(page.getContent());
+        assertEquals(0, page.getSize());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testAllArgsConstructor() {
+        List<Map<String, Object>> rows = List.of(Map.of("id", 1L, "name", "John"));
+        EmployeeFieldsPage page = new EmployeeFieldsPage(rows, 1, 1L);
+
+        assertEquals(rows, page.getContent());
+        assertEquals(1, page.getSize());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    void testSettersAndGetters() {
+        EmployeeFieldsPage page = new EmployeeFieldsPage();
+        page.setContent(List.of(Map.of("id", 2L)));
+        page.setSize(1);
+        page.setNextCursor(2L);
+
+        assertEquals(List.of(Map.of("id", 2L)), page.getContent());
+        assertEquals(1, page.getSize());
+        assertEquals(2L, page.getNextCursor());
+    }
+}
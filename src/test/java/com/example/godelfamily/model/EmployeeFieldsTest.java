@@ -0,0 +1,54 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeFieldsTest {
+
+    @Test
+    void testParse_AlwaysIncludesIdInCanonicalOrder() {
+        EmployeeFields fields = EmployeeFields.parse(" title,name , name");
+
+        assertEquals(List.of("id", "name", "title"), fields.getNames());
+        assertEquals("id,name,title", fields.toString());
+        assertEquals(EmployeeFields.parse("id,name,title"), fields);
+        assertEquals(EmployeeFields.parse("name,title").hashCode(), fields.hashCode());
+        assertNotEquals(EmployeeFields.parse("name"), fields);
+        assertNotEquals(fields, "id,name,title");
+    }
+
+    @Test
+    void testParse_BlankSelectsOnlyId() {
+        assertEquals(List.of("id"), EmployeeFields.parse("").getNames());
+        assertEquals(List.of("id"), EmployeeFields.parse(" , ").getNames());
+    }
+
+    @Test
+    void testParse_AllFields() {
+        assertEquals(EmployeeFields.ALL, EmployeeFields.parse("version,division,title,position,name").getNames());
+    }
+
+    @Test
+    void testParse_UnknownFieldIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> EmployeeFields.parse("name,salary"));
+
+        assertEquals("Unknown employee field 'salary', expected any of id, name, position, title, division, version", e.getMessage());
+    }
+
+    @Test
+    void testProject() {
+        Employee employee = new Employee(7L, "Emil", "Developer", Title.LEAD, "Java");
+        employee.setVersion(3L);
+
+        Map<String, Object> all = EmployeeFields.parse(String.join(",", EmployeeFields.ALL)).project(employee);
+        Map<String, Object> sparse = EmployeeFields.parse("title,name").project(employee);
+
+        assertEquals(List.of(7L, "Emil", "Developer", Title.LEAD, "Java", 3L), List.copyOf(all.values()));
+        assertEquals(List.of("id", "name", "title"), List.copyOf(sparse.keySet()));
+        assertEquals(List.of(7L, "Emil", Title.LEAD), List.copyOf(sparse.values()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeFilterTest {
+
+    @Test
+    void testNoArgsConstructor() {
+        EmployeeFilter filter = new EmployeeFilter();
+        assertNull(filter.getTitle());
+        assertNull(filter.getDivision());
+        assertNull(filter.getPosition());
+        assertTrue(filter.isEmpty());
+    }
+
+    @Test
+    void testAllArgsConstructor() {
+        EmployeeFilter filter = new EmployeeFilter(Title.SENIOR, "Java", "Developer");
+
+        assertEquals(Title.SENIOR, filter.getTitle());
+        assertEquals("Java", filter.getDivision());
+        assertEquals("Developer", filter.getPosition());
+        assertFalse(filter.isEmpty());
+    }
+
+    @Test
+    void testSettersAndGetters() {
+        EmployeeFilter filter = new EmployeeFilter();
+
+        filter.setTitle(Title.LEAD);
+        assertFalse(filter.isEmpty());
+        filter.setTitle(null);
+        filter.setDivision("QA");
+        assertFalse(filter.isEmpty());
+        filter.setDivision(null);
+        filter.setPosition("QA");
+        assertFalse(filter.isEmpty());
+
+        assertNull(filter.getTitle());
+        assertNull(filter.getDivision());
+        assertEquals("QA", filter.getPosition());
+    }
+}
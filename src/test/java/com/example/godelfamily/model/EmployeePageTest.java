@@ -0,0 +1,43 @@
+package com.example.godelfamily.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeePageTest {
+
+    @Test
+    void testNoArgsConstructor() {
+        EmployeePage page = new EmployeePage();
+        assertNotNull(page);
+        assertNull(page.getContent());
+        assertEquals(0, page.getSize());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testAllArgsConstructor() {
+        Employee employee = new Employee(1L, "John", "Developer", Title.SENIOR, "Java");
+        EmployeePage page = new EmployeePage(List.of(employee), 1, 1L);
+
+        assertEquals(List.of(employee), page.getContent());
+        assertEquals(1, page.getSize());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    void testSettersAndGetters() {
+        Employee employee = new Employee(2L, "Jane", "QA", Title.MIDDLE, "QA");
+        EmployeePage page = new EmployeePage();
+
+        page.setContent(List.of(employee));
+        page.setSize(1);
+        page.setNextCursor(2L);
+
+        assertEquals(List.of(employee), page.getContent());
+        assertEquals(1, page.getSize());
+        assertEquals(2L, page.getNextCursor());
+    }
+}
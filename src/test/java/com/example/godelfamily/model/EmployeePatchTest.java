@@ -0,0 +1,63 @@
+package com.example.godelfamily.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testNewPatchIsEmpty() {
+        EmployeePatch patch = new EmployeePatch();
+
+        assertTrue(patch.isEmpty());
+        assertTrue(patch.getChanges().isEmpty());
+    }
+
+    @Test
+    void testSettersRecordChanges() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setName("Emil");
+        patch.setPosition("Architect");
+        patch.setTitle(Title.LEAD);
+        patch.setDivision("Java");
+
+        assertFalse(patch.isEmpty());
+        assertEquals(List.of("name", "position", "title", "division"), List.copyOf(patch.getChanges().keySet()));
+        assertThrows(UnsupportedOperationException.class, () -> patch.getChanges().clear());
+    }
+
+    @Test
+    void testDeserializeKeepsOnlyPresentMembers() throws Exception {
+        EmployeePatch patch = objectMapper.readValue("{\"title\":\"SENIOR\",\"division\":null}", EmployeePatch.class);
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("title", Title.SENIOR);
+        expected.put("division", null);
+        assertEquals(expected, patch.getChanges());
+    }
+
+    @Test
+    void testApplyToChangesOnlyPatchedFields() {
+        Employee employee = new Employee(1L, "Emil", "Developer", Title.JUNIOR, "Java");
+        employee.setVersion(2L);
+        EmployeePatch patch = new EmployeePatch();
+        patch.setTitle(Title.MIDDLE);
+        patch.setPosition("Architect");
+
+        patch.applyTo(employee);
+
+        assertEquals("Emil", employee.getName());
+        assertEquals("Architect", employee.getPosition());
+        assertEquals(Title.MIDDLE, employee.getTitle());
+        assertEquals("Java", employee.getDivision());
+        assertEquals(2L, employee.getVersion());
+    }
+}
@@ -1,22 +1,32 @@
 package com.example.godelfamily.repository;
 
 import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFilter;
 import com.example.godelfamily.model.Title;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class EmployeeRepositoryTest {
 
     @Autowired
     private EmployeeRepository repository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void testFindAll_ReturnsAllEmployees() {
         // Save some test data
@@ -111,4 +121,65 @@ class EmployeeRepositoryTest {
         assertNotNull(saved2.getId());
         assertTrue(saved2.getId() > saved1.getId());
     }
+
+    @Test
+    void testIdGreaterThan_KeysetPages() {
+        Employee first = repository.save(new Employee(null, "User1", "Developer", Title.JUNIOR, "Java"));
+        Employee second = repository.save(new Employee(null, "User2", "QA", Title.MIDDLE, "QA"));
+        Employee third = repository.save(new Employee(null, "User3", "BA", Title.SENIOR, "BA"));
+
+        List<Employee> firstPage = page(EmployeeSpecifications.idGreaterThan(0L), 2);
+        List<Employee> secondPage = page(EmployeeSpecifications.idGreaterThan(second.getId()), 2);
+
+        assertEquals(List.of(first, second), firstPage);
+        assertEquals(List.of(third), secondPage);
+    }
+
+    @Test
+    void testMatching_CombinedFilters() {
+        Employee javaSenior = repository.save(new Employee(null, "Pavel", "Developer", Title.SENIOR, "Java"));
+        repository.save(new Employee(null, "Dmitry", "Developer", Title.SENIOR, "JS"));
+        repository.save(new Employee(null, "Igor", "Developer", Title.MIDDLE, "Java"));
+        Employee qaSenior = repository.save(new Employee(null, "Olga", "QA", Title.SENIOR, "QA"));
+
+        assertEquals(List.of(javaSenior),
+            page(EmployeeSpecifications.matching(new EmployeeFilter(Title.SENIOR, "Java", null)), 10));
+        assertEquals(List.of(qaSenior),
+            page(EmployeeSpecifications.matching(new EmployeeFilter(Title.SENIOR, null, "QA")), 10));
+        assertEquals(4, page(EmployeeSpecifications.matching(new EmployeeFilter()), 10).size());
+    }
+
+    @Test
+    void testFilterColumns_AreIndexed() {
+        assertPlanUsesIndex("SELECT * FROM employees WHERE title = 'SENIOR'", "IDX_EMPLOYEES_TITLE");
+        assertPlanUsesIndex("SELECT * FROM employees WHERE division = 'Java'", "IDX_EMPLOYEES_DIVISION");
+        assertPlanUsesIndex("SELECT * FROM employees WHERE position = 'QA'", "IDX_EMPLOYEES_POSITION");
+    }
+
+    private List<Employee> page(Specification<Employee> spec, int size) {
+        return repository.findBy(spec, query -> query.sortBy(Sort.by("id")).limit(size).all());
+    }
+
+    private void assertPlanUsesIndex(String sql, String index) {
+        String plan = (String) entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult();
+        assertTrue(plan.toUpperCase().contains(index), plan);
+    }
+
+    @Test
+    void testSaveAll_InsertsAreJdbcBatched() {
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(new Employee(null, "User" + i, "Developer", Title.JUNIOR, "Java"));
+        }
+        statistics.clear();
+
+        repository.saveAll(employees);
+        repository.flush();
+
+        // Row-by-row inserts would prepare 200+ statements; batches of 50 plus a few pooled
+        // sequence calls stay well below that
+        assertTrue(statistics.getPrepareStatementCount() < 20);
+        assertEquals(200, statistics.getEntityInsertCount());
+    }
 }
@@ -0,0 +1,391 @@
+package com.example.godelfamily.repository;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePatch;
+import com.example.godelfamily.model.Title;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every EmployeeStore engine must share; each engine runs these tests through a subclass.
+// Spring resolves @Transactional on the declaring class of a test method, so the rollback per test
+// that database engines rely on has to be declared here; plain JUnit subclasses ignore it.
+@Transactional
+abstract class EmployeeStoreContractTest {
+
+    protected abstract EmployeeStore store();
+
+    // Called between steps so later reads see committed state, as the next request would
+    protected void endOfRequest() {
+    }
+
+    @Test
+    void testSave_AssignsAscendingIds() {
+        Employee first = store().save(employee("Emil", "Developer", Title.LEAD, "Java"));
+        Employee second = store().save(employee("Olga", "QA", Title.SENIOR, "QA"));
+        endOfRequest();
+
+        assertNotNull(first.getId());
+        assertTrue(second.getId() > first.getId());
+        assertEquals(0L, store().findById(first.getId()).orElseThrow().getVersion());
+        assertEquals("Emil|Developer|LEAD|Java", fields(store().findById(first.getId()).orElseThrow()));
+        assertEquals("Olga|QA|SENIOR|QA", fields(store().findById(second.getId()).orElseThrow()));
+    }
+
+    @Test
+    void testSave_WithCurrentVersionReplacesRow() {
+        long id = store().save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        endOfRequest();
+
+        Employee row = store().findById(id).orElseThrow();
+        assertEquals(0L, row.getVersion());
+        row.setPosition("Architect");
+        row.setTitle(Title.SENIOR);
+        row.setDivision("Python");
+        store().save(row);
+        endOfRequest();
+
+        Employee replaced = store().findById(id).orElseThrow();
+        assertEquals("Emil|Architect|SENIOR|Python", fields(replaced));
+        assertEquals(1L, replaced.getVersion());
+        assertEquals(1, store().findAll().size());
+    }
+
+    @Test
+    void testSave_WithStaleVersionFails() {
+        long id = store().save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        endOfRequest();
+        Employee stale = store().findById(id).orElseThrow();
+        endOfRequest();
+        Employee current = store().findById(id).orElseThrow();
+        current.setTitle(Title.SENIOR);
+        store().save(current);
+        endOfRequest();
+
+        stale.setDivision("Python");
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            store().save(stale);
+            store().flush();
+        });
+    }
+
+    @Test
+    void testDelete_WithStaleVersionFails() {
+        long id = store().save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        endOfRequest();
+        Employee stale = store().findById(id).orElseThrow();
+        endOfRequest();
+        Employee current = store().findById(id).orElseThrow();
+        current.setTitle(Title.SENIOR);
+        store().save(current);
+        endOfRequest();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            store().delete(stale);
+            store().flush();
+        });
+    }
+
+    @Test
+    void testDelete_WithCurrentVersionRemovesRow() {
+        List<Long> ids = seed();
+
+        store().delete(store().findById(ids.get(1)).orElseThrow());
+        endOfRequest();
+
+        assertFalse(store().existsById(ids.get(1)));
+        assertEquals(List.of("Olga"), names(store().findPage(new EmployeeFilter(Title.SENIOR, null, null), 0, 10)));
+    }
+
+    @Test
+    void testSaveAll_ReturnsRowsWithIds() {
+        List<Employee> saved = store().saveAll(List.of(
+                employee("Emil", "Developer", Title.LEAD, "Java"),
+                employee("Olga", "QA", Title.SENIOR, "QA")));
+        endOfRequest();
+
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().allMatch(employee -> employee.getId() != null));
+        assertEquals(2, store().findAll().size());
+    }
+
+    @Test
+    void testFindById_AndExistsById() {
+        long id = store().save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        endOfRequest();
+
+        assertTrue(store().existsById(id));
+        assertFalse(store().existsById(id + 1000));
+        assertTrue(store().findById(id + 1000).isEmpty());
+    }
+
+    @Test
+    void testFindAllById_ReturnsOnlyExistingRows() {
+        List<Long> ids = seed();
+
+        List<Employee> found = store().findAllById(Set.of(ids.get(0), ids.get(3), 999_999L));
+
+        assertEquals(Set.of(ids.get(0), ids.get(3)), Set.copyOf(found.stream().map(Employee::getId).toList()));
+    }
+
+    @Test
+    void testFindAll_OrderedById() {
+        List<Long> ids = seed();
+
+        assertEquals(ids, store().findAll().stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void testStreamAll_OrderedById() {
+        List<Long> ids = seed();
+
+        try (Stream<Employee> employees = store().streamAll()) {
+            assertEquals(ids, employees.map(Employee::getId).toList());
+        }
+    }
+
+    @Test
+    void testFindPage_KeysetOverAllRows() {
+        List<Long> ids = seed();
+
+        List<Employee> first = store().findPage(new EmployeeFilter(), 0, 4);
+        List<Employee> second = store().findPage(new EmployeeFilter(), first.get(3).getId(), 4);
+
+        assertEquals(ids.subList(0, 4), first.stream().map(Employee::getId).toList());
+        assertEquals(ids.subList(4, 6), second.stream().map(Employee::getId).toList());
+        assertTrue(store().findPage(new EmployeeFilter(), ids.get(5), 4).isEmpty());
+        assertTrue(store().findPage(new EmployeeFilter(), Long.MAX_VALUE, 4).isEmpty());
+        assertEquals(ids.subList(0, 2), store().findPage(new EmployeeFilter(), -5, 2).stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void testFindPage_Filters() {
+        seed();
+
+        assertEquals(List.of("Pavel", "Olga"), names(store().findPage(new EmployeeFilter(Title.SENIOR, null, null), 0, 10)));
+        assertEquals(List.of("Emil", "Pavel", "Igor"), names(store().findPage(new EmployeeFilter(null, "Java", null), 0, 10)));
+        assertEquals(List.of("Sergey", "Olga"), names(store().findPage(new EmployeeFilter(null, null, "QA"), 0, 10)));
+        assertEquals(List.of("Pavel"), names(store().findPage(new EmployeeFilter(Title.SENIOR, "Java", "Developer"), 0, 10)));
+        assertEquals(List.of("Emil", "Pavel"), names(store().findPage(new EmployeeFilter(null, "Java", null), 0, 2)));
+        assertTrue(store().findPage(new EmployeeFilter(null, "Nowhere", null), 0, 10).isEmpty());
+        assertTrue(store().findPage(new EmployeeFilter(Title.JUNIOR, "Java", null), 0, 10).isEmpty());
+    }
+
+    @Test
+    void testFindPage_FollowsUpdates() {
+        List<Long> ids = seed();
+
+        Employee row = store().findById(ids.get(0)).orElseThrow();
+        row.setTitle(Title.JUNIOR);
+        row.setDivision("Python");
+        store().save(row);
+        endOfRequest();
+
+        assertEquals(List.of("Pavel", "Igor"), names(store().findPage(new EmployeeFilter(null, "Java", null), 0, 10)));
+        assertEquals(List.of("Emil", "Anna"), names(store().findPage(new EmployeeFilter(Title.JUNIOR, "Python", null), 0, 10)));
+        assertTrue(store().findPage(new EmployeeFilter(Title.LEAD, null, null), 0, 10).isEmpty());
+    }
+
+    @Test
+    void testDeleteById_RemovesRowEverywhere() {
+        List<Long> ids = seed();
+
+        store().deleteById(ids.get(1));
+        endOfRequest();
+
+        assertFalse(store().existsById(ids.get(1)));
+        assertEquals(5, store().findAll().size());
+        assertEquals(List.of("Olga"), names(store().findPage(new EmployeeFilter(Title.SENIOR, null, null), 0, 10)));
+        try (Stream<Employee> employees = store().streamAll()) {
+            assertFalse(employees.anyMatch(employee -> employee.getId().equals(ids.get(1))));
+        }
+    }
+
+    @Test
+    void testFindPageFields_SelectsOnlyRequestedFields() {
+        List<Long> ids = seed();
+        endOfRequest();
+        EmployeeFields fields = EmployeeFields.parse("title,name");
+
+        List<Map<String, Object>> java = store().findPageFields(new EmployeeFilter(null, "Java", null), 0, 10, fields);
+        List<Map<String, Object>> page = store().findPageFields(new EmployeeFilter(), ids.get(1), 2, fields);
+
+        assertEquals(List.of(
+                Map.of("id", ids.get(0), "name", "Emil", "title", Title.LEAD),
+                Map.of("id", ids.get(1), "name", "Pavel", "title", Title.SENIOR),
+                Map.of("id", ids.get(5), "name", "Igor", "title", Title.MIDDLE)), java);
+        assertEquals(List.of("id", "name", "title"), List.copyOf(java.get(0).keySet()));
+        assertEquals(List.of(ids.get(2), ids.get(3)), page.stream().map(row -> row.get("id")).toList());
+        assertTrue(store().findPageFields(new EmployeeFilter(Title.LEAD, "QA", null), 0, 10, fields).isEmpty());
+    }
+
+    @Test
+    void testFindFieldsById() {
+        long id = store().save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        endOfRequest();
+
+        assertEquals(Map.of("id", id, "division", "Java", "version", 0L),
+                store().findFieldsById(id, EmployeeFields.parse("division,version")).orElseThrow());
+        assertTrue(store().findFieldsById(id + 1000, EmployeeFields.parse("name")).isEmpty());
+    }
+
+    @Test
+    void testUpdateFields_OverwritesRowAndBumpsVersion() {
+        List<Long> ids = seed();
+
+        assertEquals(Optional.of(1L), store().updateFields(ids.get(0), employee("Emil", "Architect", Title.JUNIOR, "Python"), null));
+        endOfRequest();
+
+        Employee row = store().findById(ids.get(0)).orElseThrow();
+        assertEquals("Emil|Architect|JUNIOR|Python", fields(row));
+        assertEquals(1L, row.getVersion());
+        assertEquals(List.of("Emil", "Anna"), names(store().findPage(new EmployeeFilter(Title.JUNIOR, "Python", null), 0, 10)));
+        assertTrue(store().findPage(new EmployeeFilter(Title.LEAD, null, null), 0, 10).isEmpty());
+    }
+
+    @Test
+    void testUpdateFields_OnlyWhenVersionMatches() {
+        long id = store().save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        endOfRequest();
+        Employee fields = employee("Emil", "Architect", Title.SENIOR, "Python");
+
+        assertEquals(Optional.empty(), store().updateFields(id, fields, Set.of(5L)));
+        assertEquals(Optional.empty(), store().updateFields(id, fields, Set.of()));
+        assertEquals(Optional.empty(), store().updateFields(id + 1000, fields, null));
+        assertEquals(Optional.of(1L), store().updateFields(id, fields, Set.of(0L, 5L)));
+        endOfRequest();
+        assertEquals(Optional.empty(), store().updateFields(id, fields, Set.of(0L)));
+        assertEquals(Optional.of(2L), store().updateFields(id, fields, Set.of(1L)));
+        endOfRequest();
+
+        assertEquals(2L, store().findById(id).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testPatchFields_WritesOnlyPatchedFields() {
+        long id = store().save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        endOfRequest();
+        EmployeePatch patch = new EmployeePatch();
+        patch.setTitle(Title.SENIOR);
+        patch.setDivision("Python");
+
+        assertEquals(1, store().patchFields(id, patch, null));
+        endOfRequest();
+
+        Employee row = store().findById(id).orElseThrow();
+        assertEquals("Emil|Developer|SENIOR|Python", fields(row));
+        assertEquals(1L, row.getVersion());
+        assertEquals(List.of("Emil"), names(store().findPage(new EmployeeFilter(Title.SENIOR, "Python", null), 0, 10)));
+        assertTrue(store().findPage(new EmployeeFilter(Title.LEAD, null, null), 0, 10).isEmpty());
+    }
+
+    @Test
+    void testPatchFields_OnlyWhenVersionMatches() {
+        long id = store().save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        endOfRequest();
+        EmployeePatch patch = new EmployeePatch();
+        patch.setName("Emil Updated");
+
+        assertEquals(0, store().patchFields(id, patch, Set.of(5L)));
+        assertEquals(0, store().patchFields(id, patch, Set.of()));
+        assertEquals(0, store().patchFields(id + 1000, patch, null));
+        endOfRequest();
+        assertEquals("Emil|Developer|LEAD|Java", fields(store().findById(id).orElseThrow()));
+
+        assertEquals(1, store().patchFields(id, patch, Set.of(0L, 5L)));
+        endOfRequest();
+
+        Employee row = store().findById(id).orElseThrow();
+        assertEquals("Emil Updated|Developer|LEAD|Java", fields(row));
+        assertEquals(1L, row.getVersion());
+    }
+
+    @Test
+    void testDeleteById_WithExpectedVersions() {
+        List<Long> ids = seed();
+
+        assertEquals(0, store().deleteById(ids.get(0), Set.of(3L)));
+        assertEquals(0, store().deleteById(ids.get(0), Set.of()));
+        assertEquals(1, store().deleteById(ids.get(0), Set.of(0L)));
+        assertEquals(1, store().deleteById(ids.get(1), null));
+        assertEquals(0, store().deleteById(ids.get(1), null));
+        endOfRequest();
+
+        assertEquals(ids.subList(2, 6), store().findAll().stream().map(Employee::getId).toList());
+        assertTrue(store().findPage(new EmployeeFilter(null, "Java", "Developer"), 0, 10).stream()
+                .allMatch(employee -> employee.getName().equals("Igor")));
+    }
+
+    @Test
+    void testDeleteAll() {
+        List<Long> ids = seed();
+        List<Employee> toDelete = store().findAllById(List.of(ids.get(0), ids.get(2)));
+
+        store().deleteAll(toDelete);
+        store().flush();
+        endOfRequest();
+
+        assertEquals(List.of(ids.get(1), ids.get(3), ids.get(4), ids.get(5)),
+                store().findAll().stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void testInsertAll_AssignsIdsBeforeLaterSaves() {
+        List<Employee> batch = new ArrayList<>(List.of(
+                employee("Emil", "Developer", Title.LEAD, "Java"),
+                employee("Olga", "QA", Title.SENIOR, "QA"),
+                employee("Anna", "Developer", Title.JUNIOR, "Python")));
+
+        store().insertAll(batch);
+        Employee later = store().save(employee("Igor", "Developer", Title.MIDDLE, "Java"));
+        endOfRequest();
+
+        assertTrue(batch.get(0).getId() < batch.get(1).getId() && batch.get(1).getId() < batch.get(2).getId());
+        assertTrue(later.getId() > batch.get(2).getId());
+        assertEquals(0L, batch.get(0).getVersion());
+        assertEquals(0L, store().findById(batch.get(1).getId()).orElseThrow().getVersion());
+        assertEquals(List.of("Emil", "Olga", "Anna", "Igor"), names(store().findAll()));
+        assertEquals(List.of("Emil", "Igor"), names(store().findPage(new EmployeeFilter(null, "Java", null), 0, 10)));
+    }
+
+    // Six employees saved in this order; returns their ids
+    private List<Long> seed() {
+        List<Long> ids = new ArrayList<>();
+        for (Employee employee : List.of(
+                employee("Emil", "Developer", Title.LEAD, "Java"),
+                employee("Pavel", "Developer", Title.SENIOR, "Java"),
+                employee("Sergey", "QA", Title.MIDDLE, "QA"),
+                employee("Anna", "Developer", Title.JUNIOR, "Python"),
+                employee("Olga", "QA", Title.SENIOR, "QA"),
+                employee("Igor", "Developer", Title.MIDDLE, "Java"))) {
+            ids.add(store().save(employee).getId());
+        }
+        endOfRequest();
+        ids.sort(Comparator.naturalOrder());
+        return ids;
+    }
+
+    static Employee employee(String name, String position, Title title, String division) {
+        return new Employee(null, name, position, title, division);
+    }
+
+    static String fields(Employee employee) {
+        return employee.getName() + "|" + employee.getPosition() + "|" + employee.getTitle() + "|" + employee.getDivision();
+    }
+
+    static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).toList();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.godelfamily.repository;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.Title;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryEmployeeStoreTest extends EmployeeStoreContractTest {
+
+    private final InMemoryEmployeeStore store = new InMemoryEmployeeStore();
+
+    @Override
+    protected EmployeeStore store() {
+        return store;
+    }
+
+    @Test
+    void testReturnedRowsAreCopies() {
+        Employee saved = store.save(employee("Emil", "Developer", Title.LEAD, "Java"));
+        saved.setTitle(Title.JUNIOR);
+        store.findById(saved.getId()).orElseThrow().setDivision("Python");
+
+        assertEquals("Emil|Developer|LEAD|Java", fields(store.findById(saved.getId()).orElseThrow()));
+        assertEquals(1, store.findPage(new EmployeeFilter(Title.LEAD, "Java", null), 0, 10).size());
+    }
+
+    @Test
+    void testSave_WithIdMovesSequencePastIt() {
+        store.save(new Employee(100L, "Emil", "Developer", Title.LEAD, "Java"));
+
+        assertEquals(101L, store.save(employee("Olga", "QA", Title.SENIOR, "QA")).getId());
+    }
+
+    @Test
+    void testSave_WithVersionForMissingRowFails() {
+        Employee deleted = store.save(employee("Emil", "Developer", Title.LEAD, "Java"));
+        store.deleteById(deleted.getId());
+
+        assertThrows(OptimisticLockingFailureException.class, () -> store.save(deleted));
+        assertTrue(store.findAll().isEmpty());
+    }
+
+    @Test
+    void testDelete_MissingRowIsIgnored() {
+        Employee deleted = store.save(employee("Emil", "Developer", Title.LEAD, "Java"));
+        store.deleteById(deleted.getId());
+
+        assertDoesNotThrow(() -> store.delete(deleted));
+    }
+
+    @Test
+    void testDeleteById_MissingIdIsIgnored() {
+        store.deleteById(42L);
+
+        assertTrue(store.findAll().isEmpty());
+    }
+
+    @Test
+    void testRollback_RestoresRowsTheTransactionWrote() {
+        long updated = store.save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        long deleted = store.save(employee("Olga", "QA", Title.SENIOR, "QA")).getId();
+        long replaced = store.save(employee("Pavel", "Developer", Title.MIDDLE, "Java")).getId();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            long created = store.save(employee("Anna", "BA", Title.JUNIOR, "BA")).getId();
+            store.updateFields(updated, employee("Emil", "Architect", Title.LEAD, "Python"), null);
+            store.deleteById(deleted);
+            store.updateFields(replaced, employee("Pavel", "Developer", Title.SENIOR, "Java"), null);
+
+            // Another request commits on top of the transaction's write while it is suspended
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::suspend);
+            TransactionSynchronizationManager.clearSynchronization();
+            store.updateFields(replaced, employee("Pavel", "Developer", Title.LEAD, "Java"), null);
+            TransactionSynchronizationManager.initSynchronization();
+            synchronizations.forEach(synchronization -> {
+                synchronization.resume();
+                TransactionSynchronizationManager.registerSynchronization(synchronization);
+            });
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            assertTrue(store.findById(created).isEmpty());
+            assertEquals("Emil|Developer|LEAD|Java", fields(store.findById(updated).orElseThrow()));
+            assertEquals(0L, store.findById(updated).orElseThrow().getVersion());
+            assertTrue(store.findById(deleted).isPresent());
+            assertEquals(Title.LEAD, store.findById(replaced).orElseThrow().getTitle());
+            assertEquals(List.of(deleted), store.findPage(new EmployeeFilter(null, "QA", null), 0, 10)
+                    .stream().map(Employee::getId).toList());
+            assertTrue(store.findPage(new EmployeeFilter(null, "Python", null), 0, 10).isEmpty());
+            assertNull(TransactionSynchronizationManager.getResource(store));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testConcurrentWriters_KeepIndexesConsistent() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(store.save(employee("Employee " + i, "Developer", Title.JUNIOR, "Java")).getId());
+        }
+        Title[] titles = Title.values();
+        String[] divisions = {"Java", "QA", "BA", "Python"};
+        try (ExecutorService writers = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < 8; w++) {
+                futures.add(writers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 2_000; i++) {
+                        long id = ids.get(random.nextInt(ids.size()));
+                        switch (random.nextInt(4)) {
+                            case 0 -> store.deleteById(id);
+                            case 1 -> store.save(employee("New", "QA", titles[random.nextInt(titles.length)],
+                                    divisions[random.nextInt(divisions.length)]));
+                            default -> store.findById(id).ifPresent(row -> {
+                                row.setTitle(titles[random.nextInt(titles.length)]);
+                                row.setDivision(divisions[random.nextInt(divisions.length)]);
+                                try {
+                                    store.save(row);
+                                } catch (OptimisticLockingFailureException e) {
+                                    // Another writer changed or deleted the row since it was read
+                                }
+                            });
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        List<Employee> all = store.findAll();
+        assertEquals(all.size(), store.findPage(new EmployeeFilter(), 0, Integer.MAX_VALUE).size());
+        for (Title title : titles) {
+            for (String division : divisions) {
+                List<Long> expected = all.stream()
+                        .filter(employee -> employee.getTitle() == title && employee.getDivision().equals(division))
+                        .map(Employee::getId)
+                        .toList();
+                List<Long> indexed = store.findPage(new EmployeeFilter(title, division, null), 0, Integer.MAX_VALUE)
+                        .stream().map(Employee::getId).toList();
+                assertEquals(expected, indexed, title + "/" + division);
+            }
+        }
+    }
+}
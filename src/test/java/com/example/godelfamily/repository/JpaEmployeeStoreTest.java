@@ -0,0 +1,69 @@
+package com.example.godelfamily.repository;
+
+import com.example.godelfamily.config.EmployeeStoreConfig;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.Title;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(EmployeeStoreConfig.class)
+class JpaEmployeeStoreTest extends EmployeeStoreContractTest {
+
+    @Autowired
+    private EmployeeStore employeeStore;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    protected EmployeeStore store() {
+        return employeeStore;
+    }
+
+    @Override
+    protected void endOfRequest() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testDefaultEngine() {
+        assertInstanceOf(JpaEmployeeStore.class, employeeStore);
+    }
+
+    @Test
+    void testStreamAll_DetachesConsumedRows() {
+        employeeStore.save(employee("Emil", "Developer", Title.LEAD, "Java"));
+        employeeStore.save(employee("Olga", "QA", Title.SENIOR, "QA"));
+        endOfRequest();
+
+        try (Stream<Employee> employees = employeeStore.streamAll()) {
+            assertEquals(2, employees.toList().size());
+        }
+
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testFieldQueries_LeavePersistenceContextEmpty() {
+        long id = employeeStore.save(employee("Emil", "Developer", Title.LEAD, "Java")).getId();
+        employeeStore.save(employee("Olga", "QA", Title.SENIOR, "QA"));
+        endOfRequest();
+
+        assertEquals(2, employeeStore.findPageFields(new EmployeeFilter(), 0, 10, EmployeeFields.parse("name")).size());
+        assertTrue(employeeStore.findFieldsById(id, EmployeeFields.parse("name")).isPresent());
+
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIAnswerCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, String> loader = question -> "answer " + loads.incrementAndGet();
+
+    private EmployeeDataVersion dataVersion;
+
+    @BeforeEach
+    void setUp() {
+        dataVersion = new EmployeeDataVersion();
+    }
+
+    @Test
+    void testGet_HitForNormalizedQuestion() {
+        AIAnswerCache cache = cache(Duration.ZERO);
+
+        assertEquals("answer 1", cache.get("How many developers?", loader));
+        assertEquals("answer 1", cache.get("how many  developers", loader));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(0.5, cache.stats().hitRate());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testGet_VersionBumpMisses() {
+        AIAnswerCache cache = cache(Duration.ZERO);
+
+        cache.get("How many developers?", loader);
+        dataVersion.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        assertEquals("answer 2", cache.get("How many developers?", loader));
+    }
+
+    @Test
+    void testGet_ExpiresAfterTtl() {
+        AIAnswerCache cache = cache(Duration.ZERO);
+
+        cache.get("How many developers?", loader);
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        assertEquals("answer 2", cache.get("How many developers?", loader));
+    }
+
+    @Test
+    void testGet_FailedLoadIsNotCached() {
+        AIAnswerCache cache = cache(Duration.ZERO);
+
+        assertThrows(IllegalStateException.class, () -> cache.get("How many developers?", question -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        assertEquals("answer 1", cache.get("How many developers?", loader));
+    }
+
+    @Test
+    void testGet_StaleWhileRevalidate() throws Exception {
+        AIAnswerCache cache = cache(Duration.ofMinutes(1));
+        cache.get("How many developers?", loader);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        String stale = cache.get("How many developers?", question -> {
+            String answer = loader.apply(question);
+            refreshed.countDown();
+            return answer;
+        });
+
+        assertEquals("answer 1", stale);
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        // The refreshed entry is fresh again, so reading it must not trigger another load
+        awaitAnswer(cache, "answer 2");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_FailedRefreshKeepsStaleAnswer() throws Exception {
+        AIAnswerCache cache = cache(Duration.ofMinutes(1));
+        cache.get("How many developers?", loader);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        CountDownLatch attempted = new CountDownLatch(1);
+        Function<String, String> failing = question -> {
+            attempted.countDown();
+            throw new IllegalStateException("upstream down");
+        };
+
+        assertEquals("answer 1", cache.get("How many developers?", failing));
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+
+        assertEquals("answer 1", cache.get("How many developers?", failing));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_ConcurrentMissesShareOneLoad() throws Exception {
+        AIAnswerCache cache = cache(Duration.ZERO);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, String> slowLoader = question -> {
+            loading.countDown();
+            await(release);
+            return loader.apply(question);
+        };
+
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<String>> answers = new ArrayList<>();
+        answers.add(callers.submit(() -> cache.get("How many developers?", slowLoader)));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 9; i++) {
+            answers.add(callers.submit(() -> cache.get("how many developers", slowLoader)));
+        }
+        awaitCoalesced(cache, 9);
+        release.countDown();
+
+        for (Future<String> answer : answers) {
+            assertEquals("answer 1", answer.get(5, TimeUnit.SECONDS));
+        }
+        callers.close();
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.loads().getCalls());
+        assertEquals(9, cache.loads().getCoalesced());
+        assertEquals(0, cache.loads().getInFlight());
+    }
+
+    @Test
+    void testGet_DifferentVersionsAreNotCoalesced() {
+        AIAnswerCache cache = cache(Duration.ZERO);
+        Function<String, String> changingLoader = question -> {
+            if (loads.get() == 0) {
+                // A change lands while the first load is running; the next caller must not share it
+                dataVersion.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+                assertEquals("answer 1", cache.get(question, loader));
+            }
+            return loader.apply(question);
+        };
+
+        assertEquals("answer 2", cache.get("How many developers?", changingLoader));
+        assertEquals(2, cache.loads().getCalls());
+        assertEquals(0, cache.loads().getCoalesced());
+    }
+
+    @Test
+    void testPut_SharedWithGet() {
+        AIAnswerCache cache = cache(Duration.ZERO);
+        AIQuestionKey key = cache.keyFor("How many developers?");
+
+        assertNull(cache.getIfPresent(key));
+        cache.put(key, "streamed answer");
+
+        assertEquals("streamed answer", cache.getIfPresent(cache.keyFor("how many developers")));
+        assertEquals("streamed answer", cache.get("How many developers?", loader));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void testPut_KeyCapturedBeforeDataChangeIsNotServed() {
+        AIAnswerCache cache = cache(Duration.ZERO);
+        AIQuestionKey key = cache.keyFor("How many developers?");
+
+        dataVersion.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+        cache.put(key, "stale answer");
+
+        assertNull(cache.getIfPresent(cache.keyFor("How many developers?")));
+        assertEquals("answer 1", cache.get("How many developers?", loader));
+    }
+
+    @Test
+    void testBindTo_ExposesHitMissAndLoadMeters() {
+        AIAnswerCache cache = cache(Duration.ZERO);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get("How many developers?", loader);
+        cache.get("How many developers?", loader);
+        cache.get("Who are the seniors?", loader);
+
+        assertEquals(1, registry.get("cache.gets").tags("cache", "aiAnswers", "result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("cache.gets").tags("cache", "aiAnswers", "result", "miss").functionCounter().count());
+        assertEquals(2, registry.get("ai.answers.loads").functionCounter().count());
+        assertEquals(0, registry.get("ai.answers.coalesced").functionCounter().count());
+        assertEquals(0, registry.get("ai.answers.in.flight").gauge().value());
+    }
+
+    private AIAnswerCache cache(Duration refreshAfter) {
+        return new AIAnswerCache(dataVersion, 100, Duration.ofMinutes(10), refreshAfter, nanos::get);
+    }
+
+    private static void awaitCoalesced(AIAnswerCache cache, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.loads().getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, cache.loads().getCoalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitAnswer(AIAnswerCache cache, String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String answer = cache.get("How many developers?", loader);
+        while (!expected.equals(answer) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            answer = cache.get("How many developers?", loader);
+        }
+        assertEquals(expected, answer);
+    }
+}
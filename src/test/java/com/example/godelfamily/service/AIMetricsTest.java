@@ -0,0 +1,68 @@
+package com.example.godelfamily.service;
+
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AIMetrics metrics = new AIMetrics(registry);
+
+    @Test
+    void testRecordPrompt_CharactersAndEstimatedTokens() {
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+            .model("gpt-4o-mini")
+            .messages(List.of(new ChatMessage("system", "12345678"), new ChatMessage("user", "1234")))
+            .build();
+
+        metrics.recordPrompt("query", request);
+
+        assertEquals(12, registry.get("ai.prompt.size").tag("mode", "query").summary().totalAmount());
+        assertEquals(3, registry.get("ai.prompt.tokens").tag("mode", "query").summary().totalAmount());
+    }
+
+    @Test
+    void testRecordUsage_PromptAndCompletionTokens() {
+        Usage usage = new Usage();
+        usage.setPromptTokens(900);
+        usage.setCompletionTokens(40);
+
+        metrics.recordUsage("batch", usage);
+        metrics.recordUsage("batch", null);
+
+        assertEquals(900, registry.get("ai.usage.tokens").tags("mode", "batch", "type", "prompt").summary().totalAmount());
+        assertEquals(40, registry.get("ai.usage.tokens").tags("mode", "batch", "type", "completion").summary().totalAmount());
+        assertEquals(1, registry.get("ai.usage.tokens").tags("mode", "batch", "type", "prompt").summary().count());
+    }
+
+    @Test
+    void testTimeUpstream_TagsOutcome() {
+        assertEquals("answer", metrics.timeUpstream("query", () -> "answer"));
+        assertThrows(IllegalStateException.class, () -> metrics.timeUpstream("query", () -> {
+            throw new IllegalStateException("502 Bad Gateway");
+        }));
+
+        assertEquals(1, registry.get("ai.upstream.latency").tags("mode", "query", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("ai.upstream.latency").tags("mode", "query", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testTimeStream_StopsOnceWhicheverWayItEnds() {
+        metrics.timeStream("stream", Flowable.just("a", "b")).toList().blockingGet();
+        metrics.timeStream("stream", Flowable.error(new IllegalStateException("reset"))).test()
+            .assertError(IllegalStateException.class);
+        metrics.timeStream("stream", Flowable.never()).test().cancel();
+
+        assertEquals(1, registry.get("ai.upstream.latency").tags("mode", "stream", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("ai.upstream.latency").tags("mode", "stream", "outcome", "error").timer().count());
+        assertEquals(1, registry.get("ai.upstream.latency").tags("mode", "stream", "outcome", "cancelled").timer().count());
+    }
+}
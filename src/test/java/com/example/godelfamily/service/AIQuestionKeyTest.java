@@ -0,0 +1,42 @@
+package com.example.godelfamily.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIQuestionKeyTest {
+
+    @Test
+    void testNormalize() {
+        assertEquals("how many java developers", AIQuestionKey.normalize("  How many   Java\tdevelopers?? "));
+        assertEquals("who leads qa", AIQuestionKey.normalize("Who leads QA ?!."));
+        assertEquals("", AIQuestionKey.normalize("???"));
+    }
+
+    @Test
+    void testOf_EquivalentQuestionsShareKey() {
+        AIQuestionKey first = AIQuestionKey.of("How many developers?", 3);
+        AIQuestionKey second = AIQuestionKey.of("how many developers", 3);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals("how many developers", first.getQuestion());
+        assertEquals(3, first.getDataVersion());
+    }
+
+    @Test
+    void testEquals_DifferentVersionOrQuestion() {
+        AIQuestionKey key = AIQuestionKey.of("How many developers?", 1);
+
+        assertNotEquals(key, AIQuestionKey.of("How many developers?", 2));
+        assertNotEquals(key, AIQuestionKey.of("How many testers?", 1));
+        assertNotEquals(key, null);
+        assertNotEquals(key, "how many developers");
+        assertEquals(key, key);
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("AIQuestionKey{question='who leads', dataVersion=4}", AIQuestionKey.of("Who leads?", 4).toString());
+    }
+}
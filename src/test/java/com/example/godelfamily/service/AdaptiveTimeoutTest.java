@@ -0,0 +1,58 @@
+package com.example.godelfamily.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTimeoutTest {
+
+    private final AdaptiveTimeout timeout =
+        new AdaptiveTimeout(10, 5, 0.9, 2.0, Duration.ofMillis(100), Duration.ofSeconds(10));
+
+    @Test
+    void testUsesMaxUntilEnoughSamples() {
+        record(4, Duration.ofMillis(200));
+
+        assertEquals(Duration.ofSeconds(10), timeout.current());
+    }
+
+    @Test
+    void testPercentileTimesMultiplier() {
+        record(8, Duration.ofMillis(200));
+        record(1, Duration.ofMillis(400));
+        record(1, Duration.ofMillis(3000));
+
+        // p90 of ten samples is the 9th smallest: 400ms, doubled
+        assertEquals(Duration.ofMillis(800), timeout.current());
+    }
+
+    @Test
+    void testClampedToMin() {
+        record(5, Duration.ofMillis(10));
+
+        assertEquals(Duration.ofMillis(100), timeout.current());
+    }
+
+    @Test
+    void testClampedToMax() {
+        record(5, Duration.ofSeconds(8));
+
+        assertEquals(Duration.ofSeconds(10), timeout.current());
+    }
+
+    @Test
+    void testOldSamplesAreForgotten() {
+        record(10, Duration.ofSeconds(2));
+        record(10, Duration.ofMillis(300));
+
+        assertEquals(Duration.ofMillis(600), timeout.current());
+    }
+
+    private void record(int times, Duration latency) {
+        for (int i = 0; i < times; i++) {
+            timeout.record(latency);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.godelfamily.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void testAcquireUpToLimit() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(2, 0, Duration.ZERO);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+
+        assertEquals(2, bulkhead.getActive());
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    void testReleaseFreesPermit() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 0, Duration.ZERO);
+        assertTrue(bulkhead.tryAcquire());
+
+        bulkhead.release();
+
+        assertEquals(0, bulkhead.getActive());
+        assertTrue(bulkhead.tryAcquire());
+    }
+
+    @Test
+    void testQueuedCallerGetsReleasedPermit() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 1, Duration.ofSeconds(5));
+        assertTrue(bulkhead.tryAcquire());
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> waiting = callers.submit(bulkhead::tryAcquire);
+            awaitQueued(bulkhead, 1);
+
+            bulkhead.release();
+
+            assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(1, bulkhead.getActive());
+    }
+
+    @Test
+    void testFullQueueRejectsImmediately() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 1, Duration.ofSeconds(5));
+        assertTrue(bulkhead.tryAcquire());
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> waiting = callers.submit(bulkhead::tryAcquire);
+            awaitQueued(bulkhead, 1);
+
+            long start = System.nanoTime();
+            assertFalse(bulkhead.tryAcquire());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            assertEquals(1, bulkhead.getRejected());
+
+            bulkhead.release();
+            assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testQueuedCallerGivesUpAfterMaxWait() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 1, Duration.ofMillis(50));
+        assertTrue(bulkhead.tryAcquire());
+
+        assertFalse(bulkhead.tryAcquire());
+
+        assertEquals(1, bulkhead.getRejected());
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    private static void awaitQueued(Bulkhead bulkhead, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getQueued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, bulkhead.getQueued());
+    }
+}
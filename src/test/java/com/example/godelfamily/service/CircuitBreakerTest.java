@@ -0,0 +1,122 @@
+package com.example.godelfamily.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, Duration.ofSeconds(30), nanos::get);
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        fail(3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testOpensAtFailureRateThreshold() {
+        succeed(2);
+        fail(2);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(2, breaker.getShortCircuited());
+        assertEquals(Duration.ofSeconds(30), breaker.getRetryAfter());
+    }
+
+    @Test
+    void testOldOutcomesLeaveTheWindow() {
+        fail(1);
+        succeed(9);
+        succeed(1);
+        fail(4);
+
+        // The first failure has slid out: 4 failures in the last 10 calls
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenLetsOneProbeThrough() {
+        fail(4);
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(Duration.ofSeconds(20), breaker.getRetryAfter());
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(Duration.ZERO, breaker.getRetryAfter());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testSuccessfulProbeCloses() {
+        fail(4);
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testFailedProbeReopens() {
+        fail(4);
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testIgnoredProbeFreesTheSlot() {
+        fail(4);
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testLateOutcomesWhileOpenAreIgnored() {
+        fail(4);
+
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onIgnored();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.exception.AIUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeAIBatchServiceTest {
+
+    @Mock
+    private EmployeeAIService aiService;
+
+    @Mock
+    private EmployeeContextRetriever contextRetriever;
+
+    @Mock
+    private OpenAiService openAiService;
+
+    private final AIAnswerCache answerCache =
+        new AIAnswerCache(new EmployeeDataVersion(), 100, Duration.ofMinutes(10), Duration.ZERO);
+
+    private final ExecutorService aiQueryExecutor = Executors.newCachedThreadPool();
+
+    private final OpenAiGuard openAiGuard = new OpenAiGuard(Executors.newVirtualThreadPerTaskExecutor(),
+        new CircuitBreaker(4, 2, 50, Duration.ofMinutes(1), System::nanoTime),
+        new Bulkhead(16, 16, Duration.ofSeconds(1)),
+        new AdaptiveTimeout(10, 10, 0.99, 2.0, Duration.ofSeconds(5), Duration.ofSeconds(5)),
+        Duration.ofSeconds(1));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AIMetrics aiMetrics = new AIMetrics(meterRegistry);
+
+    private EmployeeAIBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = service(3, 1000, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aiQueryExecutor.shutdownNow();
+    }
+
+    @Test
+    void testQueryEmployees_AnswersAllQuestionsInOneCompletion() {
+        when(aiService.isConfigured()).thenReturn(true);
+        when(contextRetriever.getTokenBudget()).thenReturn(300);
+        when(contextRetriever.contextFor(anyList())).thenReturn("Employees\n");
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(completion(
+            "{\"answers\":[{\"id\":2,\"answer\":\"Pavel is senior.\"},{\"id\":1,\"answer\":\"There are 5 developers.\"}]}"));
+
+        List<String> answers = batchService.queryEmployees(List.of("How many developers?", "Who are the seniors?"));
+
+        assertEquals(List.of("There are 5 developers.", "Pavel is senior."), answers);
+        ArgumentCaptor<ChatCompletionRequest> request = ArgumentCaptor.forClass(ChatCompletionRequest.class);
+        verify(openAiService, times(1)).createChatCompletion(request.capture());
+        String prompt = request.getValue().getMessages().get(1).getContent();
+        assertTrue(prompt.startsWith("Employees\n"));
+        assertTrue(prompt.contains("1. How many developers?\n2. Who are the seniors?\n"));
+        assertTrue(request.getValue().getMessages().get(0).getContent().contains(EmployeeAIBatchService.BATCH_INSTRUCTIONS));
+        assertEquals(200, request.getValue().getMaxTokens());
+        verify(contextRetriever).contextFor(List.of("How many developers?", "Who are the seniors?"));
+        assertEquals(2, answerCache.size());
+    }
+
+    @Test
+    void testQueryEmployees_ServesCachedAndRepeatedQuestionsWithoutAsking() {
+        when(aiService.isConfigured()).thenReturn(true);
+        when(contextRetriever.getTokenBudget()).thenReturn(300);
+        when(contextRetriever.contextFor(anyList())).thenReturn("Employees\n");
+        answerCache.put(answerCache.keyFor("Who are the seniors?"), "Pavel is senior.");
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(completion(
+            "{\"answers\":[{\"id\":1,\"answer\":\"There are 5 developers.\"}]}"));
+
+        List<String> answers = batchService.queryEmployees(
+            List.of("How many developers?", "who are the seniors", "How many developers?"));
+
+        assertEquals(List.of("There are 5 developers.", "Pavel is senior.", "There are 5 developers."), answers);
+        verify(contextRetriever).contextFor(List.of("How many developers?"));
+        verify(openAiService, times(1)).createChatCompletion(any(ChatCompletionRequest.class));
+    }
+
+    @Test
+    void testQueryEmployees_AllCachedMakesNoCall() {
+        when(aiService.isConfigured()).thenReturn(true);
+        answerCache.put(answerCache.keyFor("How many developers?"), "There are 5 developers.");
+
+        assertEquals(List.of("There are 5 developers."), batchService.queryEmployees(List.of("How many developers?")));
+        verifyNoInteractions(openAiService, contextRetriever);
+    }
+
+    @Test
+    void testQueryEmployees_MissingAnswerFallsBackToSingleQuestion() {
+        when(aiService.isConfigured()).thenReturn(true);
+        when(contextRetriever.getTokenBudget()).thenReturn(300);
+        when(contextRetriever.contextFor(anyList())).thenReturn("Employees\n");
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(completion(
+            "```json\n{\"answers\":[{\"id\":1,\"answer\":\"There are 5 developers.\"}]}\n```"));
+        when(aiService.queryEmployeesAsync("Who are the seniors?"))
+            .thenReturn(CompletableFuture.completedFuture("Pavel is senior."));
+
+        List<String> answers = batchService.queryEmployees(List.of("How many developers?", "Who are the seniors?"));
+
+        assertEquals(List.of("There are 5 developers.", "Pavel is senior."), answers);
+        verify(aiService, times(1)).queryEmployeesAsync("Who are the seniors?");
+    }
+
+    @Test
+    void testQueryEmployees_GarbledReplyAsksFallbacksInParallel() {
+        when(aiService.isConfigured()).thenReturn(true);
+        when(contextRetriever.getTokenBudget()).thenReturn(300);
+        when(contextRetriever.contextFor(anyList())).thenReturn("Employees\n");
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(completion("Sorry!"));
+        // Each fallback completes only once all three were asked, which a serial loop never reaches
+        CountDownLatch asked = new CountDownLatch(3);
+        when(aiService.queryEmployeesAsync(anyString())).thenAnswer(invocation -> {
+            asked.countDown();
+            String question = invocation.getArgument(0);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return asked.await(5, TimeUnit.SECONDS) ? "Answer to " + question : "serial";
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, aiQueryExecutor);
+        });
+
+        List<String> answers = batchService.queryEmployees(List.of("One?", "Two?", "Three?"));
+
+        assertEquals(List.of("Answer to One?", "Answer to Two?", "Answer to Three?"), answers);
+        verify(openAiService, times(1)).createChatCompletion(any(ChatCompletionRequest.class));
+    }
+
+    @Test
+    void testQueryEmployees_UnavailableFallbackIsPropagated() {
+        when(aiService.isConfigured()).thenReturn(true);
+        when(contextRetriever.getTokenBudget()).thenReturn(300);
+        when(contextRetriever.contextFor(anyList())).thenReturn("Employees\n");
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(completion("{}"));
+        when(aiService.queryEmployeesAsync("How many developers?")).thenReturn(CompletableFuture.failedFuture(
+            new AIUnavailableException(AIUnavailableException.Reason.BULKHEAD_FULL, Duration.ofSeconds(1))));
+
+        AIUnavailableException e = assertThrows(AIUnavailableException.class,
+            () -> batchService.queryEmployees(List.of("How many developers?")));
+        assertEquals(AIUnavailableException.Reason.BULKHEAD_FULL, e.getReason());
+    }
+
+    @Test
+    void testQueryEmployees_SplitsQuestionsByTokenBudget() {
+        // 200 tokens left after the context: two questions of ~100 tokens each per completion
+        batchService = service(10, 500, 90);
+        when(aiService.isConfigured()).thenReturn(true);
+        when(contextRetriever.getTokenBudget()).thenReturn(300);
+        when(contextRetriever.contextFor(anyList())).thenReturn("Employees\n");
+        List<List<String>> asked = new ArrayList<>();
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenAnswer(invocation -> {
+            String prompt = invocation.getArgument(0, ChatCompletionRequest.class).getMessages().get(1).getContent();
+            List<String> lines = prompt.lines().filter(line -> line.matches("\\d+\\. .*")).toList();
+            synchronized (asked) {
+                asked.add(lines);
+            }
+            StringBuilder json = new StringBuilder("{\"answers\":[");
+            for (int i = 0; i < lines.size(); i++) {
+                json.append(i == 0 ? "" : ",").append("{\"id\":").append(i + 1)
+                    .append(",\"answer\":\"").append(lines.get(i).substring(3)).append(" answered\"}");
+            }
+            return completion(json.append("]}").toString());
+        });
+
+        List<String> answers = batchService.queryEmployees(List.of("q one", "q two", "q three", "q four", "q five"));
+
+        assertEquals(List.of("q one answered", "q two answered", "q three answered", "q four answered",
+            "q five answered"), answers);
+        assertEquals(3, asked.size());
+        assertTrue(asked.stream().allMatch(lines -> lines.size() <= 2));
+    }
+
+    @Test
+    void testQueryEmployees_UpstreamErrorBecomesErrorAnswers() {
+        when(aiService.isConfigured()).thenReturn(true);
+        when(contextRetriever.getTokenBudget()).thenReturn(300);
+        when(contextRetriever.contextFor(anyList())).thenReturn("Employees\n");
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+            .thenThrow(new RuntimeException("API Error"));
+
+        List<String> answers = batchService.queryEmployees(List.of("How many developers?", "Who are the seniors?"));
+
+        assertEquals(2, answers.size());
+        assertTrue(answers.stream().allMatch(answer -> answer.contains("Error processing your question: API Error")));
+        assertEquals(0, answerCache.size());
+    }
+
+    @Test
+    void testQueryEmployees_UnavailableIsPropagated() {
+        OpenAiGuard openGuard = new OpenAiGuard(Executors.newVirtualThreadPerTaskExecutor(),
+            new CircuitBreaker(2, 1, 50, Duration.ofMinutes(1), System::nanoTime),
+            new Bulkhead(16, 16, Duration.ofSeconds(1)),
+            new AdaptiveTimeout(10, 10, 0.99, 2.0, Duration.ofSeconds(5), Duration.ofSeconds(5)),
+            Duration.ofSeconds(1));
+        assertThrows(RuntimeException.class, () -> openGuard.call(() -> {
+            throw new RuntimeException("down");
+        }));
+        batchService = new EmployeeAIBatchService(aiService, contextRetriever, openAiService, answerCache,
+            openGuard, aiMetrics, new ObjectMapper(), aiQueryExecutor, 3, 1000, 100);
+        when(aiService.isConfigured()).thenReturn(true);
+        when(contextRetriever.getTokenBudget()).thenReturn(300);
+        when(contextRetriever.contextFor(anyList())).thenReturn("Employees\n");
+
+        AIUnavailableException e = assertThrows(AIUnavailableException.class,
+            () -> batchService.queryEmployees(List.of("How many developers?")));
+        assertEquals(AIUnavailableException.Reason.CIRCUIT_OPEN, e.getReason());
+        verifyNoInteractions(openAiService);
+    }
+
+    @Test
+    void testQueryEmployees_NoApiKey() {
+        List<String> answers = batchService.queryEmployees(List.of("How many developers?", "Who are the seniors?"));
+
+        assertEquals(List.of(EmployeeAIService.NO_API_KEY_MESSAGE, EmployeeAIService.NO_API_KEY_MESSAGE), answers);
+        verifyNoInteractions(openAiService);
+    }
+
+    @Test
+    void testQueryEmployeesAsync_RejectsInvalidBatchesOnCallerThread() {
+        assertThrows(IllegalArgumentException.class, () -> batchService.queryEmployeesAsync(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> batchService.queryEmployeesAsync(List.of("a", "b", "c", "d")));
+        assertThrows(IllegalArgumentException.class, () -> batchService.queryEmployeesAsync(List.of("a", " ")));
+    }
+
+    @Test
+    void testQueryEmployeesAsync_Completes() throws Exception {
+        when(aiService.isConfigured()).thenReturn(false);
+
+        assertEquals(List.of(EmployeeAIService.NO_API_KEY_MESSAGE),
+            batchService.queryEmployeesAsync(List.of("How many developers?")).get());
+    }
+
+    @Test
+    void testChunks_KeepsAtLeastOneQuestionPerChunk() {
+        when(contextRetriever.getTokenBudget()).thenReturn(1000);
+        Map<AIQuestionKey, String> questions = new LinkedHashMap<>();
+        questions.put(answerCache.keyFor("first"), "first");
+        questions.put(answerCache.keyFor("second"), "second");
+
+        assertEquals(2, batchService.chunks(questions).size());
+    }
+
+    @Test
+    void testParse_ToleratesNoiseAndSkipsBadEntries() {
+        Map<Integer, String> answers = batchService.parse(
+            "Sure! {\"answers\":[{\"id\":1,\"answer\":\"Yes\"},{\"id\":2,\"answer\":\"\"},{\"answer\":\"No id\"}]} Bye");
+
+        assertEquals(Map.of(1, "Yes"), answers);
+        assertTrue(batchService.parse("not json").isEmpty());
+        assertTrue(batchService.parse("{broken").isEmpty());
+        assertTrue(batchService.parse("{\"answers\": [}").isEmpty());
+        assertTrue(batchService.parse(null).isEmpty());
+    }
+
+    private EmployeeAIBatchService service(int maxSize, int tokenBudget, int answerTokens) {
+        return new EmployeeAIBatchService(aiService, contextRetriever, openAiService, answerCache,
+            openAiGuard, aiMetrics, new ObjectMapper(), aiQueryExecutor, maxSize, tokenBudget, answerTokens);
+    }
+
+    private static ChatCompletionResult completion(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
+    }
+}
@@ -1,39 +1,89 @@
 package com.example.godelfamily.service;
 
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import com.example.godelfamily.exception.AIUnavailableException;
+import com.example.godelfamily.model.AIQueryStats;
 import com.example.godelfamily.model.Employee;
 import com.example.godelfamily.model.Title;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeAIServiceTest {
 
     @Mock
-    private EmployeeService employeeService;
+    private EmployeeContextRetriever contextRetriever;
+
+    @Mock
+    private OpenAiService openAiService;
+
+    private final EmployeeDataVersion dataVersion = new EmployeeDataVersion();
+
+    @Spy
+    private AIAnswerCache answerCache = new AIAnswerCache(dataVersion, 100, Duration.ofMinutes(10), Duration.ZERO);
+
+    @Spy
+    private OpenAiGuard openAiGuard = new OpenAiGuard(Executors.newVirtualThreadPerTaskExecutor(),
+        new CircuitBreaker(4, 2, 50, Duration.ofMinutes(1), System::nanoTime),
+        new Bulkhead(16, 16, Duration.ofSeconds(1)),
+        new AdaptiveTimeout(10, 10, 0.99, 2.0, Duration.ofSeconds(5), Duration.ofSeconds(5)),
+        Duration.ofSeconds(1));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AIMetrics aiMetrics = new AIMetrics(meterRegistry);
+
+    @Spy
+    private ExecutorService aiQueryExecutor = Executors.newCachedThreadPool();
 
     @InjectMocks
     private EmployeeAIService employeeAIService;
 
-    private List<Employee> sampleEmployees;
+    private String sampleContext;
 
     @BeforeEach
     void setUp() {
-        sampleEmployees = Arrays.asList(
-            new Employee(1L, "John", "Developer", Title.SENIOR, "Java"),
-            new Employee(2L, "Jane", "QA", Title.MIDDLE, "QA"),
-            new Employee(3L, "Bob", "BA", Title.JUNIOR, "BA")
-        );
+        sampleContext = EmployeeContextSnapshot.HEADER
+            + EmployeeContextSnapshot.encode(new Employee(1L, "John", "Developer", Title.SENIOR, "Java"))
+            + EmployeeContextSnapshot.encode(new Employee(2L, "Jane", "QA", Title.MIDDLE, "QA"))
+            + EmployeeContextSnapshot.encode(new Employee(3L, "Bob", "BA", Title.JUNIOR, "BA"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        aiQueryExecutor.shutdownNow();
     }
 
     @Test
@@ -43,7 +93,7 @@ class EmployeeAIServiceTest {
         String result = employeeAIService.queryEmployees("How many developers?");
 
         assertEquals("OpenAI API key is not configured. Please set the OPENAI_API_KEY environment variable.", result);
-        verify(employeeService, never()).getAllEmployees();
+        verify(contextRetriever, never()).contextFor(anyString());
     }
 
     @Test
@@ -53,20 +103,61 @@ class EmployeeAIServiceTest {
         String result = employeeAIService.queryEmployees("How many developers?");
 
         assertEquals("OpenAI API key is not configured. Please set the OPENAI_API_KEY environment variable.", result);
-        verify(employeeService, never()).getAllEmployees();
+        verify(contextRetriever, never()).contextFor(anyString());
     }
 
     @Test
     void testQueryEmployees_WithApiKey_HandlesException() {
         ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "fake-api-key");
-        when(employeeService.getAllEmployees()).thenReturn(sampleEmployees);
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+            .thenThrow(new RuntimeException("Incorrect API key provided"));
 
         String result = employeeAIService.queryEmployees("How many developers?");
 
         // Should return error message because the API key is fake
         assertTrue(result.startsWith("Error processing your question:"));
         assertTrue(result.contains("Please check your OpenAI API key and try again."));
-        verify(employeeService, times(1)).getAllEmployees();
+        verify(contextRetriever, times(1)).contextFor("How many developers?");
+    }
+
+    @Test
+    void testQueryEmployees_WithApiKey_ReturnsAnswerFromSharedClient() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+            .thenReturn(completion("There is 1 developer."));
+
+        String answer = employeeAIService.queryEmployees("How many developers?");
+
+        assertEquals("There is 1 developer.", answer);
+        ArgumentCaptor<ChatCompletionRequest> request = ArgumentCaptor.forClass(ChatCompletionRequest.class);
+        verify(openAiService, times(1)).createChatCompletion(request.capture());
+        String prompt = request.getValue().getMessages().get(1).getContent();
+        assertTrue(prompt.contains("1|John|Developer|SENIOR|Java\n"));
+        assertTrue(prompt.endsWith("User Question: How many developers?"));
+        verify(openAiService, never()).shutdownExecutor();
+    }
+
+    @Test
+    void testQueryEmployees_RecordsPromptLatencyAndUsageMetrics() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        ChatCompletionResult result = completion("There is 1 developer.");
+        Usage usage = new Usage();
+        usage.setPromptTokens(120);
+        usage.setCompletionTokens(8);
+        result.setUsage(usage);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(result);
+
+        employeeAIService.queryEmployees("How many developers?");
+
+        assertEquals(1, meterRegistry.get("ai.prompt.size").tag("mode", "query").summary().count());
+        assertTrue(meterRegistry.get("ai.prompt.size").tag("mode", "query").summary().totalAmount()
+            > sampleContext.length());
+        assertEquals(1, meterRegistry.get("ai.upstream.latency").tags("mode", "query", "outcome", "success").timer().count());
+        assertEquals(120, meterRegistry.get("ai.usage.tokens").tags("mode", "query", "type", "prompt").summary().totalAmount());
+        assertEquals(8, meterRegistry.get("ai.usage.tokens").tags("mode", "query", "type", "completion").summary().totalAmount());
     }
 
     @Test
@@ -76,5 +167,190 @@ class EmployeeAIServiceTest {
 
         assertEquals("OpenAI API key is not configured. Please set the OPENAI_API_KEY environment variable.", result);
     }
-}
 
+    @Test
+    void testQueryEmployees_RepeatedQuestionServedFromCache() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+            .thenReturn(completion("There is 1 developer."));
+
+        employeeAIService.queryEmployees("How many developers?");
+        String cached = employeeAIService.queryEmployees("  how many   DEVELOPERS ");
+
+        assertEquals("There is 1 developer.", cached);
+        verify(openAiService, times(1)).createChatCompletion(any(ChatCompletionRequest.class));
+    }
+
+    @Test
+    void testQueryEmployees_DataChangeInvalidatesCachedAnswer() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+            .thenReturn(completion("There is 1 developer."), completion("There are 2 developers."));
+
+        employeeAIService.queryEmployees("How many developers?");
+        dataVersion.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+        String answer = employeeAIService.queryEmployees("How many developers?");
+
+        assertEquals("There are 2 developers.", answer);
+        verify(openAiService, times(2)).createChatCompletion(any(ChatCompletionRequest.class));
+    }
+
+    @Test
+    void testQueryEmployees_ErrorsAreNotCached() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+            .thenThrow(new RuntimeException("Rate limited"))
+            .thenReturn(completion("There is 1 developer."));
+
+        String failed = employeeAIService.queryEmployees("How many developers?");
+        String answer = employeeAIService.queryEmployees("How many developers?");
+
+        assertTrue(failed.startsWith("Error processing your question: Rate limited"));
+        assertEquals("There is 1 developer.", answer);
+    }
+
+    @Test
+    void testQueryEmployeesAsync_RunsOnAiExecutor() throws Exception {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        Thread caller = Thread.currentThread();
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenAnswer(invocation -> {
+            assertNotSame(caller, Thread.currentThread());
+            return completion("There is 1 developer.");
+        });
+
+        String answer = employeeAIService.queryEmployeesAsync("How many developers?").get(5, TimeUnit.SECONDS);
+
+        assertEquals("There is 1 developer.", answer);
+        verify(aiQueryExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testQueryEmployeesAsync_NoApiKey() throws Exception {
+        String answer = employeeAIService.queryEmployeesAsync("How many developers?").get(5, TimeUnit.SECONDS);
+
+        assertEquals("OpenAI API key is not configured. Please set the OPENAI_API_KEY environment variable.", answer);
+    }
+
+    @Test
+    void testQueryEmployees_ConcurrentIdenticalQuestionsShareOneCall() throws Exception {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        CountDownLatch release = new CountDownLatch(1);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenAnswer(invocation -> {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return completion("There is 1 developer.");
+        });
+
+        List<CompletableFuture<String>> answers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            answers.add(employeeAIService.queryEmployeesAsync(i % 2 == 0 ? "How many developers?" : "how many developers"));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (employeeAIService.getStats().getCoalescedCalls() < 9 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (CompletableFuture<String> answer : answers) {
+            assertEquals("There is 1 developer.", answer.get(5, TimeUnit.SECONDS));
+        }
+        verify(openAiService, times(1)).createChatCompletion(any(ChatCompletionRequest.class));
+        AIQueryStats stats = employeeAIService.getStats();
+        assertEquals(1, stats.getUpstreamCalls());
+        assertEquals(9, stats.getCoalescedCalls());
+        assertEquals(0, stats.getInFlight());
+        assertEquals(1, stats.getCacheSize());
+        assertEquals(10, stats.getCacheMisses());
+    }
+
+    @Test
+    void testQueryEmployees_UnavailableIsThrownNotAnswered() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+            .thenThrow(new RuntimeException("502 Bad Gateway"));
+
+        employeeAIService.queryEmployees("first question");
+        employeeAIService.queryEmployees("second question");
+        AIUnavailableException open = assertThrows(AIUnavailableException.class,
+            () -> employeeAIService.queryEmployees("third question"));
+
+        assertEquals(AIUnavailableException.Reason.CIRCUIT_OPEN, open.getReason());
+        verify(openAiService, times(2)).createChatCompletion(any(ChatCompletionRequest.class));
+        AIQueryStats stats = employeeAIService.getStats();
+        assertEquals("OPEN", stats.getCircuitState());
+        assertEquals(1, stats.getShortCircuitedCalls());
+        assertEquals(5000, stats.getCurrentTimeoutMillis());
+    }
+
+    @Test
+    void testStreamEmployees_RelaysDeltasAndCachesAnswer() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.streamChatCompletion(any(ChatCompletionRequest.class)))
+            .thenReturn(Flowable.just(chunk(null), chunk("There"), chunk(" is"), chunk(""), chunk(" 1 developer.")));
+
+        List<String> tokens = employeeAIService.streamEmployees("How many developers?").toList().blockingGet();
+
+        assertEquals(List.of("There", " is", " 1 developer."), tokens);
+        assertEquals("There is 1 developer.", employeeAIService.queryEmployees("how many developers"));
+        verify(openAiService, never()).createChatCompletion(any(ChatCompletionRequest.class));
+        assertEquals(1, meterRegistry.get("ai.upstream.latency").tags("mode", "stream", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("ai.prompt.tokens").tag("mode", "stream").summary().count());
+    }
+
+    @Test
+    void testStreamEmployees_CachedAnswerReplayedWithoutUpstreamCall() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+            .thenReturn(completion("There is 1 developer."));
+        employeeAIService.queryEmployees("How many developers?");
+
+        List<String> tokens = employeeAIService.streamEmployees("How many developers?").toList().blockingGet();
+
+        assertEquals(List.of("There is 1 developer."), tokens);
+        verify(openAiService, never()).streamChatCompletion(any(ChatCompletionRequest.class));
+    }
+
+    @Test
+    void testStreamEmployees_FailedStreamIsNotCached() {
+        ReflectionTestUtils.setField(employeeAIService, "openAiApiKey", "test-key");
+        when(contextRetriever.contextFor(anyString())).thenReturn(sampleContext);
+        when(openAiService.streamChatCompletion(any(ChatCompletionRequest.class)))
+            .thenReturn(Flowable.concat(Flowable.just(chunk("There")), Flowable.error(new RuntimeException("Stream reset"))));
+
+        assertThrows(RuntimeException.class,
+            () -> employeeAIService.streamEmployees("How many developers?").toList().blockingGet());
+
+        assertEquals(0, answerCache.size());
+    }
+
+    @Test
+    void testStreamEmployees_NoApiKey() {
+        List<String> tokens = employeeAIService.streamEmployees("How many developers?").toList().blockingGet();
+
+        assertEquals(List.of(EmployeeAIService.NO_API_KEY_MESSAGE), tokens);
+        verifyNoInteractions(openAiService);
+    }
+
+    private static ChatCompletionChunk chunk(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        ChatCompletionChunk chunk = new ChatCompletionChunk();
+        chunk.setChoices(List.of(choice));
+        return chunk;
+    }
+
+    private static ChatCompletionResult completion(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.config.EmployeeStoreConfig;
+import com.example.godelfamily.model.BatchOperationType;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeBatchOperation;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+
+// A batch that hits a concurrent write half-way rolls back on every engine: the rows it already
+// wrote are restored and no change event reaches the data version, caches or indexes.
+// Batches run in their own committed transactions here, so the test must not open one.
+@DataJpaTest
+@Import({EmployeeService.class, EmployeeStoreConfig.class, EmployeeDataVersion.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class EmployeeBatchRollbackContractTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeDataVersion employeeDataVersion;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private EmployeeStore employeeStore;
+
+    private long firstId;
+    private long secondId;
+
+    @BeforeEach
+    void setUp() {
+        firstId = employeeStore.save(new Employee(null, "Emil", "Developer", Title.LEAD, "Java")).getId();
+        secondId = employeeStore.save(new Employee(null, "Olga", "QA", Title.SENIOR, "QA")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeStore.deleteById(firstId);
+        employeeStore.deleteById(secondId);
+    }
+
+    @Test
+    void testProcessBatch_ConflictHalfWayChangesNothing() {
+        // Another request updates the second row after the batch has read it
+        TransactionTemplate otherRequest = new TransactionTemplate(transactionManager);
+        otherRequest.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        doAnswer(invocation -> {
+            Object rows = invocation.callRealMethod();
+            otherRequest.executeWithoutResult(status -> employeeStore.updateFields(secondId,
+                    new Employee(null, "Olga", "QA", Title.LEAD, "QA"), null));
+            return rows;
+        }).when(employeeStore).findAllById(anyCollection());
+        long version = employeeDataVersion.current();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> employeeService.processBatch(List.of(
+                new EmployeeBatchOperation(BatchOperationType.UPDATE, firstId,
+                        new Employee(null, "Emil", "Architect", Title.LEAD, "Python")),
+                new EmployeeBatchOperation(BatchOperationType.UPDATE, secondId,
+                        new Employee(null, "Olga", "QA", Title.MIDDLE, "QA")))));
+
+        Employee first = employeeStore.findById(firstId).orElseThrow();
+        assertEquals("Developer", first.getPosition());
+        assertEquals("Java", first.getDivision());
+        assertEquals(0L, first.getVersion());
+        assertEquals(Title.LEAD, employeeStore.findById(secondId).orElseThrow().getTitle());
+        assertTrue(employeeStore.findPage(new EmployeeFilter(null, "Python", null), 0, 10).isEmpty());
+        assertEquals(List.of(firstId), ids(employeeStore.findPage(new EmployeeFilter(null, "Java", null), 0, 10)));
+        assertEquals(version, employeeDataVersion.current());
+    }
+
+    private static List<Long> ids(Collection<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+}
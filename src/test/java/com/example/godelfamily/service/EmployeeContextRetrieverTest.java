@@ -0,0 +1,129 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeContextRetrieverTest {
+
+    @Mock
+    private EmployeeStore employeeStore;
+
+    private EmployeeContextSnapshot contextSnapshot;
+    private EmployeeFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1L, "Emil", "Developer", Title.LEAD, "Java"));
+        employees.add(new Employee(2L, "Pavel", "Developer", Title.SENIOR, "Java"));
+        employees.add(new Employee(3L, "Sergey", "QA", Title.MIDDLE, "QA"));
+        for (long id = 4; id <= 40; id++) {
+            employees.add(new Employee(id, "Dev" + id, "Developer", Title.JUNIOR, "Python"));
+        }
+        when(employeeStore.streamAll()).thenAnswer(invocation -> employees.stream());
+        contextSnapshot = new EmployeeContextSnapshot(employeeStore);
+        contextSnapshot.rebuild();
+        facetIndex = new EmployeeFacetIndex(employeeStore);
+        facetIndex.rebuild();
+    }
+
+    @Test
+    void testContextFor_WholeTableWhenItFits() {
+        EmployeeContextRetriever retriever = new EmployeeContextRetriever(contextSnapshot, facetIndex, 10_000);
+
+        assertSame(contextSnapshot.render(), retriever.contextFor("Who joined last?"));
+    }
+
+    @Test
+    void testContextFor_OnlyRelevantEmployees() {
+        EmployeeContextRetriever retriever = new EmployeeContextRetriever(contextSnapshot, facetIndex, 100);
+
+        String context = retriever.contextFor("Which Java developers are seniors?");
+
+        assertEquals(EmployeeContextSnapshot.HEADER
+            + "2|Pavel|Developer|SENIOR|Java\n"
+            + "Showing the 1 employees relevant to the question out of 40.\n", context);
+    }
+
+    @Test
+    void testContextFor_NamesAreMatched() {
+        EmployeeContextRetriever retriever = new EmployeeContextRetriever(contextSnapshot, facetIndex, 100);
+
+        String context = retriever.contextFor("What does Sergey do?");
+
+        assertTrue(context.contains("3|Sergey|QA|MIDDLE|QA\n"));
+        assertFalse(context.contains("Emil"));
+    }
+
+    @Test
+    void testContextFor_SummaryWhenSubsetTooLarge() {
+        EmployeeContextRetriever retriever = new EmployeeContextRetriever(contextSnapshot, facetIndex, 100);
+
+        String context = retriever.contextFor("How many developers are there?");
+
+        assertEquals("Summary of the 39 employees relevant to the question:\n"
+            + "Total: 39\n"
+            + "By title: JUNIOR=37, SENIOR=1, LEAD=1\n"
+            + "By division: Java=2, Python=37\n"
+            + "Titles in Java: SENIOR=1, LEAD=1\n"
+            + "Titles in Python: JUNIOR=37\n", context);
+        assertTrue(context.length() <= 100 * EmployeeContextRetriever.CHARS_PER_TOKEN);
+    }
+
+    @Test
+    void testContextFor_SummaryWhenNothingMatches() {
+        EmployeeContextRetriever retriever = new EmployeeContextRetriever(contextSnapshot, facetIndex, 100);
+
+        String context = retriever.contextFor("How big is the company?");
+
+        assertTrue(context.startsWith("Employee summary:\nTotal: 40\n"));
+        assertTrue(context.contains("By division: Java=2, Python=37, QA=1\n"));
+    }
+
+    @Test
+    void testContextFor_BatchUsesUnionOfMatches() {
+        EmployeeContextRetriever retriever = new EmployeeContextRetriever(contextSnapshot, facetIndex, 100);
+
+        String context = retriever.contextFor(List.of("What does Sergey do?", "Who is the Java lead?"));
+
+        assertEquals(EmployeeContextSnapshot.HEADER
+            + "1|Emil|Developer|LEAD|Java\n"
+            + "3|Sergey|QA|MIDDLE|QA\n"
+            + "Showing the 2 employees relevant to the questions out of 40.\n", context);
+    }
+
+    @Test
+    void testContextFor_BatchAddsOverallSummaryForUnmatchedQuestion() {
+        EmployeeContextRetriever retriever = new EmployeeContextRetriever(contextSnapshot, facetIndex, 100);
+
+        String context = retriever.contextFor(List.of("What does Sergey do?", "How big is the company?"));
+
+        assertTrue(context.startsWith(EmployeeContextSnapshot.HEADER + "3|Sergey|QA|MIDDLE|QA\n"));
+        assertTrue(context.endsWith("Titles in QA: MIDDLE=1\n"));
+        assertTrue(context.contains("Employee summary:\nTotal: 40\n"));
+    }
+
+    @Test
+    void testPhrases_IncludesMultiWordAndSingularForms() {
+        Set<String> phrases = EmployeeContextRetriever.phrases("Any Team Leads in QA?");
+
+        assertTrue(phrases.contains("team lead"));
+        assertTrue(phrases.contains("qa"));
+        assertTrue(phrases.contains("any team leads"));
+        assertFalse(phrases.contains("any team leads in"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeContextSnapshotTest {
+
+    @Mock
+    private EmployeeStore employeeStore;
+
+    @InjectMocks
+    private EmployeeContextSnapshot contextSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = List.of(
+            new Employee(1L, "Emil", "Developer", Title.LEAD, "Java"),
+            new Employee(3L, "Sergey", "QA", Title.MIDDLE, "QA")
+        );
+        when(employeeStore.streamAll()).thenReturn(employees.stream());
+        contextSnapshot.rebuild();
+    }
+
+    @Test
+    void testRebuild_RendersCompactTable() {
+        assertEquals(EmployeeContextSnapshot.HEADER
+            + "1|Emil|Developer|LEAD|Java\n"
+            + "3|Sergey|QA|MIDDLE|QA\n", contextSnapshot.render());
+        assertEquals(2, contextSnapshot.size());
+    }
+
+    @Test
+    void testRebuild_ReplacesPreviousSnapshot() {
+        when(employeeStore.streamAll())
+            .thenReturn(Stream.of(new Employee(9L, "Anna", "Developer", Title.JUNIOR, "Python")));
+
+        contextSnapshot.rebuild();
+
+        assertEquals(EmployeeContextSnapshot.HEADER + "9|Anna|Developer|JUNIOR|Python\n", contextSnapshot.render());
+    }
+
+    @Test
+    void testRender_ReusesTextUntilChanged() {
+        String first = contextSnapshot.render();
+
+        assertSame(first, contextSnapshot.render());
+
+        contextSnapshot.onEmployeeChanged(EmployeeChangedEvent.deleted(3L));
+        assertNotSame(first, contextSnapshot.render());
+    }
+
+    @Test
+    void testOnEmployeeChanged_CreatedKeepsIdOrder() {
+        contextSnapshot.onEmployeeChanged(EmployeeChangedEvent.created(
+            new Employee(2L, "Pavel", "Developer", Title.SENIOR, "Java")));
+
+        assertEquals(EmployeeContextSnapshot.HEADER
+            + "1|Emil|Developer|LEAD|Java\n"
+            + "2|Pavel|Developer|SENIOR|Java\n"
+            + "3|Sergey|QA|MIDDLE|QA\n", contextSnapshot.render());
+    }
+
+    @Test
+    void testOnEmployeeChanged_UpdatedReplacesRow() {
+        contextSnapshot.onEmployeeChanged(EmployeeChangedEvent.updated(
+            new Employee(3L, "Sergey", "Team Lead", Title.LEAD, "QA")));
+
+        assertEquals(EmployeeContextSnapshot.HEADER
+            + "1|Emil|Developer|LEAD|Java\n"
+            + "3|Sergey|Team Lead|LEAD|QA\n", contextSnapshot.render());
+        assertEquals(2, contextSnapshot.size());
+    }
+
+    @Test
+    void testOnEmployeeChanged_DeletedRemovesRow() {
+        contextSnapshot.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        assertEquals(EmployeeContextSnapshot.HEADER + "3|Sergey|QA|MIDDLE|QA\n", contextSnapshot.render());
+    }
+
+    @Test
+    void testOnEmployeeChanged_DeletingUnknownIdIsIgnored() {
+        String before = contextSnapshot.render();
+
+        contextSnapshot.onEmployeeChanged(EmployeeChangedEvent.deleted(42L));
+
+        assertEquals(before, contextSnapshot.render());
+    }
+
+    @Test
+    void testConcurrentChanges_FinalRenderMatchesRows() throws Exception {
+        try (ExecutorService workers = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < 2; w++) {
+                long first = 100L + w * 1_000;
+                futures.add(workers.submit(() -> {
+                    for (long id = first; id < first + 1_000; id++) {
+                        contextSnapshot.onEmployeeChanged(EmployeeChangedEvent.created(
+                            new Employee(id, "Employee " + id, "Developer", Title.JUNIOR, "Java")));
+                        if (id % 2 == 0) {
+                            contextSnapshot.onEmployeeChanged(EmployeeChangedEvent.deleted(id));
+                        }
+                    }
+                }));
+            }
+            for (int r = 0; r < 2; r++) {
+                futures.add(workers.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        assertTrue(contextSnapshot.render().startsWith(EmployeeContextSnapshot.HEADER));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        String rendered = contextSnapshot.render();
+        assertEquals(1_002, contextSnapshot.size());
+        assertEquals(contextSnapshot.length(), rendered.length());
+        assertEquals(1_003, rendered.split("\n").length);
+        assertTrue(rendered.contains("\n101|Employee 101|Developer|JUNIOR|Java\n"));
+        assertFalse(rendered.contains("\n100|"));
+    }
+
+    @Test
+    void testEncode_EscapesSeparators() {
+        Employee employee = new Employee(7L, "A|B", "Dev\nOps", Title.JUNIOR, "R&D\r");
+
+        assertEquals("7|A/B|Dev Ops|JUNIOR|R&D \n", EmployeeContextSnapshot.encode(employee));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeDataVersionTest {
+
+    @Test
+    void testStartsAtZero() {
+        assertEquals(0, new EmployeeDataVersion().current());
+    }
+
+    @Test
+    void testEveryChangeBumpsVersion() {
+        EmployeeDataVersion version = new EmployeeDataVersion();
+        Employee employee = new Employee(1L, "John", "Developer", Title.SENIOR, "Java");
+
+        version.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+        version.onEmployeeChanged(EmployeeChangedEvent.updated(employee));
+        version.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        assertEquals(3, version.current());
+    }
+
+    @Test
+    void testSeedLoadBumpsVersion() {
+        EmployeeDataVersion version = new EmployeeDataVersion();
+
+        version.onEmployeesSeeded(new EmployeesSeededEvent(100));
+
+        assertEquals(1, version.current());
+    }
+
+    @Test
+    void testSnapshot_TracksVersionAndModificationTime() {
+        EmployeeDataVersion version = new EmployeeDataVersion();
+        EmployeeDataVersion.Snapshot initial = version.snapshot();
+        Instant before = Instant.now();
+
+        version.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+        EmployeeDataVersion.Snapshot changed = version.snapshot();
+
+        assertEquals(0, initial.version());
+        assertEquals(1, changed.version());
+        assertEquals(initial.epoch(), changed.epoch());
+        assertFalse(changed.modifiedAt().isBefore(before));
+        assertFalse(initial.modifiedAt().isAfter(before));
+    }
+
+    @Test
+    void testSnapshotTag_DiffersPerVersionAndRun() {
+        EmployeeDataVersion.Snapshot snapshot = new EmployeeDataVersion.Snapshot(36, 5, Instant.EPOCH);
+
+        assertEquals("10-5", snapshot.tag());
+        assertNotEquals(snapshot.tag(), new EmployeeDataVersion.Snapshot(37, 5, Instant.EPOCH).tag());
+        assertNotEquals(snapshot.tag(), new EmployeeDataVersion.Snapshot(36, 6, Instant.EPOCH).tag());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.config.EmployeeStoreConfig;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({EmployeeExportService.class, EmployeeStoreConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class EmployeeExportServiceTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Employee first;
+    private Employee second;
+
+    @BeforeEach
+    void setUp() {
+        first = repository.save(new Employee(null, "Emil", "Developer", Title.LEAD, "Java"));
+        second = repository.save(new Employee(null, "Smith, \"Jr\"", "QA", Title.MIDDLE, "QA"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testExportNdjson_OneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":" + first.getId() + ","));
+        assertTrue(lines[0].contains("\"name\":\"Emil\""));
+        assertTrue(lines[1].startsWith("{\"id\":" + second.getId() + ","));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    }
+
+    @Test
+    void testExportNdjson_DetachesExportedEntities() throws Exception {
+        exportService.exportNdjson(new ByteArrayOutputStream());
+
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testExportCsv_HeaderAndEscapedRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCsv(out);
+
+        assertEquals("id,name,position,title,division\n"
+                + first.getId() + ",Emil,Developer,LEAD,Java\n"
+                + second.getId() + ",\"Smith, \"\"Jr\"\"\",QA,MIDDLE,QA\n",
+            out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCsvField_PlainValueUnquoted() {
+        assertEquals("Java", EmployeeExportService.csvField("Java"));
+        assertEquals("\"a\nb\"", EmployeeExportService.csvField("a\nb"));
+        assertEquals("\"a\rb\"", EmployeeExportService.csvField("a\rb"));
+    }
+}
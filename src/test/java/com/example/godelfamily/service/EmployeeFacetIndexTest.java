@@ -0,0 +1,171 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.event.EmployeeChangedEvent;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFacets;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeFacetIndexTest {
+
+    @Mock
+    private EmployeeStore employeeStore;
+
+    @InjectMocks
+    private EmployeeFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = List.of(
+            new Employee(1L, "Emil", "Developer", Title.LEAD, "Java"),
+            new Employee(2L, "Pavel", "Developer", Title.SENIOR, "Java"),
+            new Employee(3L, "Sergey", "QA", Title.MIDDLE, "QA"),
+            new Employee(4L, "Olga", "QA", Title.SENIOR, "QA")
+        );
+        when(employeeStore.streamAll()).thenReturn(employees.stream());
+        facetIndex.rebuild();
+    }
+
+    @Test
+    void testRebuild_CountsFromStore() {
+        EmployeeFacets facets = facetIndex.getFacets();
+
+        assertEquals(4, facets.getTotal());
+        assertEquals(2, facets.getTitles().get(Title.SENIOR));
+        assertEquals(0, facets.getTitles().get(Title.JUNIOR));
+        assertEquals(2, facets.getDivisions().get("Java"));
+        assertEquals(1, facets.getCounts().get("Java").get(Title.SENIOR));
+        assertEquals(1, facets.getCounts().get("QA").get(Title.SENIOR));
+        assertEquals(0, facets.getCounts().get("QA").get(Title.LEAD));
+    }
+
+    @Test
+    void testRebuild_ReplacesPreviousState() {
+        when(employeeStore.streamAll())
+            .thenReturn(Stream.of(new Employee(9L, "Anna", "Developer", Title.JUNIOR, "Python")));
+
+        facetIndex.rebuild();
+
+        EmployeeFacets facets = facetIndex.getFacets();
+        assertEquals(1, facets.getTotal());
+        assertEquals(List.of("Python"), List.copyOf(facets.getDivisions().keySet()));
+    }
+
+    @Test
+    void testOnEmployeeChanged_Created() {
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.created(
+            new Employee(5L, "Anna", "Developer", Title.JUNIOR, "Python")));
+
+        EmployeeFacets facets = facetIndex.getFacets();
+        assertEquals(5, facets.getTotal());
+        assertEquals(1, facets.getCounts().get("Python").get(Title.JUNIOR));
+    }
+
+    @Test
+    void testOnEmployeeChanged_UpdatedMovesBetweenFacets() {
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.updated(
+            new Employee(2L, "Pavel", "Developer", Title.LEAD, "JS")));
+
+        EmployeeFacets facets = facetIndex.getFacets();
+        assertEquals(4, facets.getTotal());
+        assertEquals(1, facets.getTitles().get(Title.SENIOR));
+        assertEquals(2, facets.getTitles().get(Title.LEAD));
+        assertEquals(1, facets.getDivisions().get("Java"));
+        assertEquals(1, facets.getCounts().get("JS").get(Title.LEAD));
+    }
+
+    @Test
+    void testOnEmployeeChanged_DeletedDropsEmptyDivision() {
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(3L));
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(4L));
+
+        EmployeeFacets facets = facetIndex.getFacets();
+        assertEquals(2, facets.getTotal());
+        assertFalse(facets.getDivisions().containsKey("QA"));
+    }
+
+    @Test
+    void testOnEmployeeChanged_DeletedUnknownIdIsIgnored() {
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(999L));
+
+        assertEquals(4, facetIndex.getFacets().getTotal());
+    }
+
+    @Test
+    void testMatch_AndsFieldsAndOrsWithinField() {
+        assertEquals(RoaringBitmap.bitmapOf(2), facetIndex.match(Set.of("senior", "java")));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 4), facetIndex.match(Set.of("senior", "lead")));
+        assertEquals(RoaringBitmap.bitmapOf(3, 4), facetIndex.match(Set.of("qa")));
+    }
+
+    @Test
+    void testMatch_NamesAreAddedToFieldMatches() {
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), facetIndex.match(Set.of("java", "sergey")));
+        assertEquals(RoaringBitmap.bitmapOf(4), facetIndex.match(Set.of("olga")));
+    }
+
+    @Test
+    void testMatch_NothingMentioned() {
+        assertTrue(facetIndex.match(Set.of("how", "many", "people")).isEmpty());
+    }
+
+    @Test
+    void testMatch_FollowsChanges() {
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.updated(
+            new Employee(3L, "Sergey Ivanov", "Team Lead", Title.LEAD, "QA")));
+
+        assertEquals(RoaringBitmap.bitmapOf(3), facetIndex.match(Set.of("team lead")));
+        assertEquals(RoaringBitmap.bitmapOf(3), facetIndex.match(Set.of("ivanov")));
+
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(3L));
+        assertTrue(facetIndex.match(Set.of("team lead")).isEmpty());
+    }
+
+    @Test
+    void testOnEmployeeChanged_UpdateClearsOnlyPreviousTerms() {
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.updated(
+            new Employee(1L, "Emil Emil", "Architect", Title.LEAD, "Go")));
+        facetIndex.onEmployeeChanged(EmployeeChangedEvent.updated(
+            new Employee(1L, "Emil", "Developer", Title.SENIOR, "Java")));
+
+        assertTrue(facetIndex.match(Set.of("architect")).isEmpty());
+        assertTrue(facetIndex.match(Set.of("go")).isEmpty());
+        assertFalse(facetIndex.getFacets().getDivisions().containsKey("Go"));
+        assertEquals(RoaringBitmap.bitmapOf(1), facetIndex.match(Set.of("emil")));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), facetIndex.match(Set.of("developer")));
+        assertEquals(3, facetIndex.getFacets().getTitles().get(Title.SENIOR));
+        assertEquals(0, facetIndex.getFacets().getTitles().get(Title.LEAD));
+    }
+
+    @Test
+    void testGetFacets_RestrictedToSubset() {
+        EmployeeFacets facets = facetIndex.getFacets(RoaringBitmap.bitmapOf(2, 4, 99));
+
+        assertEquals(2, facets.getTotal());
+        assertEquals(2, facets.getTitles().get(Title.SENIOR));
+        assertEquals(0, facets.getTitles().get(Title.LEAD));
+        assertEquals(1, facets.getDivisions().get("Java"));
+        assertEquals(1, facets.getCounts().get("QA").get(Title.SENIOR));
+    }
+
+    @Test
+    void testTerm_NormalizesCaseAndPunctuation() {
+        assertEquals("team lead", EmployeeFacetIndex.term("  Team-Lead! "));
+        assertEquals("c# and c++", EmployeeFacetIndex.term("C# and C++"));
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.config.EmployeeStoreConfig;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Batch size 2 and no progress interval, so small files exercise several batches and progress reports
+@DataJpaTest(properties = {
+        "employees.seed.batch-size=2",
+        "employees.seed.progress-interval=0s"
+})
+@Import({EmployeeSeedLoader.class, EmployeeStoreConfig.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class EmployeeSeedLoaderTest {
+
+    @Autowired
+    private EmployeeSeedLoader seedLoader;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void testLoad_BundledSeedFile() throws Exception {
+        long count = seedLoader.load(new ClassPathResource("seed/employees.csv"));
+
+        assertEquals(10, count);
+        List<Employee> employees = repository.findAll(Sort.by("id"));
+        assertEquals(10, employees.size());
+        assertEquals("Emil", employees.get(0).getName());
+        assertEquals(Title.LEAD, employees.get(0).getTitle());
+        assertEquals("Alexey", employees.get(9).getName());
+    }
+
+    @Test
+    void testLoad_CsvColumnsByHeaderWithQuotedFields() throws Exception {
+        Path file = write("employees.csv", """
+                id,division,title,position,name\r
+                99,Java,senior,Developer,"Smith, ""Jr""\"\r
+                \r
+                100,QA,MIDDLE,QA,"Multi
+                line"
+                """);
+
+        assertEquals(2, seedLoader.load(new FileSystemResource(file)));
+
+        List<Employee> employees = repository.findAll(Sort.by("id"));
+        assertEquals("Smith, \"Jr\"", employees.get(0).getName());
+        assertEquals("Developer", employees.get(0).getPosition());
+        assertEquals(Title.SENIOR, employees.get(0).getTitle());
+        assertEquals("Java", employees.get(0).getDivision());
+        assertEquals("Multi\nline", employees.get(1).getName());
+        assertNotEquals(99L, employees.get(0).getId());
+    }
+
+    @Test
+    void testLoad_JsonArray() throws Exception {
+        Path file = write("employees.json", """
+                [{"name":"Emil","position":"Developer","title":"LEAD","division":"Java"},
+                 {"name":"Olga","position":"QA","title":"SENIOR","division":"QA"},
+                 {"name":"Igor","position":"Developer","title":"MIDDLE","division":"Java"}]
+                """);
+
+        assertEquals(3, seedLoader.load(new FileSystemResource(file)));
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    void testLoad_NdjsonExport() throws Exception {
+        Path file = write("employees.ndjson", """
+                {"id":1,"name":"Emil","position":"Developer","title":"LEAD","division":"Java"}
+                {"id":2,"name":"Olga","position":"QA","title":"SENIOR","division":"QA"}
+                """);
+
+        assertEquals(2, seedLoader.load(new FileSystemResource(file)));
+        assertEquals(List.of("Emil", "Olga"),
+                repository.findAll(Sort.by("id")).stream().map(Employee::getName).toList());
+    }
+
+    @Test
+    void testLoad_IdsContinueFromEntitySequence() throws Exception {
+        Employee before = repository.save(new Employee(null, "Before", "QA", Title.JUNIOR, "QA"));
+        seedLoader.load(new ClassPathResource("seed/employees.csv"));
+        Employee after = repository.save(new Employee(null, "After", "QA", Title.JUNIOR, "QA"));
+
+        List<Long> ids = repository.findAll().stream().map(Employee::getId).distinct().toList();
+        assertEquals(12, ids.size());
+        assertTrue(after.getId() > before.getId());
+    }
+
+    @Test
+    void testLoad_InvalidRowFailsWithRowNumber() throws Exception {
+        Path file = write("employees.csv", "name,position,title,division\nEmil,Developer,LEAD,Java\n,QA,,QA\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> seedLoader.load(new FileSystemResource(file)));
+
+        assertEquals("Invalid seed row 2: Name is required, Title is required", e.getMessage());
+    }
+
+    @Test
+    void testLoad_UnknownTitle() throws Exception {
+        Path file = write("employees.csv", "name,position,title,division\nEmil,Developer,BOSS,Java\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> seedLoader.load(new FileSystemResource(file)));
+
+        assertEquals("Seed CSV row 1 has an unknown title: BOSS", e.getMessage());
+    }
+
+    @Test
+    void testLoad_WrongFieldCount() throws Exception {
+        Path file = write("employees.csv", "name,position,title,division\nEmil,Developer,LEAD\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> seedLoader.load(new FileSystemResource(file)));
+
+        assertEquals("Seed CSV row 1 has 3 fields, expected 4", e.getMessage());
+    }
+
+    @Test
+    void testLoad_MissingColumn() throws Exception {
+        Path file = write("employees.csv", "name,position,title\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> seedLoader.load(new FileSystemResource(file)));
+
+        assertEquals("Seed CSV header is missing column: division", e.getMessage());
+    }
+
+    @Test
+    void testLoad_EmptyCsv() throws Exception {
+        Path file = write("employees.csv", "");
+
+        assertThrows(IllegalArgumentException.class, () -> seedLoader.load(new FileSystemResource(file)));
+    }
+
+    @Test
+    void testLoad_UnsupportedFormat() throws Exception {
+        Path file = write("employees.xml", "<employees/>");
+
+        assertThrows(IllegalArgumentException.class, () -> seedLoader.load(new FileSystemResource(file)));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testLoad_ReadFailureMidFile() {
+        InputStream failing = new InputStream() {
+            private final byte[] header = "name,position,title,division\nEmil,Developer,LEAD,Java\n"
+                    .getBytes(StandardCharsets.UTF_8);
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position < header.length) {
+                    return header[position++];
+                }
+                throw new IOException("disk gone");
+            }
+        };
+        InputStreamResource resource = new InputStreamResource(failing) {
+            @Override
+            public String getFilename() {
+                return "employees.csv";
+            }
+        };
+
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> seedLoader.load(resource));
+        assertEquals("disk gone", e.getCause().getMessage());
+    }
+
+    @Test
+    void testReadRecord_UnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EmployeeSeedLoader.readRecord(new StringReader("\"open,field\n")));
+    }
+
+    @Test
+    void testReadRecord_LastLineWithoutNewline() throws Exception {
+        StringReader reader = new StringReader("a,\"b\"");
+
+        assertEquals(List.of("a", "b"), EmployeeSeedLoader.readRecord(reader));
+        assertNull(EmployeeSeedLoader.readRecord(reader));
+    }
+
+    @Test
+    void testCsvRows_NextPastEnd() throws Exception {
+        EmployeeSeedLoader.CsvRows rows = new EmployeeSeedLoader.CsvRows(new StringReader("name,position,title,division\n"));
+
+        assertFalse(rows.hasNext());
+        assertThrows(NoSuchElementException.class, rows::next);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content);
+    }
+}
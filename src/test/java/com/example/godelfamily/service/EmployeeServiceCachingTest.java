@@ -0,0 +1,211 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.config.CacheConfig;
+import com.example.godelfamily.event.EmployeesSeededEvent;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeePatch;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeStore;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {EmployeeService.class, CacheConfig.class, TransactionalEventListenerFactory.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class EmployeeServiceCachingTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockBean
+    private EmployeeStore employeeStore;
+
+    @MockBean
+    private Validator validator;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        employee = new Employee(1L, "John", "Developer", Title.SENIOR, "Java");
+    }
+
+    @Test
+    void testGetEmployeeById_SecondCallServedFromCache() {
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee));
+        CacheStats before = nativeCache("employee").stats();
+
+        assertEquals(employee, employeeService.getEmployeeById(1L));
+        assertEquals(employee, employeeService.getEmployeeById(1L));
+
+        verify(employeeStore, times(1)).findById(1L);
+        CacheStats stats = nativeCache("employee").stats().minus(before);
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    void testGetAllEmployees_SecondCallServedFromCache() {
+        when(employeeStore.findAll()).thenReturn(List.of(employee));
+
+        employeeService.getAllEmployees();
+        employeeService.getAllEmployees();
+
+        verify(employeeStore, times(1)).findAll();
+    }
+
+    @Test
+    void testEmployeesSeeded_EvictsList() {
+        when(employeeStore.findAll()).thenReturn(List.of(employee));
+
+        employeeService.getAllEmployees();
+        eventPublisher.publishEvent(new EmployeesSeededEvent(100));
+        employeeService.getAllEmployees();
+
+        verify(employeeStore, times(2)).findAll();
+    }
+
+    @Test
+    void testCreateEmployee_EvictsList() {
+        Employee created = new Employee(2L, "Jane", "QA", Title.MIDDLE, "QA");
+        when(employeeStore.findAll()).thenReturn(List.of(employee));
+        when(employeeStore.save(any(Employee.class))).thenReturn(created);
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(new Employee(null, "Jane", "QA", Title.MIDDLE, "QA"));
+        employeeService.getAllEmployees();
+
+        assertNull(cacheManager.getCache("employee").get(2L));
+        verify(employeeStore, times(2)).findAll();
+    }
+
+    @Test
+    void testUpdateEmployee_EvictsEntryAndList() {
+        Employee updated = new Employee(1L, "John Updated", "Developer", Title.LEAD, "Java");
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee), Optional.of(updated));
+        when(employeeStore.findAll()).thenReturn(List.of(employee));
+        when(employeeStore.updateFields(1L, updated, null)).thenReturn(Optional.of(1L));
+
+        employeeService.getEmployeeById(1L);
+        employeeService.getAllEmployees();
+        employeeService.updateEmployee(1L, updated, null);
+
+        assertEquals("John Updated", employeeService.getEmployeeById(1L).getName());
+        assertEquals("John Updated", employeeService.getEmployeeById(1L).getName());
+        employeeService.getAllEmployees();
+        // The first read and the read that refills the cache; the update reads nothing back
+        verify(employeeStore, times(2)).findById(1L);
+        verify(employeeStore, times(2)).findAll();
+    }
+
+    @Test
+    void testPatchEmployee_EvictsEntryAndList() {
+        Employee patched = new Employee(1L, "John", "Developer", Title.LEAD, "Java");
+        EmployeePatch patch = new EmployeePatch();
+        patch.setTitle(Title.LEAD);
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee), Optional.of(patched));
+        when(employeeStore.findAll()).thenReturn(List.of(employee));
+        when(employeeStore.patchFields(1L, patch, null)).thenReturn(1);
+
+        employeeService.getEmployeeById(1L);
+        employeeService.getAllEmployees();
+        employeeService.patchEmployee(1L, patch, null);
+
+        assertEquals(Title.LEAD, employeeService.getEmployeeById(1L).getTitle());
+        employeeService.getAllEmployees();
+        verify(employeeStore, times(3)).findById(1L);
+        verify(employeeStore, times(2)).findAll();
+    }
+
+    @Test
+    void testDeleteEmployee_EvictsOnlyThatEmployee() {
+        Employee other = new Employee(2L, "Jane", "QA", Title.MIDDLE, "QA");
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeStore.findById(2L)).thenReturn(Optional.of(other));
+        when(employeeStore.deleteById(1L, null)).thenReturn(1);
+
+        employeeService.getEmployeeById(1L);
+        employeeService.getEmployeeById(2L);
+        employeeService.deleteEmployee(1L, null);
+
+        assertNull(cacheManager.getCache("employee").get(1L));
+        assertNotNull(cacheManager.getCache("employee").get(2L));
+    }
+
+    @Test
+    void testUpdateEmployee_EvictsOnlyOnCommit() {
+        Employee updated = new Employee(1L, "John Updated", "Developer", Title.LEAD, "Java");
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee), Optional.of(updated));
+        when(employeeStore.updateFields(1L, updated, null)).thenReturn(Optional.of(1L));
+        employeeService.getEmployeeById(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            employeeService.updateEmployee(1L, updated, null);
+            // Until commit, readers keep getting the committed row
+            assertEquals("John", employeeService.getEmployeeById(1L).getName());
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cacheManager.getCache("employee").get(1L));
+    }
+
+    @Test
+    void testUpdateEmployee_RollbackKeepsCachedEntry() {
+        Employee updated = new Employee(1L, "John Updated", "Developer", Title.LEAD, "Java");
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeStore.updateFields(1L, updated, null)).thenReturn(Optional.of(1L));
+        employeeService.getEmployeeById(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            employeeService.updateEmployee(1L, updated, null);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("John", employeeService.getEmployeeById(1L).getName());
+        verify(employeeStore, times(1)).findById(1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
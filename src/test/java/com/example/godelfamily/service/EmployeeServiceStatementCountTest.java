@@ -0,0 +1,179 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.config.EmployeeStoreConfig;
+import com.example.godelfamily.exception.EmployeeNotFoundException;
+import com.example.godelfamily.exception.EmployeeVersionMismatchException;
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePatch;
+import com.example.godelfamily.model.Title;
+import com.example.godelfamily.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// SQL statements per write on the database engine, so the single-statement update and delete paths
+// do not regress into existence checks or load-then-merge
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.godelfamily.service.EmployeeServiceStatementCountTest$RecordingStatementInspector"
+})
+@Import({EmployeeService.class, EmployeeStoreConfig.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class EmployeeServiceStatementCountTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        id = repository.saveAndFlush(new Employee(null, "Emil", "Developer", Title.LEAD, "Java")).getId();
+        entityManager.clear();
+        statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        RecordingStatementInspector.statements.clear();
+    }
+
+    @Test
+    void testUpdateWithIfMatch_OneStatement() {
+        Employee updated = employeeService.updateEmployee(id, employee("Architect"), Set.of(0L));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1L, updated.getVersion());
+        assertStored("Architect", 1L);
+    }
+
+    @Test
+    void testUnconditionalUpdate_OneStatement() {
+        Employee updated = employeeService.updateEmployee(id, employee("Architect"), null);
+
+        // The new version comes back from the UPDATE itself
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1L, updated.getVersion());
+        assertEquals("Architect", updated.getPosition());
+        assertStored("Architect", 1L);
+    }
+
+    @Test
+    void testUpdateWithSeveralIfMatchVersions_OneStatement() {
+        Employee updated = employeeService.updateEmployee(id, employee("Architect"), Set.of(0L, 5L));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1L, updated.getVersion());
+        assertStored("Architect", 1L);
+    }
+
+    @Test
+    void testPatch_UpdatesOnlyPatchedColumnsAndReadsBack() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setTitle(Title.SENIOR);
+
+        Employee patched = employeeService.patchEmployee(id, patch, Set.of(0L));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        String update = RecordingStatementInspector.statements.get(0).toLowerCase();
+        assertTrue(update.startsWith("update employees"), update);
+        assertTrue(update.contains(" set title=?,version="), update);
+        assertFalse(update.contains("name=") || update.contains("position=") || update.contains("division="), update);
+        assertEquals(Title.SENIOR, patched.getTitle());
+        assertEquals("Developer", patched.getPosition());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    void testSparseFields_SelectOnlyRequestedColumns() {
+        EmployeeFields fields = EmployeeFields.parse("name,title");
+
+        assertEquals(1, employeeService.getEmployeeFieldsPage(new EmployeeFilter(), null, 10, fields).getSize());
+        assertEquals("Emil", employeeService.getEmployeeFieldsById(id, fields).get("name"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        for (String select : RecordingStatementInspector.statements) {
+            String columns = select.toLowerCase().substring(0, select.toLowerCase().indexOf(" from "));
+            assertTrue(columns.contains(".id") && columns.contains(".name") && columns.contains(".title"), select);
+            assertFalse(columns.contains("position") || columns.contains("division") || columns.contains("version"), select);
+        }
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testDelete_OneStatement() {
+        employeeService.deleteEmployee(id, null);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testDeleteWithIfMatch_OneStatement() {
+        employeeService.deleteEmployee(id, Set.of(0L));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testMissingEmployee_OneStatement() {
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.updateEmployee(id + 1, employee("Ghost"), null));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployee(id + 1, null));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testVersionMismatch_ReadOnlyOnFailurePath() {
+        EmployeeVersionMismatchException e = assertThrows(EmployeeVersionMismatchException.class,
+                () -> employeeService.updateEmployee(id, employee("Stale"), Set.of(7L)));
+
+        assertEquals(0L, e.getCurrentVersion());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertStored("Developer", 0L);
+    }
+
+    private Employee employee(String position) {
+        return new Employee(null, "Emil", position, Title.LEAD, "Java");
+    }
+
+    private void assertStored(String position, long version) {
+        Employee stored = repository.findById(id).orElseThrow();
+        assertEquals(position, stored.getPosition());
+        assertEquals(version, stored.getVersion());
+    }
+
+    // Collects the SQL Hibernate prepares, so a test can check which columns a statement writes
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,29 +1,56 @@
 package com.example.godelfamily.service;
 
+import com.example.godelfamily.event.EmployeeChangedEvent;
 import com.example.godelfamily.exception.EmployeeNotFoundException;
+import com.example.godelfamily.exception.EmployeeVersionMismatchException;
+import com.example.godelfamily.model.BatchOperationType;
 import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.EmployeeBatchOperation;
+import com.example.godelfamily.model.EmployeeBatchResult;
+import com.example.godelfamily.model.EmployeeFields;
+import com.example.godelfamily.model.EmployeeFieldsPage;
+import com.example.godelfamily.model.EmployeeFilter;
+import com.example.godelfamily.model.EmployeePage;
+import com.example.godelfamily.model.EmployeePatch;
 import com.example.godelfamily.model.Title;
-import com.example.godelfamily.repository.EmployeeRepository;
+import com.example.godelfamily.repository.EmployeeStore;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeServiceTest {
 
     @Mock
-    private EmployeeRepository employeeRepository;
+    private EmployeeStore employeeStore;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private EmployeeService employeeService;
@@ -40,35 +67,100 @@ class EmployeeServiceTest {
     @Test
     void testGetAllEmployees() {
         List<Employee> employees = Arrays.asList(employee1, employee2);
-        when(employeeRepository.findAll()).thenReturn(employees);
+        when(employeeStore.findAll()).thenReturn(employees);
 
         List<Employee> result = employeeService.getAllEmployees();
 
         assertEquals(2, result.size());
         assertEquals(employee1, result.get(0));
         assertEquals(employee2, result.get(1));
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeStore, times(1)).findAll();
+    }
+
+    @Test
+    void testGetEmployeePage_LastPage() {
+        EmployeeFilter filter = new EmployeeFilter();
+        when(employeeStore.findPage(filter, 0L, 3)).thenReturn(Arrays.asList(employee1, employee2));
+
+        EmployeePage page = employeeService.getEmployeePage(filter, null, 2);
+
+        assertEquals(2, page.getSize());
+        assertEquals(Arrays.asList(employee1, employee2), page.getContent());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetEmployeePage_HasNextPage() {
+        EmployeeFilter filter = new EmployeeFilter(Title.SENIOR, null, null);
+        when(employeeStore.findPage(filter, 0L, 2)).thenReturn(Arrays.asList(employee1, employee2));
+
+        EmployeePage page = employeeService.getEmployeePage(filter, 0L, 1);
+
+        assertEquals(1, page.getSize());
+        assertEquals(List.of(employee1), page.getContent());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    void testGetEmployeeFieldsPage() {
+        EmployeeFields fields = EmployeeFields.parse("name");
+        EmployeeFilter filter = new EmployeeFilter();
+        List<Map<String, Object>> rows = List.of(Map.of("id", 1L, "name", "John"), Map.of("id", 2L, "name", "Jane"));
+        when(employeeStore.findPageFields(filter, 0L, 2, fields)).thenReturn(rows);
+        when(employeeStore.findPageFields(filter, 1L, 3, fields)).thenReturn(rows.subList(1, 2));
+
+        EmployeeFieldsPage first = employeeService.getEmployeeFieldsPage(filter, null, 1, fields);
+        EmployeeFieldsPage last = employeeService.getEmployeeFieldsPage(filter, 1L, 2, fields);
+
+        assertEquals(rows.subList(0, 1), first.getContent());
+        assertEquals(1L, first.getNextCursor());
+        assertEquals(rows.subList(1, 2), last.getContent());
+        assertEquals(1, last.getSize());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void testGetAllEmployeeFields() {
+        EmployeeFields fields = EmployeeFields.parse("title");
+        List<Map<String, Object>> rows = List.of(Map.of("id", 1L, "title", Title.SENIOR));
+        when(employeeStore.findPageFields(any(EmployeeFilter.class), eq(0L), eq(Integer.MAX_VALUE), eq(fields))).thenReturn(rows);
+
+        assertEquals(rows, employeeService.getAllEmployeeFields(fields));
+
+        ArgumentCaptor<EmployeeFilter> filter = ArgumentCaptor.forClass(EmployeeFilter.class);
+        verify(employeeStore).findPageFields(filter.capture(), eq(0L), eq(Integer.MAX_VALUE), eq(fields));
+        assertTrue(filter.getValue().isEmpty());
+    }
+
+    @Test
+    void testGetEmployeeFieldsById() {
+        EmployeeFields fields = EmployeeFields.parse("name");
+        when(employeeStore.findFieldsById(1L, fields)).thenReturn(Optional.of(Map.of("id", 1L, "name", "John")));
+        when(employeeStore.findFieldsById(999L, fields)).thenReturn(Optional.empty());
+
+        assertEquals(Map.of("id", 1L, "name", "John"), employeeService.getEmployeeFieldsById(1L, fields));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeFieldsById(999L, fields));
     }
 
     @Test
     void testGetEmployeeById_ExistingEmployee() {
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee1));
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee1));
 
         Employee result = employeeService.getEmployeeById(1L);
 
         assertEquals(employee1, result);
-        verify(employeeRepository, times(1)).findById(1L);
+        verify(employeeStore, times(1)).findById(1L);
     }
 
     @Test
     void testGetEmployeeById_NonExistingEmployee() {
-        when(employeeRepository.findById(999L)).thenReturn(Optional.empty());
+        when(employeeStore.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(EmployeeNotFoundException.class, () -> {
             employeeService.getEmployeeById(999L);
         });
 
-        verify(employeeRepository, times(1)).findById(999L);
+        verify(employeeStore, times(1)).findById(999L);
     }
 
     @Test
@@ -76,14 +168,15 @@ class EmployeeServiceTest {
         Employee newEmployee = new Employee(null, "Bob", "BA", Title.JUNIOR, "BA");
         Employee savedEmployee = new Employee(3L, "Bob", "BA", Title.JUNIOR, "BA");
 
-        when(employeeRepository.save(any(Employee.class))).thenReturn(savedEmployee);
+        when(employeeStore.save(any(Employee.class))).thenReturn(savedEmployee);
 
         Employee result = employeeService.createEmployee(newEmployee);
 
         assertNull(newEmployee.getId()); // ID should be set to null
         assertEquals(3L, result.getId());
         assertEquals("Bob", result.getName());
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeStore, times(1)).save(any(Employee.class));
+        assertPublished(EmployeeChangedEvent.Type.CREATED, 3L);
     }
 
     @Test
@@ -91,67 +184,294 @@ class EmployeeServiceTest {
         Employee newEmployee = new Employee(999L, "Bob", "BA", Title.JUNIOR, "BA");
         Employee savedEmployee = new Employee(3L, "Bob", "BA", Title.JUNIOR, "BA");
 
-        when(employeeRepository.save(any(Employee.class))).thenReturn(savedEmployee);
+        when(employeeStore.save(any(Employee.class))).thenReturn(savedEmployee);
 
         Employee result = employeeService.createEmployee(newEmployee);
 
         assertNull(newEmployee.getId()); // ID should be reset to null
         assertEquals(3L, result.getId());
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeStore, times(1)).save(any(Employee.class));
     }
 
     @Test
     void testUpdateEmployee_ExistingEmployee() {
-        Employee updatedEmployee = new Employee(1L, "John Updated", "Developer", Title.LEAD, "Java");
+        Employee updatedEmployee = new Employee(null, "John Updated", "Developer", Title.LEAD, "Java");
 
-        when(employeeRepository.existsById(1L)).thenReturn(true);
-        when(employeeRepository.save(any(Employee.class))).thenReturn(updatedEmployee);
+        when(employeeStore.updateFields(1L, updatedEmployee, null)).thenReturn(Optional.of(4L));
 
-        Employee result = employeeService.updateEmployee(1L, updatedEmployee);
+        Employee result = employeeService.updateEmployee(1L, updatedEmployee, null);
+
+        // The store returns the new version with the write, so nothing is read back
+        assertEquals(1L, result.getId());
+        assertEquals("John Updated", result.getName());
+        assertEquals(4L, result.getVersion());
+        verify(employeeStore, never()).findById(anyLong());
+        verify(employeeStore, never()).save(any(Employee.class));
+        assertPublished(EmployeeChangedEvent.Type.UPDATED, 1L);
+    }
+
+    @Test
+    void testUpdateEmployee_SingleExpectedVersionNeedsNoReadBack() {
+        Employee updatedEmployee = new Employee(null, "John Updated", "Developer", Title.LEAD, "Java");
+        when(employeeStore.updateFields(1L, updatedEmployee, Set.of(3L))).thenReturn(Optional.of(4L));
+
+        Employee result = employeeService.updateEmployee(1L, updatedEmployee, Set.of(3L));
 
         assertEquals(1L, result.getId());
         assertEquals("John Updated", result.getName());
         assertEquals(Title.LEAD, result.getTitle());
-        verify(employeeRepository, times(1)).existsById(1L);
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        assertEquals(4L, result.getVersion());
+        verify(employeeStore, never()).findById(anyLong());
+        assertPublished(EmployeeChangedEvent.Type.UPDATED, 1L);
+    }
+
+    @Test
+    void testUpdateEmployee_SeveralExpectedVersionsNeedNoReadBack() {
+        Employee updatedEmployee = new Employee(null, "John Updated", "Developer", Title.LEAD, "Java");
+        when(employeeStore.updateFields(1L, updatedEmployee, Set.of(2L, 3L))).thenReturn(Optional.of(4L));
+
+        assertEquals(4L, employeeService.updateEmployee(1L, updatedEmployee, Set.of(2L, 3L)).getVersion());
+        verify(employeeStore, never()).findById(anyLong());
+    }
+
+    @Test
+    void testUpdateEmployee_VersionMismatch() {
+        Employee updatedEmployee = new Employee(null, "John Updated", "Developer", Title.LEAD, "Java");
+        employee1.setVersion(3L);
+        when(employeeStore.updateFields(1L, updatedEmployee, Set.of(2L))).thenReturn(Optional.empty());
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee1));
+
+        EmployeeVersionMismatchException e = assertThrows(EmployeeVersionMismatchException.class, () ->
+            employeeService.updateEmployee(1L, updatedEmployee, Set.of(2L)));
+
+        assertEquals(3L, e.getCurrentVersion());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateEmployee_ExpectedVersionOfMissingEmployee() {
+        Employee updatedEmployee = new Employee(null, "Ghost", "Developer", Title.SENIOR, "Java");
+        when(employeeStore.updateFields(999L, updatedEmployee, Set.of(2L))).thenReturn(Optional.empty());
+        when(employeeStore.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.updateEmployee(999L, updatedEmployee, Set.of(2L)));
     }
 
     @Test
     void testUpdateEmployee_NonExistingEmployee() {
         Employee updatedEmployee = new Employee(999L, "Ghost", "Developer", Title.SENIOR, "Java");
 
-        when(employeeRepository.existsById(999L)).thenReturn(false);
+        when(employeeStore.updateFields(999L, updatedEmployee, null)).thenReturn(Optional.empty());
 
         assertThrows(EmployeeNotFoundException.class, () -> {
-            employeeService.updateEmployee(999L, updatedEmployee);
+            employeeService.updateEmployee(999L, updatedEmployee, null);
         });
 
-        verify(employeeRepository, times(1)).existsById(999L);
-        verify(employeeRepository, never()).save(any(Employee.class));
+        // A zero count without a precondition can only mean a missing row; nothing is read
+        verify(employeeStore, never()).findById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testPatchEmployee_WritesPatchAndReadsBack() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setTitle(Title.LEAD);
+        Employee patched = new Employee(1L, "John", "Developer", Title.LEAD, "Java");
+        patched.setVersion(3L);
+        when(employeeStore.patchFields(1L, patch, Set.of(2L))).thenReturn(1);
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(patched));
+
+        Employee result = employeeService.patchEmployee(1L, patch, Set.of(2L));
+
+        assertSame(patched, result);
+        assertPublished(EmployeeChangedEvent.Type.UPDATED, 1L);
+    }
+
+    @Test
+    void testPatchEmployee_ValidatesOnlyPatchedFields() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setName(" ");
+        patch.setTitle(null);
+
+        ConstraintViolationException e = assertThrows(ConstraintViolationException.class, () ->
+            employeeService.patchEmployee(1L, patch, null));
+
+        assertEquals(List.of("name: Name is required", "title: Title is required"), e.getConstraintViolations().stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .toList());
+        verifyNoInteractions(employeeStore, eventPublisher);
+    }
+
+    @Test
+    void testPatchEmployee_EmptyPatchReturnsCurrentRow() {
+        employee1.setVersion(2L);
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee1));
+
+        assertSame(employee1, employeeService.patchEmployee(1L, new EmployeePatch(), Set.of(2L)));
+        assertThrows(EmployeeVersionMismatchException.class, () ->
+            employeeService.patchEmployee(1L, new EmployeePatch(), Set.of(1L)));
+        verify(employeeStore, never()).patchFields(anyLong(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testPatchEmployee_VersionMismatch() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setDivision("QA");
+        employee1.setVersion(3L);
+        when(employeeStore.patchFields(1L, patch, Set.of(2L))).thenReturn(0);
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee1));
+
+        EmployeeVersionMismatchException e = assertThrows(EmployeeVersionMismatchException.class, () ->
+            employeeService.patchEmployee(1L, patch, Set.of(2L)));
+
+        assertEquals(3L, e.getCurrentVersion());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testPatchEmployee_NonExistingEmployee() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setDivision("QA");
+        when(employeeStore.patchFields(999L, patch, null)).thenReturn(0);
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.patchEmployee(999L, patch, null));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.patchEmployee(999L, new EmployeePatch(), null));
+        verify(employeeStore, times(1)).findById(999L);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testDeleteEmployee_ExistingEmployee() {
-        when(employeeRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(employeeRepository).deleteById(1L);
+        when(employeeStore.deleteById(1L, null)).thenReturn(1);
 
         assertDoesNotThrow(() -> {
-            employeeService.deleteEmployee(1L);
+            employeeService.deleteEmployee(1L, null);
         });
 
-        verify(employeeRepository, times(1)).existsById(1L);
-        verify(employeeRepository, times(1)).deleteById(1L);
+        verify(employeeStore, times(1)).deleteById(1L, null);
+        verify(employeeStore, never()).findById(anyLong());
+        assertPublished(EmployeeChangedEvent.Type.DELETED, 1L);
+    }
+
+    @Test
+    void testDeleteEmployee_VersionMismatch() {
+        employee1.setVersion(0L);
+        when(employeeStore.deleteById(1L, Set.of())).thenReturn(0);
+        when(employeeStore.findById(1L)).thenReturn(Optional.of(employee1));
+
+        assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.deleteEmployee(1L, Set.of()));
+
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testDeleteEmployee_NonExistingEmployee() {
-        when(employeeRepository.existsById(999L)).thenReturn(false);
+        when(employeeStore.deleteById(999L, null)).thenReturn(0);
 
         assertThrows(EmployeeNotFoundException.class, () -> {
-            employeeService.deleteEmployee(999L);
+            employeeService.deleteEmployee(999L, null);
         });
 
-        verify(employeeRepository, times(1)).existsById(999L);
-        verify(employeeRepository, never()).deleteById(999L);
+        verify(employeeStore, never()).findById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testProcessBatch_MixedOperations() {
+        Employee newEmployee = new Employee(50L, "Bob", "BA", Title.JUNIOR, "BA");
+        Employee changes = new Employee(null, "John Updated", "Developer", Title.LEAD, "Java");
+        List<EmployeeBatchOperation> operations = List.of(
+            new EmployeeBatchOperation(BatchOperationType.CREATE, null, newEmployee),
+            new EmployeeBatchOperation(BatchOperationType.UPDATE, 1L, changes),
+            new EmployeeBatchOperation(BatchOperationType.DELETE, 2L, null)
+        );
+
+        when(employeeStore.findAllById(anySet())).thenReturn(Arrays.asList(employee1, employee2));
+        when(employeeStore.saveAll(List.of(newEmployee)))
+            .thenReturn(List.of(new Employee(3L, "Bob", "BA", Title.JUNIOR, "BA")));
+        when(employeeStore.saveAll(List.of(employee1))).thenReturn(List.of(employee1));
+
+        List<EmployeeBatchResult> results = employeeService.processBatch(operations);
+
+        assertEquals(3, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(3L, results.get(0).getId());
+        assertNull(newEmployee.getId());
+        assertEquals(200, results.get(1).getStatus());
+        assertEquals(1L, results.get(1).getId());
+        assertEquals("John Updated", employee1.getName());
+        assertEquals(Title.LEAD, employee1.getTitle());
+        assertEquals(204, results.get(2).getStatus());
+        assertEquals(2L, results.get(2).getId());
+        verify(employeeStore, times(1)).findAllById(Set.of(1L, 2L));
+        verify(employeeStore, times(1)).saveAll(List.of(employee1));
+        verify(employeeStore, times(1)).deleteAll(List.of(employee2));
+        verify(employeeStore, times(1)).flush();
+
+        ArgumentCaptor<EmployeeChangedEvent> events = ArgumentCaptor.forClass(EmployeeChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(EmployeeChangedEvent.Type.CREATED, events.getAllValues().get(0).getType());
+        assertEquals(3L, events.getAllValues().get(0).getId());
+        assertEquals(EmployeeChangedEvent.Type.UPDATED, events.getAllValues().get(1).getType());
+        assertEquals(1L, events.getAllValues().get(1).getId());
+        assertEquals(EmployeeChangedEvent.Type.DELETED, events.getAllValues().get(2).getType());
+        assertEquals(2L, events.getAllValues().get(2).getId());
+    }
+
+    @Test
+    void testProcessBatch_ReportsPerItemErrors() {
+        List<EmployeeBatchOperation> operations = List.of(
+            new EmployeeBatchOperation(null, 1L, employee1),
+            new EmployeeBatchOperation(BatchOperationType.UPDATE, null, employee1),
+            new EmployeeBatchOperation(BatchOperationType.CREATE, null, null),
+            new EmployeeBatchOperation(BatchOperationType.CREATE, null, new Employee(null, "", "", Title.JUNIOR, "BA")),
+            new EmployeeBatchOperation(BatchOperationType.UPDATE, 999L, employee1),
+            new EmployeeBatchOperation(BatchOperationType.DELETE, 998L, null)
+        );
+
+        when(employeeStore.findAllById(anySet())).thenReturn(List.of());
+        when(employeeStore.saveAll(List.of())).thenReturn(List.of());
+
+        List<EmployeeBatchResult> results = employeeService.processBatch(operations);
+
+        assertEquals(6, results.size());
+        assertEquals(400, results.get(0).getStatus());
+        assertEquals("Operation is required", results.get(0).getError());
+        assertEquals("Id is required", results.get(1).getError());
+        assertEquals("Employee is required", results.get(2).getError());
+        assertEquals("Name is required, Position is required", results.get(3).getError());
+        assertEquals(404, results.get(4).getStatus());
+        assertEquals("Employee not found with id: 999", results.get(4).getError());
+        assertEquals(404, results.get(5).getStatus());
+        assertEquals(5, results.get(5).getIndex());
+        verify(employeeStore, times(1)).findAllById(Set.of(1L, 999L, 998L));
+    }
+
+    @Test
+    void testProcessBatch_OperationsAfterDeleteAreNotFound() {
+        List<EmployeeBatchOperation> operations = List.of(
+            new EmployeeBatchOperation(BatchOperationType.DELETE, 1L, null),
+            new EmployeeBatchOperation(BatchOperationType.UPDATE, 1L, employee2),
+            new EmployeeBatchOperation(BatchOperationType.DELETE, 1L, null)
+        );
+
+        when(employeeStore.findAllById(anySet())).thenReturn(List.of(employee1));
+        when(employeeStore.saveAll(List.of())).thenReturn(List.of());
+
+        List<EmployeeBatchResult> results = employeeService.processBatch(operations);
+
+        assertEquals(204, results.get(0).getStatus());
+        assertEquals(404, results.get(1).getStatus());
+        assertEquals(404, results.get(2).getStatus());
+        verify(employeeStore, times(1)).deleteAll(List.of(employee1));
+    }
+
+    private void assertPublished(EmployeeChangedEvent.Type type, Long id) {
+        ArgumentCaptor<EmployeeChangedEvent> event = ArgumentCaptor.forClass(EmployeeChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(type, event.getValue().getType());
+        assertEquals(id, event.getValue().getId());
     }
 }
@@ -0,0 +1,7 @@
+package com.example.godelfamily.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "employees.store=memory")
+class InMemoryEmployeeBatchRollbackTest extends EmployeeBatchRollbackContractTest {
+}
@@ -0,0 +1,4 @@
+package com.example.godelfamily.service;
+
+class JpaEmployeeBatchRollbackTest extends EmployeeBatchRollbackContractTest {
+}
@@ -0,0 +1,235 @@
+package com.example.godelfamily.service;
+
+import com.example.godelfamily.exception.AIUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAiGuardTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(4, 2, 50, Duration.ofMinutes(1), System::nanoTime);
+    private final Bulkhead bulkhead = new Bulkhead(1, 0, Duration.ZERO);
+    private final AdaptiveTimeout timeout =
+        new AdaptiveTimeout(10, 1, 0.99, 2.0, Duration.ofMillis(200), Duration.ofMillis(300));
+    private final OpenAiGuard guard = new OpenAiGuard(executor, circuitBreaker, bulkhead, timeout, Duration.ofSeconds(2));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCall_ReturnsResultAndRecordsLatency() {
+        assertEquals("answer", guard.call(() -> "answer"));
+
+        assertEquals(Duration.ofMillis(200), guard.getCurrentTimeout());
+        assertEquals(0, guard.getActive());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    @Test
+    void testCall_FailureIsRethrownAndOpensCircuit() {
+        IllegalStateException upstream = new IllegalStateException("502 Bad Gateway");
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertSame(upstream, assertThrows(IllegalStateException.class, () -> guard.call(() -> {
+                attempts.incrementAndGet();
+                throw upstream;
+            })));
+        }
+
+        AIUnavailableException open = assertThrows(AIUnavailableException.class, () -> guard.call(() -> {
+            attempts.incrementAndGet();
+            return "never";
+        }));
+        assertEquals(AIUnavailableException.Reason.CIRCUIT_OPEN, open.getReason());
+        assertTrue(open.getRetryAfter().compareTo(Duration.ofSeconds(50)) > 0);
+        assertEquals(2, attempts.get());
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        assertEquals(1, guard.getShortCircuited());
+        assertEquals(2, guard.getFailures());
+        assertEquals(0, guard.getActive());
+    }
+
+    @Test
+    void testBindTo_ExposesErrorsByCauseAndUsage() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        guard.bindTo(registry);
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.call(() -> {
+                throw new IllegalStateException("502 Bad Gateway");
+            }));
+        }
+        assertThrows(AIUnavailableException.class, () -> guard.call(() -> "never"));
+
+        assertEquals(2, registry.get("ai.upstream.errors").tag("cause", "upstream").functionCounter().count());
+        assertEquals(1, registry.get("ai.upstream.errors").tag("cause", "circuit_open").functionCounter().count());
+        assertEquals(0, registry.get("ai.upstream.errors").tag("cause", "timeout").functionCounter().count());
+        assertEquals(0, registry.get("ai.upstream.errors").tag("cause", "bulkhead_full").functionCounter().count());
+        assertEquals(1, registry.get("ai.upstream.circuit.open").gauge().value());
+        assertEquals(0, registry.get("ai.upstream.active").gauge().value());
+        assertEquals(guard.getCurrentTimeout().toMillis() / 1000.0, registry.get("ai.upstream.timeout").gauge().value());
+    }
+
+    @Test
+    void testCall_TimesOutAndInterruptsUpstreamCall() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        AIUnavailableException timedOut = assertThrows(AIUnavailableException.class, () -> guard.call(() -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        }));
+
+        assertEquals(AIUnavailableException.Reason.TIMEOUT, timedOut.getReason());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, guard.getTimeouts());
+        assertEquals(0, guard.getFailures());
+        assertEquals(0, guard.getActive());
+        // The timeout itself became a latency sample, so the limit moved up to the max
+        assertEquals(Duration.ofMillis(300), guard.getCurrentTimeout());
+    }
+
+    @Test
+    void testCall_BulkheadFullRejectsFast() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OpenAiGuard slowGuard = new OpenAiGuard(executor, circuitBreaker, bulkhead,
+            new AdaptiveTimeout(10, 10, 0.99, 2.0, Duration.ofSeconds(5), Duration.ofSeconds(5)), Duration.ofSeconds(2));
+
+        Future<String> first = executor.submit(() -> slowGuard.call(() -> {
+            running.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        AIUnavailableException rejected = assertThrows(AIUnavailableException.class, () -> slowGuard.call(() -> "second"));
+        assertEquals(AIUnavailableException.Reason.BULKHEAD_FULL, rejected.getReason());
+        assertEquals(Duration.ofSeconds(2), rejected.getRetryAfter());
+        assertEquals(1, slowGuard.getActive());
+        assertEquals(1, slowGuard.getRejected());
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("third", slowGuard.call(() -> "third"));
+        assertEquals(CircuitBreaker.State.CLOSED, slowGuard.getCircuitState());
+    }
+
+    @Test
+    void testStream_HoldsPermitUntilComplete() {
+        List<String> tokens = guard.stream(() -> Flowable.just("a", "b")
+                .doOnNext(token -> assertEquals(1, guard.getActive())))
+            .toList()
+            .blockingGet();
+
+        assertEquals(List.of("a", "b"), tokens);
+        assertEquals(0, guard.getActive());
+    }
+
+    @Test
+    void testStream_FirstTokenTimeout() {
+        TestSubscriber<String> subscriber = guard.stream(() -> Flowable.<String>never()).test();
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertError(error -> error instanceof AIUnavailableException unavailable
+            && unavailable.getReason() == AIUnavailableException.Reason.TIMEOUT);
+        assertEquals(1, guard.getTimeouts());
+        assertEquals(0, guard.getActive());
+    }
+
+    @Test
+    void testStream_SlowTokensAfterTheFirstAreAllowed() {
+        List<String> tokens = guard.stream(() -> Flowable.just("a", "b")
+                .concatMap(token -> Flowable.timer(token.equals("b") ? 400 : 0, TimeUnit.MILLISECONDS).map(tick -> token)))
+            .toList()
+            .blockingGet();
+
+        assertEquals(List.of("a", "b"), tokens);
+    }
+
+    @Test
+    void testStream_ErrorsCountTowardsCircuit() {
+        for (int i = 0; i < 2; i++) {
+            guard.stream(() -> Flowable.<String>error(new IllegalStateException("reset"))).test()
+                .assertError(IllegalStateException.class);
+        }
+
+        guard.stream(() -> Flowable.just("a")).test()
+            .assertError(error -> error instanceof AIUnavailableException unavailable
+                && unavailable.getReason() == AIUnavailableException.Reason.CIRCUIT_OPEN);
+        assertEquals(0, guard.getActive());
+    }
+
+    @Test
+    void testStream_CancelReleasesPermit() {
+        TestSubscriber<String> subscriber = guard.stream(() -> Flowable.just("a").concatWith(Flowable.never())).test();
+        subscriber.assertValue("a");
+        assertEquals(1, guard.getActive());
+
+        subscriber.cancel();
+
+        assertEquals(0, guard.getActive());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    @Test
+    void testStream_SourceThrowingReleasesPermit() {
+        IllegalArgumentException invalid = new IllegalArgumentException("bad request");
+
+        guard.stream(() -> { throw invalid; }).test().assertError(invalid);
+
+        assertEquals(0, guard.getActive());
+        assertEquals(0, guard.getFailures());
+        guard.stream(() -> Flowable.just("a")).test().assertResult("a");
+    }
+
+    @Test
+    void testStream_SourceThrowingFreesHalfOpenProbe() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 50, Duration.ofSeconds(1), now::get);
+        OpenAiGuard probing = new OpenAiGuard(executor, breaker, bulkhead, timeout, Duration.ofSeconds(2));
+        for (int i = 0; i < 2; i++) {
+            probing.stream(() -> Flowable.<String>error(new IllegalStateException("reset"))).test()
+                .assertError(IllegalStateException.class);
+        }
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        probing.stream(() -> { throw new IllegalArgumentException("bad request"); }).test()
+            .assertError(IllegalArgumentException.class);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, probing.getCircuitState());
+        probing.stream(() -> Flowable.just("a")).test().assertResult("a");
+        assertEquals(CircuitBreaker.State.CLOSED, probing.getCircuitState());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
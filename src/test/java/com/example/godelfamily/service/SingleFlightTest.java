@@ -0,0 +1,122 @@
+package com.example.godelfamily.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void testExecute_SequentialCallsEachRun() {
+        assertEquals("result 1", flight.execute("key", () -> "result " + executions.incrementAndGet()));
+        assertEquals("result 2", flight.execute("key", () -> "result " + executions.incrementAndGet()));
+
+        assertEquals(2, flight.getCalls());
+        assertEquals(0, flight.getCoalesced());
+        assertEquals(0, flight.getInFlight());
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> slow = () -> {
+            started.countDown();
+            await(release);
+            return "result " + executions.incrementAndGet();
+        };
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(callers.submit(() -> flight.execute("key", slow)));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 19; i++) {
+                results.add(callers.submit(() -> flight.execute("key", slow)));
+            }
+            awaitCoalesced(19);
+            assertEquals(1, flight.getInFlight());
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("result 1", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, flight.getCalls());
+        assertEquals(0, flight.getInFlight());
+    }
+
+    @Test
+    void testExecute_DifferentKeysRunIndependently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Supplier<String> call = () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return "result " + executions.incrementAndGet();
+        };
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = callers.submit(() -> flight.execute("a", call));
+            Future<String> second = callers.submit(() -> flight.execute("b", call));
+            assertNotEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, flight.getCalls());
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    @Test
+    void testExecute_FailureIsSharedAndNotRemembered() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> failing = () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("upstream down");
+        };
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = callers.submit(() -> flight.execute("key", failing));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = callers.submit(() -> flight.execute("key", failing));
+            awaitCoalesced(1);
+            release.countDown();
+
+            ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+            assertSame(leaderError.getCause(), followerError.getCause());
+        }
+
+        assertEquals("recovered", flight.execute("key", () -> "recovered"));
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, flight.getCoalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
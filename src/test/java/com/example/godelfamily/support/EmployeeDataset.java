@@ -0,0 +1,35 @@
+package com.example.godelfamily.support;
+
+import com.example.godelfamily.model.Employee;
+import com.example.godelfamily.model.Title;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic employees for benchmarks and load tests, so runs at the same size are comparable
+public final class EmployeeDataset {
+
+    private static final String[] NAMES = {"Emil", "Pavel", "Sergey", "Anna", "Maria", "Dmitry", "Olga", "Igor",
+        "Svetlana", "Alexey", "Irina", "Nikolai", "Elena", "Andrei", "Tatiana", "Viktor"};
+    private static final String[] POSITIONS = {"Developer", "QA", "BA", "DevOps", "Designer", "Architect"};
+    private static final String[] DIVISIONS = {"Java", "Python", "JS", "QA", "BA", ".NET", "Go", "Mobile"};
+
+    private EmployeeDataset() {
+    }
+
+    // With ids 1..size when withIds is set, else ids are left for the database to assign
+    public static List<Employee> generate(int size, boolean withIds) {
+        Random random = new Random(42);
+        Title[] titles = Title.values();
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            employees.add(new Employee(withIds ? (long) i : null,
+                NAMES[random.nextInt(NAMES.length)] + " " + i,
+                POSITIONS[random.nextInt(POSITIONS.length)],
+                titles[random.nextInt(titles.length)],
+                DIVISIONS[random.nextInt(DIVISIONS.length)]));
+        }
+        return employees;
+    }
+}
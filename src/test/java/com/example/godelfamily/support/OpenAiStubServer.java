@@ -0,0 +1,160 @@
+package com.example.godelfamily.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Local stand-in for the OpenAI chat completions endpoint, so client code can be tested offline.
+// Requests with "stream":true get the answer back as chunked Server-Sent Events, one word per chunk.
+// An error rate makes that share of requests fail with 500, for load tests with error injection.
+public class OpenAiStubServer {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile String answer = "Stub answer";
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration tokenInterval = Duration.ZERO;
+    private volatile int status = 200;
+    private volatile double errorRate;
+    private volatile String lastAuthorization;
+    private volatile String lastRequestBody;
+
+    public OpenAiStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", this::handleChatCompletion);
+        server.setExecutor(executor);
+    }
+
+    public OpenAiStubServer start() {
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    // Delay between streamed chunks; latency applies before the first one
+    public void setTokenInterval(Duration tokenInterval) {
+        this.tokenInterval = tokenInterval;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    // Number of distinct client sockets seen; 1 means every request reused the same connection
+    public int getConnectionCount() {
+        return clientPorts.size();
+    }
+
+    public String getLastAuthorization() {
+        return lastAuthorization;
+    }
+
+    public String getLastRequestBody() {
+        return lastRequestBody;
+    }
+
+    private void handleChatCompletion(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        lastAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+        lastRequestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        sleep(latency);
+
+        int status = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate ? 500 : this.status;
+        if (status == 200 && lastRequestBody.contains("\"stream\":true")) {
+            streamCompletion(exchange, answer);
+            return;
+        }
+        String body = status == 200
+                ? completionJson(answer)
+                : "{\"error\":{\"message\":\"Stub failure\",\"type\":\"server_error\"}}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void streamCompletion(HttpExchange exchange, String content) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            writeEvent(out, chunkJson("\"role\":\"assistant\""));
+            for (String token : content.split("(?=\\s)")) {
+                writeEvent(out, chunkJson("\"content\":" + quote(token)));
+                sleep(tokenInterval);
+            }
+            writeEvent(out, "[DONE]");
+        }
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String chunkJson(String delta) {
+        return "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"created\":0,\"model\":\"gpt-4o-mini\","
+                + "\"choices\":[{\"index\":0,\"delta\":{" + delta + "},\"finish_reason\":null}]}";
+    }
+
+    private static String completionJson(String content) {
+        return "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion\",\"created\":0,\"model\":\"gpt-4o-mini\","
+                + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":" + quote(content) + "},"
+                + "\"finish_reason\":\"stop\"}],"
+                + "\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":5,\"total_tokens\":15}}";
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}